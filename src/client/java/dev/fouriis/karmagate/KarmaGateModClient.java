@@ -24,6 +24,7 @@ import dev.fouriis.karmagate.sound.GateAudioSpecs;
 import dev.fouriis.karmagate.sound.MultiSound.Spec;
 import net.minecraft.registry.Registries;
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientChunkEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 import net.fabricmc.fabric.api.client.particle.v1.ParticleFactoryRegistry;
@@ -38,7 +39,13 @@ import net.fabricmc.fabric.api.client.rendering.v1.DimensionRenderingRegistry;
 import java.util.Map;
 import java.util.HashMap;
 import dev.fouriis.karmagate.entity.karmagate.WaterStreamBlockEntity;
+import dev.fouriis.karmagate.client.airlock.AirlockSnapshots;
+import dev.fouriis.karmagate.client.airlock.CycleTimelines;
+import dev.fouriis.karmagate.entity.karmagate.GateCycles;
+import dev.fouriis.karmagate.client.network.ClientNetworkStatsCommand;
 import dev.fouriis.karmagate.client.network.ClientNetworking;
+import dev.fouriis.karmagate.network.NetworkStats;
+import dev.fouriis.karmagate.client.steam.CoilSteamEffects;
 
 public class KarmaGateModClient implements ClientModInitializer {
 	@Override
@@ -47,6 +54,7 @@ public class KarmaGateModClient implements ClientModInitializer {
 
 		// Register client networking
 		ClientNetworking.register();
+		ClientNetworkStatsCommand.register();
 
 		// Register distant structure billboards
 		//dev.fouriis.karmagate.client.DistantStructuresRenderer.init();
@@ -194,14 +202,26 @@ public class KarmaGateModClient implements ClientModInitializer {
 		});
 
 		ClientTickEvents.END_CLIENT_TICK.register(client -> {
+			CoilSteamEffects.get().tick();
+			CycleTimelines.get().tick();
+			NetworkStats.CLIENT.tick();
 			SteamAudioController.get().clientTick();
+			// Zones are per dimension; drop the old set on a world change
+			ClientNetworking.retainZonesForCurrentWorld(client);
 			// Update neuron swarmers
 			NeuronSwarmerManager.getInstance().tick();
 		});
 
+		// Steam of coils in chunks the client dropped
+		ClientChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> CoilSteamEffects.get().onChunkUnload(chunk.getPos()));
+
 		// Clear cached loop references on disconnect or new join to avoid stale sound state after rejoin
 		ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> {
+			GateCycles.clearSynced();
 			SteamAudioController.get().clear();
+			CoilSteamEffects.get().clear();
+			AirlockSnapshots.get().clear();
+			CycleTimelines.get().clear();
 			NeuronSwarmerManager.getInstance().clear();
 			clampLoops.values().forEach(MultiSound.Handle::stop);
 			screwLoops.values().forEach(MultiSound.Handle::stop);
@@ -210,6 +230,9 @@ public class KarmaGateModClient implements ClientModInitializer {
 		});
 		ClientPlayConnectionEvents.JOIN.register((handler, sender, client) -> {
 			SteamAudioController.get().clear();
+			CoilSteamEffects.get().clear();
+			AirlockSnapshots.get().clear();
+			CycleTimelines.get().clear();
 			NeuronSwarmerManager.getInstance().clear();
 			clampLoops.values().forEach(MultiSound.Handle::stop);
 			screwLoops.values().forEach(MultiSound.Handle::stop);
@@ -0,0 +1,114 @@
+package dev.fouriis.karmagate.client.airlock;
+
+import dev.fouriis.karmagate.entity.hologram.HologramProjectorBlockEntity;
+import dev.fouriis.karmagate.entity.karmagate.GateLightBlockEntity;
+import dev.fouriis.karmagate.entity.karmagate.KarmaGateBlockEntity;
+import dev.fouriis.karmagate.entity.karmagate.KarmaGateController.KarmaLevel;
+import dev.fouriis.karmagate.entity.karmagate.SteamEmitterBlockEntity;
+import dev.fouriis.karmagate.entity.karmagate.WaterStreamBlockEntity;
+import dev.fouriis.karmagate.network.AirlockSnapshotPayload;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.function.Consumer;
+
+/**
+ * Client side of {@link AirlockSnapshotPayload}: remembers each airlock's block layout and
+ * applies incoming value vectors to the bound block entities in place.
+ */
+public final class AirlockSnapshots {
+    private static final AirlockSnapshots INSTANCE = new AirlockSnapshots();
+    private static final KarmaLevel[] KARMA = KarmaLevel.values();
+
+    private record Layout(int id, long[] positions, int[] counts, int[] splits) {}
+
+    private final Long2ObjectOpenHashMap<Layout> layouts = new Long2ObjectOpenHashMap<>();
+    private final BlockPos.Mutable cursor = new BlockPos.Mutable();
+
+    private AirlockSnapshots() {}
+
+    public static AirlockSnapshots get() { return INSTANCE; }
+
+    public void apply(AirlockSnapshotPayload payload) {
+        long key = payload.controller().asLong();
+        if (payload.hasLayout()) layouts.put(key, new Layout(payload.layoutId(), payload.layout(), payload.counts(), payload.splits()));
+        Layout layout = layouts.get(key);
+        // Values for a layout we never received; the next snapshot after a rebind carries positions again
+        if (layout == null || layout.id() != payload.layoutId()) return;
+
+        ClientWorld world = MinecraftClient.getInstance().world;
+        if (world == null) return;
+        // A cycle may already be playing without positions to apply it to
+        if (payload.hasLayout()) CycleTimelines.get().replay(key);
+
+        // Groups played back by CycleTimelines are frozen on the server while a cycle runs
+        boolean timeline = payload.timeline();
+        int idx = 0;
+        int[] counts = payload.counts();
+        for (int g = 0; g < AirlockSnapshotPayload.GROUPS; g++) {
+            for (int i = 0; i < counts[g]; i++, idx++) {
+                if (idx >= layout.positions().length) return;
+                cursor.set(layout.positions()[idx]);
+                if (!world.isChunkLoaded(cursor)) continue;
+                BlockEntity be = world.getBlockEntity(cursor);
+                switch (g) {
+                    case AirlockSnapshotPayload.LIGHTS -> {
+                        if (be instanceof GateLightBlockEntity lamp) lamp.applySnapshotLit(payload.lit(i));
+                    }
+                    case AirlockSnapshotPayload.WATER -> {
+                        if (!timeline && be instanceof WaterStreamBlockEntity ws) ws.applySnapshotFlow(payload.flow(i));
+                    }
+                    case AirlockSnapshotPayload.STEAM -> {
+                        if (!timeline && be instanceof SteamEmitterBlockEntity emitter) emitter.setEnabled(payload.steam(i));
+                    }
+                    case AirlockSnapshotPayload.HOLO -> {
+                        if (be instanceof HologramProjectorBlockEntity holo) {
+                            int k = Math.min(payload.holoKarma(i), KARMA.length - 1);
+                            if (timeline) holo.applySnapshot(holo.getTargetLevel(), holo.isLowPower(), KARMA[k]);
+                            else holo.applySnapshot(payload.holoLevel(i), payload.holoLowPower(i), KARMA[k]);
+                        }
+                    }
+                    case AirlockSnapshotPayload.GATES -> {
+                        if (!timeline && be instanceof KarmaGateBlockEntity gate) gate.applySnapshotOpen(payload.gateOpen(i));
+                    }
+                    default -> { }
+                }
+            }
+        }
+    }
+
+    /**
+     * Visit the loaded block entities of one group on one side of an airlock.
+     * For {@link AirlockSnapshotPayload#GATES}, side 0 is the controller's own gate.
+     */
+    public void forEach(long controller, int group, int side, Consumer<BlockEntity> action) {
+        Layout layout = layouts.get(controller);
+        ClientWorld world = MinecraftClient.getInstance().world;
+        if (layout == null || world == null) return;
+
+        int base = 0;
+        for (int g = 0; g < group; g++) base += layout.counts()[g];
+        int split = layout.splits()[group];
+        int from, to;
+        if (group == AirlockSnapshotPayload.GATES) {
+            from = side == 0 ? 0 : side == 1 ? 1 : split;
+            to = side == 0 ? 1 : side == 1 ? split : layout.counts()[group];
+        } else {
+            from = side == 1 ? 0 : split;
+            to = side == 1 ? split : layout.counts()[group];
+        }
+        for (int i = from; i < to && base + i < layout.positions().length; i++) {
+            cursor.set(layout.positions()[base + i]);
+            if (!world.isChunkLoaded(cursor)) continue;
+            BlockEntity be = world.getBlockEntity(cursor);
+            if (be != null) action.accept(be);
+        }
+    }
+
+    public void clear() {
+        layouts.clear();
+    }
+}
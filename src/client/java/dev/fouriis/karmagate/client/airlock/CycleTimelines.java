@@ -0,0 +1,104 @@
+package dev.fouriis.karmagate.client.airlock;
+
+import dev.fouriis.karmagate.entity.hologram.HologramProjectorBlockEntity;
+import dev.fouriis.karmagate.entity.karmagate.CycleTimeline;
+import dev.fouriis.karmagate.entity.karmagate.KarmaGateBlockEntity;
+import dev.fouriis.karmagate.entity.karmagate.SteamEmitterBlockEntity;
+import dev.fouriis.karmagate.entity.karmagate.WaterStreamBlockEntity;
+import dev.fouriis.karmagate.network.AirlockSnapshotPayload;
+import dev.fouriis.karmagate.network.CycleTimelinePayload;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.world.ClientWorld;
+
+/**
+ * Client side of {@link CycleTimelinePayload}: plays each running airlock cycle back from
+ * its definition, applying water, steam, hologram and gate changes to the bound block
+ * entities at the same world ticks the server does.
+ */
+public final class CycleTimelines {
+    private static final CycleTimelines INSTANCE = new CycleTimelines();
+
+    private final Long2ObjectOpenHashMap<CycleTimeline> playing = new Long2ObjectOpenHashMap<>();
+
+    private CycleTimelines() {}
+
+    public static CycleTimelines get() { return INSTANCE; }
+
+    public void apply(CycleTimelinePayload payload) {
+        ClientWorld world = MinecraftClient.getInstance().world;
+        if (world == null) return;
+        long key = payload.controller().asLong();
+        // An idle anchor comes back as null and stops playback
+        CycleTimeline t = CycleTimeline.anchor(payload.cycleId(), payload.entrySide(), payload.mode(),
+                payload.phaseStart(), world.getTime(), new Sink(key));
+        if (t != null) playing.put(key, t);
+        else playing.remove(key);
+    }
+
+    /** The airlock's layout just arrived; re-apply the current phase to the now-known blocks. */
+    public void replay(long controller) {
+        CycleTimeline t = playing.get(controller);
+        ClientWorld world = MinecraftClient.getInstance().world;
+        if (t == null || world == null) return;
+        CycleTimeline next = CycleTimeline.anchor(t.cycleId(), t.entrySide(), t.modeOrdinal(), t.phaseStart(),
+                world.getTime(), new Sink(controller));
+        if (next != null) playing.put(controller, next);
+        else playing.remove(controller);
+    }
+
+    public void tick() {
+        ClientWorld world = MinecraftClient.getInstance().world;
+        if (world == null || playing.isEmpty()) return;
+        long now = world.getTime();
+        ObjectIterator<Long2ObjectMap.Entry<CycleTimeline>> it = playing.long2ObjectEntrySet().fastIterator();
+        while (it.hasNext()) {
+            Long2ObjectMap.Entry<CycleTimeline> e = it.next();
+            if (!e.getValue().tick(now, new Sink(e.getLongKey()))) it.remove();
+        }
+    }
+
+    public void clear() {
+        playing.clear();
+    }
+
+    /** Routes one airlock's effects to its blocks through the snapshot layout. */
+    private record Sink(long controller) implements CycleTimeline.Sink {
+        @Override
+        public void water(int side, float flow) {
+            AirlockSnapshots.get().forEach(controller, AirlockSnapshotPayload.WATER, side, be -> {
+                if (be instanceof WaterStreamBlockEntity ws) ws.applySnapshotFlow(flow);
+            });
+        }
+
+        @Override
+        public void hologram(int side, float level) {
+            AirlockSnapshots.get().forEach(controller, AirlockSnapshotPayload.HOLO, side, be -> {
+                if (be instanceof HologramProjectorBlockEntity holo) holo.applySnapshot(level, holo.isLowPower(), holo.getKarmaLevelEnum());
+            });
+        }
+
+        @Override
+        public void lowPower(int side, boolean on) {
+            AirlockSnapshots.get().forEach(controller, AirlockSnapshotPayload.HOLO, side, be -> {
+                if (be instanceof HologramProjectorBlockEntity holo) holo.applySnapshot(holo.getTargetLevel(), on, holo.getKarmaLevelEnum());
+            });
+        }
+
+        @Override
+        public void steam(int side, boolean on) {
+            AirlockSnapshots.get().forEach(controller, AirlockSnapshotPayload.STEAM, side, be -> {
+                if (be instanceof SteamEmitterBlockEntity emitter) emitter.setEnabled(on);
+            });
+        }
+
+        @Override
+        public void gate(int which, boolean open) {
+            AirlockSnapshots.get().forEach(controller, AirlockSnapshotPayload.GATES, which, be -> {
+                if (be instanceof KarmaGateBlockEntity gate) gate.applySnapshotOpen(open);
+            });
+        }
+    }
+}
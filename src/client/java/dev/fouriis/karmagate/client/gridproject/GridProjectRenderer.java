@@ -11,6 +11,7 @@ import net.minecraft.client.gl.VertexBuffer;
 import net.minecraft.client.render.*;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Direction;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
@@ -55,6 +56,16 @@ public final class GridProjectRenderer {
         ZONE_NEXT_BUILD_ATTEMPT_TICK.clear();
     }
 
+    /** Frees the cached mesh of one zone (removed, or replaced by a zone with new bounds). */
+    public static void releaseMesh(ProjectionZone zone) {
+        VertexBuffer vb = ZONE_VBOS.remove(zone);
+        if (vb != null) {
+            try { vb.close(); } catch (Exception ignored) {}
+        }
+        ZONE_QUADS.remove(zone);
+        ZONE_NEXT_BUILD_ATTEMPT_TICK.remove(zone);
+    }
+
     /**
      * If you cache a mesh before all chunks are loaded, you permanently "bake in" holes.
      * This prevents partial builds by requiring FULL chunks for all chunk coords in the zone AABB.
@@ -255,8 +266,6 @@ public final class GridProjectRenderer {
             testZonesInitialized = true;
         }
 
-        List<ProjectionZone> zones = ProjectionZone.getZones();
-
         if (mc.getWindow() == null
             || mc.getWindow().getFramebufferWidth() <= 0
             || mc.getWindow().getFramebufferHeight() <= 0) return;
@@ -280,6 +289,11 @@ public final class GridProjectRenderer {
         float far = (float) (mc.options.getClampedViewDistance() * 16.0 * 4.0);
         Matrix4f customProj = new Matrix4f().setPerspective(fovRad, aspect, near, far);
 
+        // Only zones that can reach the far plane; meshes of the rest are not built
+        List<ProjectionZone> zones = ProjectionZone.zonesIntersecting(
+            new Box(camPos.x - far, camPos.y - far, camPos.z - far, camPos.x + far, camPos.y + far, camPos.z + far));
+        if (zones.isEmpty()) return;
+
         Matrix4f savedProj = new Matrix4f(RenderSystem.getProjectionMatrix());
 
         RenderSystem.setShader(() -> program);
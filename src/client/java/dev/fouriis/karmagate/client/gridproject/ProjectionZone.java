@@ -1,11 +1,16 @@
 package dev.fouriis.karmagate.client.gridproject;
 
+import dev.fouriis.karmagate.gridproject.ZoneGrid;
+import net.minecraft.registry.RegistryKey;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
+import net.minecraft.world.World;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents a 3D projection zone defined by two corner BlockPos positions.
@@ -44,6 +49,11 @@ public final class ProjectionZone {
 
     // Static list of all active projection zones
     private static final List<ProjectionZone> ZONES = new ArrayList<>();
+    // Lookup by name and by position; kept in step with ZONES
+    private static final Map<String, ProjectionZone> BY_NAME = new HashMap<>();
+    private static final ZoneGrid<ProjectionZone> INDEX = new ZoneGrid<>();
+    // Dimension the current zone set belongs to (zones are per dimension; null until synced)
+    private static RegistryKey<World> dimension = null;
 
     /**
      * Creates a named projection zone.
@@ -205,6 +215,15 @@ public final class ProjectionZone {
             && pos.getZ() >= minZ && pos.getZ() <= maxZ;
     }
 
+    /**
+     * Checks if this zone spans exactly the box between two corners (in any order).
+     */
+    public boolean hasBounds(BlockPos corner1, BlockPos corner2) {
+        return minX == Math.min(corner1.getX(), corner2.getX()) && maxX == Math.max(corner1.getX(), corner2.getX())
+            && minY == Math.min(corner1.getY(), corner2.getY()) && maxY == Math.max(corner1.getY(), corner2.getY())
+            && minZ == Math.min(corner1.getZ(), corner2.getZ()) && maxZ == Math.max(corner1.getZ(), corner2.getZ());
+    }
+
     /**
      * Checks if a block position is within this zone's XZ bounds (ignoring Y).
      */
@@ -241,15 +260,19 @@ public final class ProjectionZone {
      */
     public static void addZone(ProjectionZone zone) {
         // Remove any existing zone with the same name first
-        ZONES.removeIf(z -> z.name.equals(zone.name));
+        removeZoneByName(zone.name);
         ZONES.add(zone);
+        BY_NAME.put(zone.name, zone);
+        INDEX.put(zone, zone.minX, zone.minY, zone.minZ, zone.maxX, zone.maxY, zone.maxZ);
     }
 
     /**
      * Removes a projection zone.
      */
     public static void removeZone(ProjectionZone zone) {
-        ZONES.remove(zone);
+        if (BY_NAME.get(zone.name) == zone) {
+            removeZoneByName(zone.name);
+        }
     }
     
     /**
@@ -257,7 +280,13 @@ public final class ProjectionZone {
      * @return true if a zone was removed
      */
     public static boolean removeZoneByName(String name) {
-        return ZONES.removeIf(z -> z.name.equals(name));
+        ProjectionZone zone = BY_NAME.remove(name);
+        if (zone == null) {
+            return false;
+        }
+        ZONES.remove(zone);
+        INDEX.remove(zone);
+        return true;
     }
     
     /**
@@ -265,12 +294,7 @@ public final class ProjectionZone {
      * @return the zone, or null if not found
      */
     public static ProjectionZone getZoneByName(String name) {
-        for (ProjectionZone zone : ZONES) {
-            if (zone.name.equals(name)) {
-                return zone;
-            }
-        }
-        return null;
+        return BY_NAME.get(name);
     }
 
     /**
@@ -278,6 +302,45 @@ public final class ProjectionZone {
      */
     public static void clearZones() {
         ZONES.clear();
+        BY_NAME.clear();
+        INDEX.clear();
+        dimension = null;
+    }
+
+    /**
+     * Gets the dimension the active zones belong to, or null if none were synced.
+     */
+    public static RegistryKey<World> getDimension() {
+        return dimension;
+    }
+
+    /**
+     * Tags the active zone set with its dimension.
+     */
+    public static void setDimension(RegistryKey<World> key) {
+        dimension = key;
+    }
+
+    /**
+     * Gets the zones whose bounds contain a block position.
+     */
+    public static List<ProjectionZone> zonesContaining(BlockPos pos) {
+        return INDEX.containing(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    /**
+     * Gets the zones whose bounds intersect a box.
+     */
+    public static List<ProjectionZone> zonesIntersecting(Box box) {
+        return INDEX.intersecting(box);
+    }
+
+    /**
+     * Gets the zone closest to a point (distance 0 when inside).
+     * @return the zone, or null if there are none
+     */
+    public static ProjectionZone nearestZone(double x, double y, double z) {
+        return INDEX.nearest(x, y, z);
     }
 
     /**
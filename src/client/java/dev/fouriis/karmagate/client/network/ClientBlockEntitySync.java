@@ -0,0 +1,27 @@
+package dev.fouriis.karmagate.client.network;
+
+import dev.fouriis.karmagate.network.BlockEntityDeltaPayload;
+import dev.fouriis.karmagate.network.BlockEntitySync;
+import dev.fouriis.karmagate.network.SyncSchema;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Client half of {@link BlockEntitySync}: applies received deltas to loaded block entities.
+ */
+public final class ClientBlockEntitySync {
+    private ClientBlockEntitySync() {}
+
+    /** Entries for block entities that are not loaded, or changed type, are dropped. */
+    public static void apply(World world, BlockEntityDeltaPayload payload) {
+        if (world == null) return;
+        BlockPos.Mutable cursor = new BlockPos.Mutable();
+        for (BlockEntityDeltaPayload.Entry e : payload.entries()) {
+            BlockEntity be = world.getBlockEntity(cursor.set(e.pos()));
+            if (be == null || be.getType() != BlockEntitySync.type(e.typeId())) continue;
+            SyncSchema<?> schema = BlockEntitySync.schema(e.typeId());
+            schema.apply(be, e.mask(), e.values());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package dev.fouriis.karmagate.client.network;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import dev.fouriis.karmagate.network.NetworkStats;
+import net.fabricmc.fabric.api.client.command.v2.ClientCommandRegistrationCallback;
+import net.fabricmc.fabric.api.client.command.v2.FabricClientCommandSource;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+import java.nio.file.Path;
+
+import static net.fabricmc.fabric.api.client.command.v2.ClientCommandManager.literal;
+
+/**
+ * Registers the client-side /cnetstats command for received mod traffic. While enabled the
+ * per-channel rates are also shown on the debug HUD.
+ *
+ * Usage:
+ *   /cnetstats             (same as show)
+ *   /cnetstats show
+ *   /cnetstats on|off|reset
+ *   /cnetstats csv start|stop
+ */
+public class ClientNetworkStatsCommand {
+
+    /** CSV log, in the game directory. */
+    private static final String CSV_NAME = "karmagate-netstats-client.csv";
+
+    public static void register() {
+        ClientCommandRegistrationCallback.EVENT.register((dispatcher, registryAccess) -> register(dispatcher));
+    }
+
+    private static void register(CommandDispatcher<FabricClientCommandSource> dispatcher) {
+        dispatcher.register(
+            literal("cnetstats")
+                .executes(ClientNetworkStatsCommand::executeShow)
+                .then(literal("show")
+                    .executes(ClientNetworkStatsCommand::executeShow)
+                )
+                .then(literal("on")
+                    .executes(context -> executeEnable(context, true))
+                )
+                .then(literal("off")
+                    .executes(context -> executeEnable(context, false))
+                )
+                .then(literal("reset")
+                    .executes(context -> {
+                        NetworkStats.CLIENT.reset();
+                        context.getSource().sendFeedback(Text.literal("Client network stats reset.").formatted(Formatting.GREEN));
+                        return 1;
+                    })
+                )
+                .then(literal("csv")
+                    .then(literal("start")
+                        .executes(ClientNetworkStatsCommand::executeCsvStart)
+                    )
+                    .then(literal("stop")
+                        .executes(context -> {
+                            NetworkStats.CLIENT.stopCsv();
+                            context.getSource().sendFeedback(Text.literal("CSV log stopped.").formatted(Formatting.GREEN));
+                            return 1;
+                        })
+                    )
+                )
+        );
+    }
+
+    private static int executeShow(CommandContext<FabricClientCommandSource> context) {
+        FabricClientCommandSource source = context.getSource();
+        if (!NetworkStats.CLIENT.isEnabled()) {
+            source.sendFeedback(Text.literal("Client network stats are off; enable with /cnetstats on.").formatted(Formatting.GRAY));
+            return 0;
+        }
+        long[] total = NetworkStats.CLIENT.total();
+        source.sendFeedback(Text.literal("Mod traffic (client, last second): ")
+            .append(Text.literal(total[0] + " pkt/s, " + NetworkStats.formatBytes(total[1]) + "/s").formatted(Formatting.GREEN)));
+        for (NetworkStats.Rate r : NetworkStats.CLIENT.rates()) {
+            source.sendFeedback(Text.literal("  • ").append(Text.literal(NetworkStats.format(r)).formatted(Formatting.AQUA)));
+        }
+        source.sendFeedback(Text.literal("  (" + NetworkStats.SCOPE_NOTE + ")").formatted(Formatting.GRAY));
+        return NetworkStats.CLIENT.rates().size();
+    }
+
+    private static int executeEnable(CommandContext<FabricClientCommandSource> context, boolean on) {
+        NetworkStats.CLIENT.setEnabled(on);
+        context.getSource().sendFeedback(Text.literal("Client network stats " + (on ? "enabled (see F3)" : "disabled") + ".")
+            .formatted(on ? Formatting.GREEN : Formatting.GRAY));
+        return 1;
+    }
+
+    private static int executeCsvStart(CommandContext<FabricClientCommandSource> context) {
+        Path file = context.getSource().getClient().runDirectory.toPath().resolve(CSV_NAME);
+        NetworkStats.CLIENT.startCsv(file);
+        context.getSource().sendFeedback(Text.literal("Logging received mod traffic to ")
+            .append(Text.literal(file.toString()).formatted(Formatting.AQUA)));
+        return 1;
+    }
+}
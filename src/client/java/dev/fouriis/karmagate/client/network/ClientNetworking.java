@@ -1,14 +1,42 @@
 package dev.fouriis.karmagate.client.network;
 
+import dev.fouriis.karmagate.client.airlock.AirlockSnapshots;
+import dev.fouriis.karmagate.client.airlock.CycleTimelines;
+import dev.fouriis.karmagate.client.gridproject.GridProjectRenderer;
+import dev.fouriis.karmagate.client.gridproject.ProjectedCirclePatternManager;
 import dev.fouriis.karmagate.client.gridproject.ProjectionZone;
+import dev.fouriis.karmagate.client.steam.CoilSteamEffects;
+import dev.fouriis.karmagate.client.swarmer.NeuronSwarmerManager;
+import dev.fouriis.karmagate.network.AirlockSnapshotPayload;
+import dev.fouriis.karmagate.network.BlockEntityDeltaPayload;
+import dev.fouriis.karmagate.entity.karmagate.GateCycles;
+import dev.fouriis.karmagate.network.CoilSteamPayload;
+import dev.fouriis.karmagate.network.CycleTimelinePayload;
+import dev.fouriis.karmagate.network.GateCyclesSyncPayload;
+import dev.fouriis.karmagate.network.NetworkStats;
+import dev.fouriis.karmagate.network.ProjectionZoneDeltaPayload;
+import dev.fouriis.karmagate.network.ProjectionZoneResyncPayload;
 import dev.fouriis.karmagate.network.ProjectionZoneSyncPayload;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.registry.RegistryKey;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
- * Handles client-side networking for projection zones.
+ * Handles client-side networking for projection zones and airlock effects.
  */
 public class ClientNetworking {
+
+    // Zone version reached by the last snapshot or delta; meaningful while ProjectionZone has a dimension
+    private static int zoneVersion = 0;
+    // Snapshot asked for and not yet received; avoids one request per missed delta
+    private static boolean zoneResyncRequested = false;
     
     /**
      * Registers all client-side network handlers.
@@ -21,30 +49,177 @@ public class ClientNetworking {
             (payload, context) -> {
                 // Process on the main client thread
                 context.client().execute(() -> {
-                    applyZoneSync(payload);
+                    count(payload, context.client());
+                    applyZoneSync(payload, context.client());
                 });
             }
         );
+
+        // Per-tick zone edits
+        ClientPlayNetworking.registerGlobalReceiver(
+            ProjectionZoneDeltaPayload.ID,
+            (payload, context) -> context.client().execute(() -> {
+                count(payload, context.client());
+                applyZoneDelta(payload, context.client());
+            })
+        );
+
+        // Server-computed steam intensity per heat coil
+        ClientPlayNetworking.registerGlobalReceiver(
+            CoilSteamPayload.ID,
+            (payload, context) -> context.client().execute(() -> {
+                count(payload, context.client());
+                CoilSteamEffects.get().apply(payload);
+            })
+        );
+
+        // Whole-airlock visual state (lights, water, heat, steam, holograms, gates)
+        ClientPlayNetworking.registerGlobalReceiver(
+            AirlockSnapshotPayload.ID,
+            (payload, context) -> context.client().execute(() -> {
+                count(payload, context.client());
+                AirlockSnapshots.get().apply(payload);
+            })
+        );
+
+        // Cycle definitions, and the anchor of each running cycle played back from them
+        ClientPlayNetworking.registerGlobalReceiver(
+            GateCyclesSyncPayload.ID,
+            (payload, context) -> context.client().execute(() -> {
+                count(payload, context.client());
+                GateCycles.acceptSynced(payload.definitions());
+            })
+        );
+        ClientPlayNetworking.registerGlobalReceiver(
+            CycleTimelinePayload.ID,
+            (payload, context) -> context.client().execute(() -> {
+                count(payload, context.client());
+                CycleTimelines.get().apply(payload);
+            })
+        );
+
+        // Changed fields of mod block entities
+        ClientPlayNetworking.registerGlobalReceiver(
+            BlockEntityDeltaPayload.ID,
+            (payload, context) -> context.client().execute(() -> {
+                count(payload, context.client());
+                ClientBlockEntitySync.apply(context.client().world, payload);
+            })
+        );
     }
     
+    /** Received-traffic accounting; a no-op unless {@link NetworkStats#CLIENT} is enabled. */
+    private static void count(CustomPayload payload, MinecraftClient client) {
+        if (!NetworkStats.CLIENT.isEnabled() || client.getNetworkHandler() == null) return;
+        NetworkStats.CLIENT.record(payload, client.getNetworkHandler().getRegistryManager());
+    }
+
     /**
-     * Applies a zone sync payload, replacing all client-side zones.
+     * Applies a zone snapshot: the server's list (the zones in range) replaces the client-side zones, but
+     * zones whose name and bounds are unchanged keep their object and mesh.
+     * Payloads for a dimension the player has already left are dropped.
      */
-    private static void applyZoneSync(ProjectionZoneSyncPayload payload) {
-        // Clear existing zones
-        ProjectionZone.clearZones();
+    private static void applyZoneSync(ProjectionZoneSyncPayload payload, MinecraftClient client) {
+        if (client.world == null || client.world.getRegistryKey() != payload.dimension()) return;
+        if (ProjectionZone.getDimension() != payload.dimension()) {
+            releaseZones();
+            ProjectionZone.clearZones();
+            ProjectionZone.setDimension(payload.dimension());
+        }
         
-        // Add all zones from the server
+        Set<String> synced = new HashSet<>();
+        int changed = 0;
         for (ProjectionZoneSyncPayload.ZoneEntry entry : payload.zones()) {
-            BlockPos corner1 = new BlockPos(entry.x1(), entry.y1(), entry.z1());
-            BlockPos corner2 = new BlockPos(entry.x2(), entry.y2(), entry.z2());
-            ProjectionZone zone = new ProjectionZone(entry.name(), corner1, corner2);
-            ProjectionZone.addZone(zone);
+            synced.add(entry.name());
+            if (upsertZone(entry)) changed++;
+        }
+        
+        // Zones the server no longer has
+        for (ProjectionZone zone : new ArrayList<>(ProjectionZone.getZones())) {
+            if (synced.contains(zone.getName())) continue;
+            removeZone(zone.getName());
+            changed++;
         }
+        zoneVersion = payload.version();
+        zoneResyncRequested = false;
         
-        dev.fouriis.karmagate.KarmaGateMod.LOGGER.info(
-            "Synced {} projection zone(s) from server", 
-            payload.zones().size()
+        dev.fouriis.karmagate.KarmaGateMod.LOGGER.debug(
+            "Synced {} projection zone(s) for {} from server (version {}), {} changed", 
+            payload.zones().size(),
+            payload.dimension().getValue(),
+            payload.version(),
+            changed
         );
     }
+
+    /**
+     * Applies one tick of zone edits. Only the listed zones are touched; if the delta does
+     * not follow the version we have, a snapshot is requested instead.
+     */
+    private static void applyZoneDelta(ProjectionZoneDeltaPayload payload, MinecraftClient client) {
+        if (client.world == null || client.world.getRegistryKey() != payload.dimension()) return;
+        if (ProjectionZone.getDimension() != payload.dimension() || zoneVersion != payload.baseVersion()) {
+            requestZoneResync(payload.dimension());
+            return;
+        }
+        
+        for (ProjectionZoneSyncPayload.ZoneEntry entry : payload.upserts()) {
+            upsertZone(entry);
+        }
+        for (String name : payload.removed()) {
+            removeZone(name);
+        }
+        zoneVersion = payload.version();
+    }
+
+    private static void requestZoneResync(RegistryKey<World> dimension) {
+        if (zoneResyncRequested) return;
+        zoneResyncRequested = true;
+        ClientPlayNetworking.send(new ProjectionZoneResyncPayload(dimension));
+    }
+
+    /**
+     * Adds a zone or moves it to new bounds; a zone whose bounds are unchanged keeps its mesh.
+     * @return true if anything changed
+     */
+    private static boolean upsertZone(ProjectionZoneSyncPayload.ZoneEntry entry) {
+        BlockPos corner1 = new BlockPos(entry.x1(), entry.y1(), entry.z1());
+        BlockPos corner2 = new BlockPos(entry.x2(), entry.y2(), entry.z2());
+        ProjectionZone existing = ProjectionZone.getZoneByName(entry.name());
+        if (existing != null && existing.hasBounds(corner1, corner2)) return false;
+        
+        if (existing != null) GridProjectRenderer.releaseMesh(existing);
+        ProjectionZone.addZone(new ProjectionZone(entry.name(), corner1, corner2));
+        return true;
+    }
+
+    /** Removes a zone (deleted or out of range) with its mesh, swarmers and circle data. */
+    private static void removeZone(String name) {
+        ProjectionZone zone = ProjectionZone.getZoneByName(name);
+        if (zone == null) return;
+        GridProjectRenderer.releaseMesh(zone);
+        NeuronSwarmerManager.getInstance().removeZone(name);
+        ProjectedCirclePatternManager.getInstance().removeZone(name);
+        ProjectionZone.removeZone(zone);
+    }
+
+    /**
+     * Once per client tick: drops the zone set as soon as the player is in another
+     * dimension, so nothing is meshed or animated there before the server's sync arrives.
+     */
+    public static void retainZonesForCurrentWorld(MinecraftClient client) {
+        RegistryKey<World> zonesDimension = ProjectionZone.getDimension();
+        if (zonesDimension == null) return;
+        if (client.world != null && client.world.getRegistryKey() == zonesDimension) return;
+        releaseZones();
+        ProjectionZone.clearZones();
+        zoneResyncRequested = false;
+    }
+
+    /** Frees meshes, swarmers and circle data built for the current zone set. */
+    private static void releaseZones() {
+        GridProjectRenderer.invalidateMeshes();
+        NeuronSwarmerManager.getInstance().clear();
+        ProjectedCirclePatternManager.getInstance().clear();
+    }
 }
@@ -0,0 +1,82 @@
+package dev.fouriis.karmagate.client.steam;
+
+import dev.fouriis.karmagate.entity.karmagate.HeatCoilBlockEntity;
+import dev.fouriis.karmagate.network.CoilSteamPayload;
+import dev.fouriis.karmagate.particle.ModParticles;
+import dev.fouriis.karmagate.sound.SteamAudioController;
+import it.unimi.dsi.fastutil.longs.Long2FloatMap;
+import it.unimi.dsi.fastutil.longs.Long2FloatOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+
+/**
+ * Client playback of server-computed coil steam.
+ * Holds the latest intensity per coil and drives particles, the steam loop and the
+ * coil's visual cool-down flicker once per client tick; no world scanning involved.
+ */
+public final class CoilSteamEffects {
+    private static final CoilSteamEffects INSTANCE = new CoilSteamEffects();
+
+    private final Long2FloatOpenHashMap active = new Long2FloatOpenHashMap();
+    private final BlockPos.Mutable cursor = new BlockPos.Mutable();
+
+    private CoilSteamEffects() {}
+
+    public static CoilSteamEffects get() { return INSTANCE; }
+
+    public void apply(CoilSteamPayload payload) {
+        for (int i = 0; i < payload.coils().length; i++) {
+            float v = payload.intensityAt(i);
+            if (v <= 0f) active.remove(payload.coils()[i]);
+            else active.put(payload.coils()[i], v);
+        }
+    }
+
+    public void tick() {
+        if (active.isEmpty()) return;
+        ClientWorld world = MinecraftClient.getInstance().world;
+        if (world == null) return;
+
+        ObjectIterator<Long2FloatMap.Entry> it = active.long2FloatEntrySet().iterator();
+        while (it.hasNext()) {
+            Long2FloatMap.Entry e = it.next();
+            cursor.set(e.getLongKey());
+            if (!world.isChunkLoaded(cursor)) continue;
+            // Coil broken: its airlock will not send the zero any more
+            if (!(world.getBlockEntity(cursor) instanceof HeatCoilBlockEntity coil)) {
+                it.remove();
+                continue;
+            }
+            float intensity = e.getFloatValue();
+            BlockPos pos = cursor.toImmutable();
+
+            SteamAudioController.get().onSteamBurst(pos, intensity);
+            if (world.random.nextFloat() < intensity * 0.8f) {
+                double px = pos.getX() + 0.5 + (world.random.nextDouble() - 0.5) * 0.8;
+                double py = pos.getY() + 1.0;
+                double pz = pos.getZ() + 0.5 + (world.random.nextDouble() - 0.5) * 0.8;
+                world.addParticle(ModParticles.STEAM, px, py, pz, 0, intensity, 0);
+
+                coil.clientPulseCool(0.15f * intensity, 5);
+            }
+        }
+    }
+
+    /** Chunk left view: forget its coils; the server resends them if it comes back while steaming. */
+    public void onChunkUnload(ChunkPos chunk) {
+        if (active.isEmpty()) return;
+        LongIterator it = active.keySet().iterator();
+        while (it.hasNext()) {
+            long packed = it.nextLong();
+            if ((BlockPos.unpackLongX(packed) >> 4) == chunk.x && (BlockPos.unpackLongZ(packed) >> 4) == chunk.z) it.remove();
+        }
+    }
+
+    public void clear() {
+        active.clear();
+    }
+}
@@ -140,6 +140,13 @@ public class NeuronSwarmerManager {
         return swarmersByZone.getOrDefault(zoneName, List.of());
     }
     
+    /**
+     * Removes the swarmers of a zone (zone deleted or out of range).
+     */
+    public void removeZone(String zoneName) {
+        swarmersByZone.remove(zoneName);
+    }
+    
     /**
      * Clears all swarmers (called on disconnect).
      */
@@ -6,6 +6,8 @@ import net.minecraft.util.Identifier;
 import software.bernie.geckolib.model.GeoModel;
 
 public class GateLightBlockModel extends GeoModel<GateLightBlockEntity> {
+    /** Emissive overlay drawn while the lamp shows as on. */
+    public static final Identifier EMISSIVE = Identifier.of(KarmaGateMod.MOD_ID, "textures/block/gate_light_lit.png");
 
     @Override
     public Identifier getModelResource(GateLightBlockEntity animatable) {
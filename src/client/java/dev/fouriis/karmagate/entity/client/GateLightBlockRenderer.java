@@ -4,7 +4,11 @@ import dev.fouriis.karmagate.block.karmagate.KarmaGateBlock;
 import dev.fouriis.karmagate.entity.karmagate.GateLightBlockEntity;
 import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.util.math.Direction;
+import software.bernie.geckolib.cache.object.BakedGeoModel;
 import software.bernie.geckolib.renderer.GeoBlockRenderer;
+import software.bernie.geckolib.renderer.layer.GeoRenderLayer;
+import net.minecraft.client.render.RenderLayer;
+import net.minecraft.client.render.VertexConsumer;
 import net.minecraft.client.render.VertexConsumerProvider;
 import net.minecraft.client.render.block.entity.BlockEntityRendererFactory;
 import net.minecraft.block.BlockState;
@@ -12,10 +16,29 @@ import net.minecraft.block.BlockState;
 public class GateLightBlockRenderer extends GeoBlockRenderer<GateLightBlockEntity> {
     public GateLightBlockRenderer(BlockEntityRendererFactory.Context context) {
         super(new GateLightBlockModel());
+        addRenderLayer(new GlowLayer(this));
+    }
+
+    /**
+     * Emissive pass while the lamp shows as on. Blink/chase patterns are visible through this
+     * layer alone; the block's light level does not follow individual flips.
+     */
+    private static final class GlowLayer extends GeoRenderLayer<GateLightBlockEntity> {
+        GlowLayer(GateLightBlockRenderer parent) { super(parent); }
+
+        @Override
+        public void render(MatrixStack matrices, GateLightBlockEntity animatable, BakedGeoModel bakedModel, RenderLayer baseLayer, VertexConsumerProvider bufferSource, VertexConsumer buffer, float partialTick, int packedLight, int packedOverlay) {
+            if (!animatable.isShownLit()) return;
+            // Vanilla "eyes" layer for shader compatibility, fullbright
+            RenderLayer layer = RenderLayer.getEyes(GateLightBlockModel.EMISSIVE);
+            getRenderer().reRender(bakedModel, matrices, bufferSource, animatable, layer,
+                    bufferSource.getBuffer(layer), partialTick, 0xF000F0, packedOverlay, 0xFFFFFFFF);
+        }
     }
 
     @Override
     public void render(GateLightBlockEntity entity, float tickDelta, MatrixStack matrices, VertexConsumerProvider vertexConsumers, int light, int overlay) {
+        entity.followProgram();
         BlockState state = entity.getCachedState();
         Direction.Axis axis = Direction.Axis.Z;
         if (state.contains(KarmaGateBlock.AXIS)) {
@@ -1,12 +1,8 @@
 package dev.fouriis.karmagate.entity.client;
 
 import dev.fouriis.karmagate.block.karmagate.HeatCoilBlock;
-import dev.fouriis.karmagate.entity.karmagate.HeatCoilBlockEntity;
 import dev.fouriis.karmagate.entity.karmagate.WaterfallBlockEntity;
-import dev.fouriis.karmagate.particle.ModParticles;
-import dev.fouriis.karmagate.sound.SteamAudioController;
 import net.minecraft.block.BlockState;
-import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.fluid.FluidState;
 import net.minecraft.particle.ParticleTypes;
 import net.minecraft.client.render.OverlayTexture;
@@ -490,32 +486,13 @@ public class WaterfallBlockRenderer<T extends WaterfallBlockEntity> implements B
         double clientTime = world.getTime() + (double) tickDelta;
         int maxIndex = (int) blocksDown + 1;
 
-        // Heat Coil & Pass-through Interaction
+        // Pass-through Interaction (steam on heat coils is server-driven, see CoilSteamEffects)
         for (int i = 1; i <= maxIndex; i++) {
             BlockPos hitPos = pos.down(i);
             BlockState hitState = world.getBlockState(hitPos);
 
             if (hitState.getBlock() instanceof HeatCoilBlock) {
-                BlockEntity hitBe = world.getBlockEntity(hitPos);
-                if (hitBe instanceof HeatCoilBlockEntity coil) {
-                    float heat = coil.getHeat();
-                    if (heat <= 0.01f) continue;
-
-                    float flow = be.getEffectiveFlow(clientTime, i - 0.5);
-
-                    if (flow > 0.05f) {
-                        float intensity = heat * flow;
-                        SteamAudioController.get().onSteamBurst(hitPos, intensity);
-                        if (world.random.nextFloat() < intensity * 0.8f) {
-                            double px = hitPos.getX() + 0.5 + (world.random.nextDouble() - 0.5) * 0.8;
-                            double py = hitPos.getY() + 1.0;
-                            double pz = hitPos.getZ() + 0.5 + (world.random.nextDouble() - 0.5) * 0.8;
-
-                            world.addParticle(ModParticles.STEAM, px, py, pz, 0, intensity, 0);
-                            coil.clientPulseCool(0.15f * flow, 5);
-                        }
-                    }
-                }
+                continue;
             } else if (!hitState.isAir() && i <= blocksDown) {
                 // Splash on pass-through blocks (e.g. signs, bars)
                 float flow = be.getEffectiveFlow(clientTime, i - 0.5);
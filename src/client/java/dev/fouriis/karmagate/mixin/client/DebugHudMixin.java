@@ -0,0 +1,36 @@
+package dev.fouriis.karmagate.mixin.client;
+
+import dev.fouriis.karmagate.network.NetworkStats;
+import net.minecraft.client.gui.hud.DebugHud;
+
+import java.util.List;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/** Appends the mod's traffic rates to the right column of the F3 screen while stats are on. */
+@Mixin(DebugHud.class)
+public class DebugHudMixin {
+    private static final int MAX_CHANNELS = 6;
+
+    @Inject(method = "getRightText", at = @At("RETURN"))
+    private void karmaGate$appendNetworkStats(CallbackInfoReturnable<List<String>> cir) {
+        List<String> lines = cir.getReturnValue();
+        // Integrated server: its counters live in this JVM too
+        karmaGate$append(lines, NetworkStats.CLIENT);
+        karmaGate$append(lines, NetworkStats.SERVER);
+    }
+
+    private static void karmaGate$append(List<String> lines, NetworkStats stats) {
+        if (!stats.isEnabled()) return;
+        long[] total = stats.total();
+        lines.add("");
+        lines.add("Karma Gate net (" + stats.side() + "): " + total[0] + " pkt/s, " + NetworkStats.formatBytes(total[1]) + "/s");
+        List<NetworkStats.Rate> rates = stats.rates();
+        for (int i = 0; i < Math.min(MAX_CHANNELS, rates.size()); i++) {
+            lines.add(NetworkStats.format(rates.get(i)));
+        }
+    }
+}
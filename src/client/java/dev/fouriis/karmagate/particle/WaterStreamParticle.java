@@ -1,8 +1,5 @@
 package dev.fouriis.karmagate.particle;
 
-import dev.fouriis.karmagate.block.karmagate.HeatCoilBlock;
-import dev.fouriis.karmagate.entity.karmagate.HeatCoilBlockEntity;
-import dev.fouriis.karmagate.sound.SteamAudioController;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.block.BlockState;
@@ -24,7 +21,6 @@ import net.minecraft.util.math.MathHelper;
 public class WaterStreamParticle extends SpriteBillboardParticle {
     private final SpriteProvider sprites;
 
-    private boolean emittedSteam = false;
     // Tracks which solid blocks we've already splashed in to avoid duplicate spawns per block
     private final java.util.HashSet<BlockPos> splashedBlocks = new java.util.HashSet<>();
 
@@ -89,39 +85,7 @@ public class WaterStreamParticle extends SpriteBillboardParticle {
         // Detect entering solid blocks along movement path and spawn a one-time splash per block
         spawnSplashOnNewSolidBlocksAlongPath();
 
-        // Heat coil contact -> spawn steam once with intensity = coil heat
-        if (!this.emittedSteam) {
-            BlockPos p = BlockPos.ofFloored(this.x, this.y, this.z);
-            BlockState state = this.world.getBlockState(p);
-
-            if (state.getBlock() instanceof HeatCoilBlock) {
-                var be = this.world.getBlockEntity(p);
-                if (be instanceof HeatCoilBlockEntity coil) {
-                    float heat = MathHelper.clamp(coil.getHeat(), 0f, 1f);
-                    if (heat > 0.01f) {
-                        // Spawn two steam particles with slight random offset
-                        for (int i = 0; i < 2; i++) {
-                            double offsetX = (this.random.nextDouble() - 0.5) * 0.08;
-                            double offsetZ = (this.random.nextDouble() - 0.5) * 0.08;
-                            this.world.addParticle(
-                                    ModParticles.STEAM,
-                                    this.x + offsetX, this.y + 0.05, this.z + offsetZ,
-                                    0.0, heat, 0.0 // encode intensity in vy
-                            );
-                        }
-                        SteamAudioController.get().onSteamBurst(BlockPos.ofFloored(this.x, this.y, this.z), heat);
-                        coil.drainHeat(0.02f * heat);
-                        // Client-side visual flicker: sharp, randomized dip, then fast recovery
-                        // Peak dip up to ~0.35 at high heat with slight randomness
-                        float rand = (float)this.random.nextDouble();
-                        float peakDip = 0.10f + 0.20f * heat + 0.05f * rand; // ~0.10..0.35
-                        int duration = 8 + (int)(6 * heat) + (int)(2 * rand);  // ~8..16
-                        coil.clientPulseCool(peakDip, duration);
-                    }
-                    this.emittedSteam = true;
-                }
-            }
-        }
+        // Steam on heat coils is computed by the server per airlock (see CoilSteamEffects)
 
         if (this.onGround) this.markDead();
     }
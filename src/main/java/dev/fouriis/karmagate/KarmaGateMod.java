@@ -1,13 +1,18 @@
 package dev.fouriis.karmagate;
 
 import dev.fouriis.karmagate.block.ModBlocks;
+import dev.fouriis.karmagate.command.GateNetworkCommands;
+import dev.fouriis.karmagate.command.NetworkStatsCommands;
 import dev.fouriis.karmagate.command.ProjectionZoneCommands;
 import dev.fouriis.karmagate.entity.ModBlockEntities;
+import dev.fouriis.karmagate.entity.karmagate.GateCycles;
+import dev.fouriis.karmagate.entity.karmagate.HeatCoilBlockEntity;
 import dev.fouriis.karmagate.network.ModNetworking;
 import dev.fouriis.karmagate.particle.ModParticles;
 import dev.fouriis.karmagate.sound.ModSounds;
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerBlockEntityEvents;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,6 +28,14 @@ public class KarmaGateMod implements ModInitializer {
         ModBlockEntities.registerBlockEntities();
         ModParticles.register();
         ModSounds.registerModSounds();
+
+        // Register datapack-driven airlock cycles
+        GateCycles.register();
+
+        // Coils reloaded next to a running airlock rejoin its thermal network
+        ServerBlockEntityEvents.BLOCK_ENTITY_LOAD.register((be, world) -> {
+            if (be instanceof HeatCoilBlockEntity coil) coil.rejoinNetwork();
+        });
         
         // Register networking
         ModNetworking.register();
@@ -30,6 +43,8 @@ public class KarmaGateMod implements ModInitializer {
         // Register commands
         CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> {
             ProjectionZoneCommands.register(dispatcher);
+            GateNetworkCommands.register(dispatcher);
+            NetworkStatsCommands.register(dispatcher);
         });
 
         LOGGER.info("Hello Fabric world!");
@@ -95,9 +95,10 @@ public class HologramProjectorBlock extends BlockWithEntity {
         BlockEntity be = world.getBlockEntity(pos);
         if (be instanceof HologramProjectorBlockEntity hp) {
             if (player.isInSneakingPose()) {
-                float cur = hp.getStaticLevel();
+                // staticLevel is client-only; step the synced target and let clients ease to it
+                float cur = hp.getTargetLevel();
                 float next = (cur >= 0.995f) ? 0f : Math.min(1f, cur + 0.05f);
-                hp.setStaticLevel(next);
+                hp.setTargetLevel(next);
             } else {
                 hp.cycleSymbol();
             }
@@ -1,15 +1,13 @@
 package dev.fouriis.karmagate.block.karmagate;
 
 import com.mojang.serialization.MapCodec;
-import dev.fouriis.karmagate.entity.ModBlockEntities;
 import dev.fouriis.karmagate.entity.karmagate.GateLightBlockEntity;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.BlockWithEntity;
 import net.minecraft.block.entity.BlockEntity;
-import net.minecraft.block.entity.BlockEntityTicker;
-import net.minecraft.block.entity.BlockEntityType;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.item.ItemPlacementContext;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.state.StateManager;
 import net.minecraft.state.property.BooleanProperty;
 import net.minecraft.state.property.DirectionProperty;
@@ -20,6 +18,7 @@ import net.minecraft.util.BlockRotation;
 import net.minecraft.util.hit.BlockHitResult;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.random.Random;
 import net.minecraft.world.World;
 
 public class GateLightBlock extends BlockWithEntity {
@@ -71,12 +70,25 @@ public class GateLightBlock extends BlockWithEntity {
         return state.rotate(mirror.getRotation(state.get(FACING)));
     }
 
+    /**
+     * No ticker: BROKEN is handled when the state changes, via a one-shot scheduled tick, and
+     * pattern programs are followed by the renderer, only for lamps in view.
+     */
     @Override
-    public <T extends BlockEntity> BlockEntityTicker<T> getTicker(
-            World world, BlockState state, BlockEntityType<T> type) {
-        return type == ModBlockEntities.GATE_LIGHT_BLOCK_ENTITY
-                ? (w, p, s, be) -> ((GateLightBlockEntity) be).tick(w, p, s, (GateLightBlockEntity) be)
-                : null;
+    public void onStateReplaced(BlockState state, World world, BlockPos pos,
+                                BlockState newState, boolean moved) {
+        super.onStateReplaced(state, world, pos, newState, moved);
+        if (!world.isClient && newState.isOf(this) && newState.get(BROKEN) && !state.get(BROKEN)) {
+            world.scheduleBlockTick(pos, this, 1);
+        }
+    }
+
+    /** Also used by the lamp to coalesce luminance changes (see GateLightBlockEntity#applyPendingLight). */
+    @Override
+    protected void scheduledTick(BlockState state, ServerWorld world, BlockPos pos, Random random) {
+        if (!(world.getBlockEntity(pos) instanceof GateLightBlockEntity light)) return;
+        if (state.get(BROKEN)) light.onBroken();
+        light.applyPendingLight();
     }
 
     @Override
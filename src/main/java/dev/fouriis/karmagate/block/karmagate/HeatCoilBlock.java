@@ -2,15 +2,13 @@ package dev.fouriis.karmagate.block.karmagate;
 
 import com.mojang.serialization.MapCodec;
 
-import dev.fouriis.karmagate.entity.ModBlockEntities;
 import dev.fouriis.karmagate.entity.karmagate.HeatCoilBlockEntity;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.BlockWithEntity;
 import net.minecraft.block.entity.BlockEntity;
-import net.minecraft.block.entity.BlockEntityTicker;
-import net.minecraft.block.entity.BlockEntityType;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.item.ItemPlacementContext;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.state.StateManager;
 import net.minecraft.state.property.DirectionProperty;
 import net.minecraft.state.property.Properties;
@@ -20,6 +18,7 @@ import net.minecraft.util.BlockRotation;
 import net.minecraft.util.hit.BlockHitResult;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.random.Random;
 import net.minecraft.world.World;
 
 public class HeatCoilBlock extends BlockWithEntity {
@@ -60,11 +59,12 @@ public class HeatCoilBlock extends BlockWithEntity {
         return new HeatCoilBlockEntity(pos, state);
     }
 
+    // No ticker: idle coils sleep; HeatCoilBlockEntity#wake() schedules ticks until they settle
     @Override
-    public <T extends BlockEntity> BlockEntityTicker<T> getTicker(World w, BlockState s, BlockEntityType<T> t) {
-        return t == ModBlockEntities.HEAT_COIL_BLOCK_ENTITY
-                ? (world, pos, state, be) -> ((HeatCoilBlockEntity) be).tick(world, pos, state)
-                : null;
+    protected void scheduledTick(BlockState state, ServerWorld world, BlockPos pos, Random random) {
+        if (world.getBlockEntity(pos) instanceof HeatCoilBlockEntity coil && coil.tick(world, pos, state)) {
+            world.scheduleBlockTick(pos, this, 1);
+        }
     }
 
     @Override
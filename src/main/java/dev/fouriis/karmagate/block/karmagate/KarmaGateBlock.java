@@ -1,12 +1,18 @@
 package dev.fouriis.karmagate.block.karmagate;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import com.mojang.serialization.MapCodec;
 
 import dev.fouriis.karmagate.block.ModBlocks;
 import dev.fouriis.karmagate.entity.ModBlockEntities;
+import dev.fouriis.karmagate.entity.karmagate.GateNetworkIndex;
 import dev.fouriis.karmagate.entity.karmagate.KarmaGateBlockEntity;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
 import net.minecraft.block.BlockWithEntity;
 import net.minecraft.block.EntityShapeContext;
 import net.minecraft.block.BlockRenderType;
@@ -17,7 +23,9 @@ import net.minecraft.block.entity.BlockEntityType;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.item.ItemPlacementContext;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.state.StateManager;
+import net.minecraft.state.property.BooleanProperty;
 import net.minecraft.state.property.EnumProperty;
 import net.minecraft.state.property.Properties;
 import net.minecraft.util.ActionResult;
@@ -26,6 +34,7 @@ import net.minecraft.util.BlockRotation;
 import net.minecraft.util.hit.BlockHitResult;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.GlobalPos;
 import net.minecraft.util.shape.VoxelShape;
 import net.minecraft.util.shape.VoxelShapes;
 import net.minecraft.world.BlockView;
@@ -41,10 +50,13 @@ public class KarmaGateBlock extends BlockWithEntity {
     public static final int GATE_DEPTH  = KarmaGatePartBlock.GATE_DEPTH;   // along axis (0 = base slice)
 
     public static final EnumProperty<Direction.Axis> AXIS = Properties.HORIZONTAL_AXIS;
+    public static final BooleanProperty OPEN = KarmaGatePartBlock.OPEN;
 
     public KarmaGateBlock(Settings settings) {
         super(settings.nonOpaque());
-        setDefaultState(getStateManager().getDefaultState().with(AXIS, Direction.Axis.Z));
+        setDefaultState(getStateManager().getDefaultState()
+                .with(AXIS, Direction.Axis.Z)
+                .with(OPEN, false));
     }
 
     // Use the BlockEntityRenderer (GeoBlockRenderer) instead of the baked model
@@ -60,7 +72,7 @@ public class KarmaGateBlock extends BlockWithEntity {
 
     @Override
     protected void appendProperties(StateManager.Builder<Block, BlockState> builder) {
-        builder.add(AXIS);
+        builder.add(AXIS, OPEN);
     }
 
     @Override
@@ -118,18 +130,13 @@ public class KarmaGateBlock extends BlockWithEntity {
     public void onStateReplaced(BlockState state, World world, BlockPos pos,
                                 BlockState newState, boolean moved) {
         super.onStateReplaced(state, world, pos, newState, moved);
+        // Covers player breaks too (onBreak runs first, then the state is replaced)
         if (!world.isClient && state.getBlock() != newState.getBlock()) {
             clearPartsFromBase(world, pos, state);
+            if (world instanceof ServerWorld sw) GateNetworkIndex.get(sw).remove(pos);
         }
     }
 
-    @Override
-    public BlockState onBreak(World world, BlockPos pos, BlockState state, PlayerEntity player) {
-        super.onBreak(world, pos, state, player);
-        if (!world.isClient) clearPartsFromBase(world, pos, state);
-        return state;
-    }
-
     @Override
     public ActionResult onUse(BlockState state, World world, BlockPos pos,
                               PlayerEntity player, BlockHitResult hit) {
@@ -155,11 +162,6 @@ public class KarmaGateBlock extends BlockWithEntity {
 
     /* ---------- Shapes: full cube when closed; empty when open ---------- */
 
-    private static boolean isOpen(World world, BlockPos pos) {
-        BlockEntity be = world.getBlockEntity(pos);
-        return (be instanceof KarmaGateBlockEntity k) && k.isOpen();
-    }
-
     @Override
 public VoxelShape getOutlineShape(BlockState state, BlockView view, BlockPos pos, ShapeContext ctx) {
     // Keep outline non-empty to avoid client crash in ParticleManager when breaking
@@ -169,66 +171,144 @@ public VoxelShape getOutlineShape(BlockState state, BlockView view, BlockPos pos
 
 @Override
 public VoxelShape getCollisionShape(BlockState state, BlockView view, BlockPos pos, ShapeContext ctx) {
-    if (view instanceof World w && isOpen(w, pos)) {
-        return VoxelShapes.empty();
-    }
-    return VoxelShapes.fullCube();
+    return state.get(OPEN) ? VoxelShapes.empty() : VoxelShapes.fullCube();
 }
 
-    /* ---------- Spawn & clear parts ---------- */
+    /* ---------- Structure geometry ---------- */
 
-    private void spawnParts(World w, BlockPos basePos, BlockState baseState) {
-        Direction.Axis axis = baseState.get(AXIS);
-        int halfW = (GATE_WIDTH - 1) / 2;
+    @FunctionalInterface
+    interface PartVisitor {
+        void visit(BlockPos p, int h, int d, int a);
+    }
 
+    /** Visits every part position of the gate at {@code basePos} (the base slot itself is skipped). */
+    static void forEachPart(BlockPos basePos, Direction.Axis axis, PartVisitor visitor) {
+        int halfW = (GATE_WIDTH - 1) / 2;
         for (int h = 0; h < GATE_HEIGHT; h++) {
             for (int d = 0; d < GATE_DEPTH; d++) {
                 for (int a = -halfW; a <= halfW; a++) {
                     if (h == 0 && d == 0 && a == 0) continue;
-
                     // depth goes FORWARD => place at -d along axis
                     BlockPos p = (axis == Direction.Axis.X)
                             ? basePos.add(-d, h,  a)
                             : basePos.add( a, h, -d);
+                    visitor.visit(p, h, d, a);
+                }
+            }
+        }
+    }
 
-                    if (!w.getBlockState(p).isAir()) continue;
+    /**
+     * Bases whose parts are currently being removed as one structural operation, keyed by
+     * dimension and position. Parts check this so they do not try to break the base again.
+     */
+    private static final Set<GlobalPos> DISMANTLING = new HashSet<>();
 
-                    BlockState partState = ModBlocks.KARMA_GATE_PART.getDefaultState()
-                            .with(KarmaGatePartBlock.AXIS,   axis)
-                            .with(KarmaGatePartBlock.HEIGHT, h)
-                            .with(KarmaGatePartBlock.AOFF,   a + halfW) // [-halfW..halfW] -> [0..W-1]
-                            .with(KarmaGatePartBlock.DOFF,   d);        // 0..DEPTH-1
+    static boolean isDismantling(World w, BlockPos basePos) {
+        return DISMANTLING.contains(GlobalPos.create(w.getRegistryKey(), basePos));
+    }
 
-                    w.setBlockState(p, partState, Block.NOTIFY_ALL);
+    /*
+     * Structural edits skip per-block neighbour, shape and lighting updates while they run.
+     * Lighting is queued afterwards for every changed position in one pass, and neighbours
+     * are notified once across the outer shell.
+     * The chunk holder already coalesces the listener updates into one delta per section.
+     */
+    private static final int STRUCTURE_FLAGS =
+            Block.NOTIFY_LISTENERS | Block.FORCE_STATE | Block.SKIP_LIGHTING_UPDATES;
 
-                    BlockEntity be = w.getBlockEntity(p);
-                    if (be instanceof KarmaGatePartBlock.PartBE partBe) {
-                        partBe.setBasePos(basePos);
-                    }
-                }
+    /* ---------- Spawn & clear parts ---------- */
+
+    private void spawnParts(World w, BlockPos basePos, BlockState baseState) {
+        Direction.Axis axis = baseState.get(AXIS);
+        int halfW = (GATE_WIDTH - 1) / 2;
+        boolean open = baseState.get(OPEN);
+
+        LongOpenHashSet placed = new LongOpenHashSet();
+        placed.add(basePos.asLong());
+
+        forEachPart(basePos, axis, (p, h, d, a) -> {
+            if (!w.getBlockState(p).isAir()) return;
+
+            BlockState partState = ModBlocks.KARMA_GATE_PART.getDefaultState()
+                    .with(KarmaGatePartBlock.AXIS,   axis)
+                    .with(KarmaGatePartBlock.HEIGHT, h)
+                    .with(KarmaGatePartBlock.AOFF,   a + halfW) // [-halfW..halfW] -> [0..W-1]
+                    .with(KarmaGatePartBlock.DOFF,   d)         // 0..DEPTH-1
+                    .with(KarmaGatePartBlock.OPEN,   open);
+
+            w.setBlockState(p, partState, STRUCTURE_FLAGS);
+            placed.add(p.asLong());
+
+            BlockEntity be = w.getBlockEntity(p);
+            if (be instanceof KarmaGatePartBlock.PartBE partBe) {
+                partBe.setBasePos(basePos);
             }
-        }
+        });
+
+        finishStructuralEdit(w, placed);
     }
 
     private void clearPartsFromBase(World w, BlockPos basePos, BlockState baseState) {
-        Direction.Axis axis = baseState.get(AXIS);
-        int halfW = (GATE_WIDTH - 1) / 2;
+        GlobalPos key = GlobalPos.create(w.getRegistryKey(), basePos.toImmutable());
+        if (!DISMANTLING.add(key)) return;
+
+        LongOpenHashSet removed = new LongOpenHashSet();
+        removed.add(basePos.asLong());
+        try {
+            // mirror spawn positions for cleanup
+            forEachPart(basePos, baseState.get(AXIS), (p, h, d, a) -> {
+                if (w.getBlockState(p).getBlock() == ModBlocks.KARMA_GATE_PART) {
+                    w.setBlockState(p, Blocks.AIR.getDefaultState(), STRUCTURE_FLAGS | Block.SKIP_DROPS);
+                    removed.add(p.asLong());
+                }
+            });
+        } finally {
+            DISMANTLING.remove(key);
+        }
 
-        for (int h = 0; h < GATE_HEIGHT; h++) {
-            for (int d = 0; d < GATE_DEPTH; d++) {
-                for (int a = -halfW; a <= halfW; a++) {
-                    if (h == 0 && d == 0 && a == 0) continue;
+        finishStructuralEdit(w, removed);
+    }
 
-                    // mirror spawn positions for cleanup
-                    BlockPos p = (axis == Direction.Axis.X)
-                            ? basePos.add(-d, h,  a)
-                            : basePos.add( a, h, -d);
+    /** Lighting check for every changed position, then neighbour updates across the outer shell only. */
+    private static void finishStructuralEdit(World w, LongOpenHashSet changed) {
+        BlockPos.Mutable n = new BlockPos.Mutable();
+
+        for (long packed : changed) {
+            BlockPos p = BlockPos.fromLong(packed);
+            w.getLightingProvider().checkBlock(p);
+
+            BlockState state = w.getBlockState(p);
+            for (Direction dir : Direction.values()) {
+                n.set(p, dir);
+                if (changed.contains(n.asLong())) continue;
 
-                    if (w.getBlockState(p).getBlock() == ModBlocks.KARMA_GATE_PART) {
-                        w.breakBlock(p, false);
-                    }
+                BlockPos outside = n.toImmutable();
+                w.updateNeighbor(outside, state.getBlock(), p);
+                if (!w.getBlockState(outside).isAir()) {
+                    w.replaceWithStateForNeighborUpdate(dir.getOpposite(), state, outside, p, Block.NOTIFY_ALL, 512);
                 }
             }
         }
     }
+
+    /**
+     * Pushes the gate's open flag into the base and part block states in one pass.
+     * Only listeners are notified (no neighbour/shape updates), so the client gets a
+     * single chunk delta and shapes can be read straight from the state.
+     */
+    public static void setStructureOpen(World w, BlockPos basePos, boolean open) {
+        BlockState baseState = w.getBlockState(basePos);
+        if (!(baseState.getBlock() instanceof KarmaGateBlock)) return;
+
+        final int flags = Block.NOTIFY_LISTENERS | Block.FORCE_STATE;
+        if (baseState.get(OPEN) != open) w.setBlockState(basePos, baseState.with(OPEN, open), flags);
+
+        forEachPart(basePos, baseState.get(AXIS), (p, h, d, a) -> {
+            BlockState ps = w.getBlockState(p);
+            if (ps.getBlock() == ModBlocks.KARMA_GATE_PART && ps.get(KarmaGatePartBlock.OPEN) != open) {
+                w.setBlockState(p, ps.with(KarmaGatePartBlock.OPEN, open), flags);
+            }
+        });
+    }
 }
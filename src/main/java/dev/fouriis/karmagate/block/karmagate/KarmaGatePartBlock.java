@@ -3,7 +3,6 @@ package dev.fouriis.karmagate.block.karmagate;
 import com.mojang.serialization.MapCodec;
 
 import dev.fouriis.karmagate.entity.ModBlockEntities;
-import dev.fouriis.karmagate.entity.karmagate.KarmaGateBlockEntity;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.BlockWithEntity;
@@ -14,6 +13,7 @@ import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.registry.RegistryWrapper;
 import net.minecraft.state.StateManager;
+import net.minecraft.state.property.BooleanProperty;
 import net.minecraft.state.property.EnumProperty;
 import net.minecraft.state.property.IntProperty;
 import net.minecraft.state.property.Properties;
@@ -44,6 +44,8 @@ public class KarmaGatePartBlock extends BlockWithEntity {
     public static final IntProperty HEIGHT = IntProperty.of("height", 0, GATE_HEIGHT - 1);
     public static final IntProperty AOFF   = IntProperty.of("aoff",   0, GATE_WIDTH  - 1); // width index
     public static final IntProperty DOFF   = IntProperty.of("doff",   0, GATE_DEPTH  - 1); // depth index (0..DEPTH-1, 0 = base slice)
+    // Mirrors the base gate's open flag so shapes never need a BE lookup
+    public static final BooleanProperty OPEN = Properties.OPEN;
 
     public KarmaGatePartBlock(Settings settings) {
         super(settings.nonOpaque());
@@ -51,12 +53,13 @@ public class KarmaGatePartBlock extends BlockWithEntity {
                 .with(AXIS, Direction.Axis.Z)
                 .with(HEIGHT, 0)
                 .with(AOFF, (GATE_WIDTH - 1) / 2) // center
-                .with(DOFF, 0));                  // base slice by default
+                .with(DOFF, 0)                    // base slice by default
+                .with(OPEN, false));
     }
 
     @Override
     protected void appendProperties(StateManager.Builder<Block, BlockState> b) {
-        b.add(AXIS, HEIGHT, AOFF, DOFF);
+        b.add(AXIS, HEIGHT, AOFF, DOFF, OPEN);
     }
 
     @Override
@@ -87,13 +90,13 @@ public class KarmaGatePartBlock extends BlockWithEntity {
         return partPos.down(h).offset(perpAxisDir, -a).offset(alongAxisDir, +d);
     }
 
-    private static boolean isOpen(World w, BlockPos partPos, BlockState partState) {
-        BlockPos basePos = resolveBasePos(w, partPos, partState);
-        BlockEntity be = w.getBlockEntity(basePos);
-        return (be instanceof KarmaGateBlockEntity k) && k.isOpen();
+    /** Parts render nothing; keep them light-transparent so swapping them with air never changes lighting. */
+    @Override
+    protected boolean isTransparent(BlockState state, BlockView world, BlockPos pos) {
+        return true;
     }
 
-    /* ---------- Shapes: full cube when closed; empty when open ---------- */
+    /* ---------- Shapes: full cube when closed; empty when open (from OPEN state) ---------- */
 
     @Override
     public VoxelShape getOutlineShape(BlockState state, BlockView view, BlockPos pos, ShapeContext ctx) {
@@ -102,18 +105,12 @@ public class KarmaGatePartBlock extends BlockWithEntity {
             return VoxelShapes.fullCube();
         }
 
-        if (view instanceof World w && isOpen(w, pos, state)) {
-            return VoxelShapes.empty();
-        }
-        return VoxelShapes.fullCube();
+        return state.get(OPEN) ? VoxelShapes.empty() : VoxelShapes.fullCube();
     }
 
     @Override
     public VoxelShape getCollisionShape(BlockState state, BlockView view, BlockPos pos, ShapeContext ctx) {
-        if (view instanceof World w && isOpen(w, pos, state)) {
-            return VoxelShapes.empty();
-        }
-        return VoxelShapes.fullCube();
+        return state.get(OPEN) ? VoxelShapes.empty() : VoxelShapes.fullCube();
     }
 
     @Override
@@ -146,10 +143,7 @@ public class KarmaGatePartBlock extends BlockWithEntity {
     @Override
     public BlockState onBreak(World world, BlockPos pos, BlockState state, PlayerEntity player) {
         super.onBreak(world, pos, state, player);
-        if (!world.isClient) {
-            BlockPos base = resolveBasePos(world, pos, state);
-            if (!base.equals(pos) && !world.isAir(base)) world.breakBlock(base, false);
-        }
+        if (!world.isClient) breakBaseOf(world, pos, state);
         return state;
     }
 
@@ -158,11 +152,17 @@ public class KarmaGatePartBlock extends BlockWithEntity {
                                 BlockState newState, boolean moved) {
         super.onStateReplaced(state, world, pos, newState, moved);
         if (!world.isClient && state.getBlock() != newState.getBlock()) {
-            BlockPos base = resolveBasePos(world, pos, state);
-            if (!base.equals(pos) && !world.isAir(base)) world.breakBlock(base, false);
+            breakBaseOf(world, pos, state);
         }
     }
 
+    /** Breaking the base removes the whole structure in one batch; skipped while that batch is running. */
+    private static void breakBaseOf(World world, BlockPos pos, BlockState state) {
+        BlockPos base = resolveBasePos(world, pos, state);
+        if (base.equals(pos) || KarmaGateBlock.isDismantling(world, base)) return;
+        if (world.getBlockState(base).getBlock() instanceof KarmaGateBlock) world.breakBlock(base, false);
+    }
+
     /* ---------- BlockEntity that stores the base gate position ---------- */
 
     public static class PartBE extends BlockEntity {
@@ -9,9 +9,6 @@ import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.block.entity.BlockEntityTicker;
 import net.minecraft.block.entity.BlockEntityType;
 import net.minecraft.entity.player.PlayerEntity;
-import net.minecraft.item.ItemPlacementContext;
-import net.minecraft.state.StateManager;
-import net.minecraft.state.property.BooleanProperty;
 import net.minecraft.util.ActionResult;
 import net.minecraft.util.hit.BlockHitResult;
 import net.minecraft.util.math.BlockPos;
@@ -20,15 +17,8 @@ import org.jetbrains.annotations.Nullable;
 
 import dev.fouriis.karmagate.entity.karmagate.SteamEmitterBlockEntity;
 public class SteamEmitterBlock extends Block implements BlockEntityProvider {
-    public static final BooleanProperty ENABLED = BooleanProperty.of("enabled");
-
     public SteamEmitterBlock(Settings settings) {
         super(settings);
-        this.setDefaultState(this.stateManager.getDefaultState().with(ENABLED, false));
-    }
-
-    @Override protected void appendProperties(StateManager.Builder<Block, BlockState> builder) {
-        builder.add(ENABLED);
     }
 
     @Nullable @Override
@@ -41,22 +31,13 @@ public class SteamEmitterBlock extends Block implements BlockEntityProvider {
         return BlockRenderType.MODEL;
     }
 
-    @Override
-    public BlockState getPlacementState(ItemPlacementContext ctx) {
-        return getDefaultState().with(ENABLED, false);
-    }
-
-    // simple toggle on right-click
+    // simple toggle on right-click; the enabled flag reaches clients through the BE sync
     @Override
     public ActionResult onUse(BlockState state, World world, BlockPos pos, PlayerEntity player, BlockHitResult hit) {
         if (world.isClient) return ActionResult.SUCCESS;
-        boolean newEnabled = !state.get(ENABLED);
-        world.setBlockState(pos, state.with(ENABLED, newEnabled), Block.NOTIFY_ALL);
-
         BlockEntity be = world.getBlockEntity(pos);
         if (be instanceof SteamEmitterBlockEntity emitter) {
-            System.out.println("SteamEmitterBlock: toggled to " + newEnabled);
-            emitter.setEnabled(newEnabled);
+            emitter.setEnabled(!emitter.isEnabled());
         }
         return ActionResult.CONSUME;
     }
@@ -65,13 +46,14 @@ public class SteamEmitterBlock extends Block implements BlockEntityProvider {
     @Override
     public void neighborUpdate(BlockState state, World world, BlockPos pos, Block block,
                                BlockPos fromPos, boolean notify) {
-        // if you want redstone control, mirror redstone power into ENABLED here
+        // if you want redstone control, mirror redstone power into the emitter's enabled flag here
     }
 
-    // tick BE
+    // tick BE: client-only; the emitter returns at once while its synced flag is off
     @Override
     public <T extends BlockEntity> BlockEntityTicker<T> getTicker(
             World world, BlockState state, BlockEntityType<T> type) {
+        if (!world.isClient) return null;
         return type == dev.fouriis.karmagate.entity.ModBlockEntities.STEAM_EMITTER_BLOCK_ENTITY
                 ? (w, p, s, be) -> SteamEmitterBlockEntity.tick(w, p, s, (SteamEmitterBlockEntity) be)
                 : null;
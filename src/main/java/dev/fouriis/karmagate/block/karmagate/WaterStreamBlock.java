@@ -51,6 +51,8 @@ public class WaterStreamBlock extends BlockWithEntity {
     @Override
     public <T extends BlockEntity> BlockEntityTicker<T> getTicker(
             World world, BlockState state, BlockEntityType<T> type) {
+        // Flow smoothing is purely visual: client only
+        if (!world.isClient) return null;
         return type == ModBlockEntities.WATER_STREAM_BLOCK_ENTITY
                 ? (w, p, s, be) -> WaterStreamBlockEntity.tick(w, p, s, (WaterStreamBlockEntity) be)
                 : null;
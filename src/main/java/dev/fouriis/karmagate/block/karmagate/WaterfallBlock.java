@@ -97,6 +97,7 @@ public class WaterfallBlock extends BlockWithEntity {
     @Override
     public <T extends BlockEntity> BlockEntityTicker<T> getTicker(World world, BlockState state, BlockEntityType<T> type) {
         // No ticking required server-side; client handles smooth propagation during rendering.
+        if (!world.isClient) return null;
         return type == ModBlockEntities.WATERFALL_BLOCK_ENTITY ? WaterfallBlockEntity::clientTick : null;
     }
 }
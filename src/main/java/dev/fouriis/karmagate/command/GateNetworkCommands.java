@@ -0,0 +1,395 @@
+package dev.fouriis.karmagate.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.BoolArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.suggestion.SuggestionProvider;
+import dev.fouriis.karmagate.entity.karmagate.GateCycles;
+import dev.fouriis.karmagate.entity.karmagate.GateNetworkIndex;
+import dev.fouriis.karmagate.entity.karmagate.KarmaGateBlockEntity;
+import dev.fouriis.karmagate.entity.karmagate.KarmaGateController;
+import net.minecraft.command.CommandSource;
+import net.minecraft.command.argument.BlockPosArgumentType;
+import net.minecraft.command.argument.IdentifierArgumentType;
+import net.minecraft.entity.EntityType;
+import net.minecraft.registry.Registries;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.MutableText;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.List;
+import java.util.Optional;
+
+import static net.minecraft.server.command.CommandManager.argument;
+import static net.minecraft.server.command.CommandManager.literal;
+
+/**
+ * Registers the /gates command for querying the per-world airlock index.
+ *
+ * Usage:
+ *   /gates list
+ *   /gates nearest
+ *   /gates within <radius>
+ *   /gates adjacent <pos>
+ *   /gates detect <pos> [players <bool> | type <entity> | tag <tag> | clear]
+ *   /gates stats <pos>
+ *   /gates predict <pos> [<bool>]
+ *   /gates cycle <pos> [<id>]
+ */
+public class GateNetworkCommands {
+
+    /**
+     * Suggestion provider for entity type ids.
+     */
+    private static final SuggestionProvider<ServerCommandSource> ENTITY_TYPE_SUGGESTIONS = (context, builder) ->
+        CommandSource.suggestIdentifiers(Registries.ENTITY_TYPE.getIds(), builder);
+
+    /**
+     * Suggestion provider for entity type tag ids.
+     */
+    private static final SuggestionProvider<ServerCommandSource> ENTITY_TAG_SUGGESTIONS = (context, builder) ->
+        CommandSource.suggestIdentifiers(Registries.ENTITY_TYPE.streamTags().map(t -> t.id()), builder);
+
+    /**
+     * Suggestion provider for loaded airlock cycle ids.
+     */
+    private static final SuggestionProvider<ServerCommandSource> CYCLE_SUGGESTIONS = (context, builder) ->
+        CommandSource.suggestIdentifiers(GateCycles.ids(), builder);
+
+    /**
+     * Registers all /gates subcommands.
+     */
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(
+            literal("gates")
+                .requires(source -> source.hasPermissionLevel(2)) // Require OP level 2
+                .then(literal("list")
+                    .executes(GateNetworkCommands::executeList)
+                )
+                .then(literal("nearest")
+                    .executes(GateNetworkCommands::executeNearest)
+                )
+                .then(literal("within")
+                    .then(argument("radius", IntegerArgumentType.integer(1))
+                        .executes(GateNetworkCommands::executeWithin)
+                    )
+                )
+                .then(literal("adjacent")
+                    .then(argument("pos", BlockPosArgumentType.blockPos())
+                        .executes(GateNetworkCommands::executeAdjacent)
+                    )
+                )
+                .then(literal("stats")
+                    .then(argument("pos", BlockPosArgumentType.blockPos())
+                        .executes(GateNetworkCommands::executeStats)
+                    )
+                )
+                .then(literal("predict")
+                    .then(argument("pos", BlockPosArgumentType.blockPos())
+                        .executes(GateNetworkCommands::executePredictShow)
+                        .then(argument("enabled", BoolArgumentType.bool())
+                            .executes(GateNetworkCommands::executePredictSet)
+                        )
+                    )
+                )
+                .then(literal("cycle")
+                    .then(argument("pos", BlockPosArgumentType.blockPos())
+                        .executes(GateNetworkCommands::executeCycleShow)
+                        .then(argument("id", IdentifierArgumentType.identifier())
+                            .suggests(CYCLE_SUGGESTIONS)
+                            .executes(GateNetworkCommands::executeCycleSet)
+                        )
+                    )
+                )
+                .then(literal("detect")
+                    .then(argument("pos", BlockPosArgumentType.blockPos())
+                        .executes(GateNetworkCommands::executeDetectShow)
+                        .then(literal("players")
+                            .then(argument("enabled", BoolArgumentType.bool())
+                                .executes(GateNetworkCommands::executeDetectPlayers)
+                            )
+                        )
+                        .then(literal("type")
+                            .then(argument("id", IdentifierArgumentType.identifier())
+                                .suggests(ENTITY_TYPE_SUGGESTIONS)
+                                .executes(GateNetworkCommands::executeDetectType)
+                            )
+                        )
+                        .then(literal("tag")
+                            .then(argument("id", IdentifierArgumentType.identifier())
+                                .suggests(ENTITY_TAG_SUGGESTIONS)
+                                .executes(GateNetworkCommands::executeDetectTag)
+                            )
+                        )
+                        .then(literal("clear")
+                            .executes(GateNetworkCommands::executeDetectClear)
+                        )
+                    )
+                )
+        );
+    }
+
+    /**
+     * Executes /gates list
+     */
+    private static int executeList(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        GateNetworkIndex index = GateNetworkIndex.get(source.getWorld());
+
+        if (index.size() == 0) {
+            source.sendFeedback(() -> Text.literal("No airlocks in this dimension.").formatted(Formatting.GRAY), false);
+            return 0;
+        }
+        return sendEntries(source, "Airlocks", index.all());
+    }
+
+    /**
+     * Executes /gates nearest
+     */
+    private static int executeNearest(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        Vec3d at = source.getPosition();
+        GateNetworkIndex.Entry e = GateNetworkIndex.get(source.getWorld()).nearest(at.x, at.z);
+
+        if (e == null) {
+            source.sendError(Text.literal("No airlocks in this dimension"));
+            return 0;
+        }
+        double dist = Math.sqrt(e.pos().getSquaredDistance(at.x, e.pos().getY() + 0.5, at.z));
+        source.sendFeedback(
+            () -> Text.literal("Nearest airlock (")
+                .append(Text.literal(String.format("%.1f", dist)).formatted(Formatting.GREEN))
+                .append(" blocks):"),
+            false
+        );
+        source.sendFeedback(() -> describe(e), false);
+        return 1;
+    }
+
+    /**
+     * Executes /gates within <radius>
+     */
+    private static int executeWithin(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        int radius = IntegerArgumentType.getInteger(context, "radius");
+        Vec3d at = source.getPosition();
+        List<GateNetworkIndex.Entry> found = GateNetworkIndex.get(source.getWorld()).within(at.x, at.z, radius);
+
+        if (found.isEmpty()) {
+            source.sendFeedback(() -> Text.literal("No airlocks within " + radius + " blocks.").formatted(Formatting.GRAY), false);
+            return 0;
+        }
+        return sendEntries(source, "Airlocks within " + radius, found);
+    }
+
+    /**
+     * Executes /gates adjacent <pos>
+     */
+    private static int executeAdjacent(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        ServerCommandSource source = context.getSource();
+        BlockPos pos = BlockPosArgumentType.getBlockPos(context, "pos");
+        GateNetworkIndex index = GateNetworkIndex.get(source.getWorld());
+
+        if (index.get(pos) == null) {
+            source.sendError(Text.literal("No airlock controller at " + pos.toShortString()));
+            return 0;
+        }
+        List<GateNetworkIndex.Entry> linked = index.adjacent(pos);
+        if (linked.isEmpty()) {
+            source.sendFeedback(() -> Text.literal("Airlock has no linked neighbours.").formatted(Formatting.GRAY), false);
+            return 0;
+        }
+        return sendEntries(source, "Linked airlocks", linked);
+    }
+
+    /**
+     * Executes /gates stats <pos>
+     */
+    private static int executeStats(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        ServerCommandSource source = context.getSource();
+        KarmaGateController controller = controllerAt(context);
+        if (controller == null) return 0;
+        source.sendFeedback(
+            () -> Text.literal("Airlock stats: ").append(Text.literal(controller.describeCrossings()).formatted(Formatting.AQUA)),
+            false
+        );
+        return 1;
+    }
+
+    /**
+     * Executes /gates predict <pos>
+     */
+    private static int executePredictShow(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        ServerCommandSource source = context.getSource();
+        KarmaGateController controller = controllerAt(context);
+        if (controller == null) return 0;
+        source.sendFeedback(
+            () -> Text.literal("Predictive prepare: ").append(Text.literal(controller.isPredictive() ? "on" : "off").formatted(Formatting.AQUA)),
+            false
+        );
+        return 1;
+    }
+
+    /**
+     * Executes /gates predict <pos> <bool>
+     */
+    private static int executePredictSet(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        boolean enabled = BoolArgumentType.getBool(context, "enabled");
+        KarmaGateController controller = controllerAt(context);
+        if (controller == null) return 0;
+        controller.setPredictive(enabled);
+        context.getSource().sendFeedback(
+            () -> Text.literal("Predictive prepare ").append(Text.literal(enabled ? "enabled" : "disabled").formatted(Formatting.GREEN)),
+            true
+        );
+        return 1;
+    }
+
+    /**
+     * Executes /gates cycle <pos>
+     */
+    private static int executeCycleShow(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        ServerCommandSource source = context.getSource();
+        KarmaGateController controller = controllerAt(context);
+        if (controller == null) return 0;
+        Identifier id = controller.getCycleId();
+        MutableText text = Text.literal("Cycle: ").append(Text.literal(id.toString()).formatted(Formatting.AQUA));
+        if (!GateCycles.exists(id)) {
+            text.append(Text.literal(" (not loaded, running " + GateCycles.DEFAULT_ID + ")").formatted(Formatting.GRAY));
+        }
+        source.sendFeedback(() -> text, false);
+        return 1;
+    }
+
+    /**
+     * Executes /gates cycle <pos> <id>
+     */
+    private static int executeCycleSet(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        ServerCommandSource source = context.getSource();
+        Identifier id = IdentifierArgumentType.getIdentifier(context, "id");
+        if (!GateCycles.exists(id)) {
+            source.sendError(Text.literal("Unknown gate cycle '" + id + "'"));
+            return 0;
+        }
+        KarmaGateController controller = controllerAt(context);
+        if (controller == null) return 0;
+        controller.setCycleId(id);
+        source.sendFeedback(
+            () -> Text.literal("Airlock cycle set to ").append(Text.literal(id.toString()).formatted(Formatting.GREEN)),
+            true
+        );
+        return 1;
+    }
+
+    /**
+     * Executes /gates detect <pos>
+     */
+    private static int executeDetectShow(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        ServerCommandSource source = context.getSource();
+        KarmaGateController controller = controllerAt(context);
+        if (controller == null) return 0;
+        source.sendFeedback(
+            () -> Text.literal("Detects: ").append(Text.literal(controller.getDetection().describe()).formatted(Formatting.AQUA)),
+            false
+        );
+        return 1;
+    }
+
+    /**
+     * Executes /gates detect <pos> players <bool>
+     */
+    private static int executeDetectPlayers(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        boolean enabled = BoolArgumentType.getBool(context, "enabled");
+        KarmaGateController controller = controllerAt(context);
+        if (controller == null) return 0;
+        controller.editDetection(f -> f.setPlayers(enabled));
+        return detectChanged(context.getSource(), controller);
+    }
+
+    /**
+     * Executes /gates detect <pos> type <entity>
+     */
+    private static int executeDetectType(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        ServerCommandSource source = context.getSource();
+        Identifier id = IdentifierArgumentType.getIdentifier(context, "id");
+        Optional<EntityType<?>> type = Registries.ENTITY_TYPE.getOrEmpty(id);
+        if (type.isEmpty()) {
+            source.sendError(Text.literal("Unknown entity type '" + id + "'"));
+            return 0;
+        }
+        KarmaGateController controller = controllerAt(context);
+        if (controller == null) return 0;
+        controller.editDetection(f -> f.addType(type.get()));
+        return detectChanged(source, controller);
+    }
+
+    /**
+     * Executes /gates detect <pos> tag <tag>
+     */
+    private static int executeDetectTag(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        Identifier id = IdentifierArgumentType.getIdentifier(context, "id");
+        KarmaGateController controller = controllerAt(context);
+        if (controller == null) return 0;
+        controller.editDetection(f -> f.addTag(id));
+        return detectChanged(context.getSource(), controller);
+    }
+
+    /**
+     * Executes /gates detect <pos> clear
+     */
+    private static int executeDetectClear(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        KarmaGateController controller = controllerAt(context);
+        if (controller == null) return 0;
+        controller.editDetection(f -> f.clear());
+        return detectChanged(context.getSource(), controller);
+    }
+
+    private static int detectChanged(ServerCommandSource source, KarmaGateController controller) {
+        source.sendFeedback(
+            () -> Text.literal("Airlock now detects: ").append(Text.literal(controller.getDetection().describe()).formatted(Formatting.GREEN)),
+            true
+        );
+        return 1;
+    }
+
+    /** Controller at the "pos" argument, or null after reporting an error. */
+    private static KarmaGateController controllerAt(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        ServerCommandSource source = context.getSource();
+        BlockPos pos = BlockPosArgumentType.getLoadedBlockPos(context, "pos");
+        if (GateNetworkIndex.get(source.getWorld()).get(pos) != null
+                && source.getWorld().getBlockEntity(pos) instanceof KarmaGateBlockEntity kbe) {
+            return kbe.getController();
+        }
+        source.sendError(Text.literal("No airlock controller at " + pos.toShortString()));
+        return null;
+    }
+
+    private static int sendEntries(ServerCommandSource source, String title, List<GateNetworkIndex.Entry> entries) {
+        source.sendFeedback(
+            () -> Text.literal(title + " (")
+                .append(Text.literal(String.valueOf(entries.size())).formatted(Formatting.GREEN))
+                .append("):"),
+            false
+        );
+        for (GateNetworkIndex.Entry e : entries) {
+            source.sendFeedback(() -> describe(e), false);
+        }
+        return entries.size();
+    }
+
+    private static MutableText describe(GateNetworkIndex.Entry e) {
+        return Text.literal("  • ")
+            .append(Text.literal(e.pos().toShortString()).formatted(Formatting.AQUA))
+            .append(" [" + e.axis().asString() + "] ")
+            .append(Text.literal(e.mode()).formatted(Formatting.YELLOW))
+            .append(" karma " + e.karma1().name() + "/" + e.karma2().name())
+            .append(" gates " + (e.gate1() == null ? "-" : e.gate1().toShortString())
+                + " | " + (e.gate2() == null ? "-" : e.gate2().toShortString()));
+    }
+}
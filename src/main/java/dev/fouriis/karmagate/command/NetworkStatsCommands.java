@@ -0,0 +1,136 @@
+package dev.fouriis.karmagate.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import dev.fouriis.karmagate.network.NetworkStats;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static net.minecraft.server.command.CommandManager.literal;
+
+/**
+ * Registers the /netstats command for the server's mod traffic accounting.
+ *
+ * Usage:
+ *   /netstats             (same as show)
+ *   /netstats show
+ *   /netstats on|off|reset
+ *   /netstats csv start|stop
+ */
+public class NetworkStatsCommands {
+
+    /** CSV log, next to the server's world folders. */
+    private static final String CSV_NAME = "karmagate-netstats-server.csv";
+
+    /**
+     * Registers all /netstats subcommands.
+     */
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(
+            literal("netstats")
+                .requires(source -> source.hasPermissionLevel(2)) // Require OP level 2
+                .executes(NetworkStatsCommands::executeShow)
+                .then(literal("show")
+                    .executes(NetworkStatsCommands::executeShow)
+                )
+                .then(literal("on")
+                    .executes(context -> executeEnable(context, true))
+                )
+                .then(literal("off")
+                    .executes(context -> executeEnable(context, false))
+                )
+                .then(literal("reset")
+                    .executes(NetworkStatsCommands::executeReset)
+                )
+                .then(literal("csv")
+                    .then(literal("start")
+                        .executes(NetworkStatsCommands::executeCsvStart)
+                    )
+                    .then(literal("stop")
+                        .executes(NetworkStatsCommands::executeCsvStop)
+                    )
+                )
+        );
+    }
+
+    /**
+     * Executes /netstats show
+     */
+    private static int executeShow(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        NetworkStats stats = NetworkStats.SERVER;
+        if (!stats.isEnabled()) {
+            source.sendFeedback(() -> Text.literal("Network stats are off; enable with /netstats on.").formatted(Formatting.GRAY), false);
+            return 0;
+        }
+
+        List<NetworkStats.Rate> rates = stats.rates();
+        long[] total = stats.total();
+        source.sendFeedback(
+            () -> Text.literal("Mod traffic (server, last second): ")
+                .append(Text.literal(total[0] + " pkt/s, " + NetworkStats.formatBytes(total[1]) + "/s").formatted(Formatting.GREEN)),
+            false
+        );
+        if (rates.isEmpty()) {
+            source.sendFeedback(() -> Text.literal("  (nothing sent yet)").formatted(Formatting.GRAY), false);
+        }
+        for (NetworkStats.Rate r : rates) {
+            source.sendFeedback(() -> Text.literal("  • ").append(Text.literal(NetworkStats.format(r)).formatted(Formatting.AQUA)), false);
+        }
+        source.sendFeedback(() -> Text.literal("  (" + NetworkStats.SCOPE_NOTE + ")").formatted(Formatting.GRAY), false);
+        return rates.size();
+    }
+
+    /**
+     * Executes /netstats on|off
+     */
+    private static int executeEnable(CommandContext<ServerCommandSource> context, boolean on) {
+        NetworkStats.SERVER.setEnabled(on);
+        context.getSource().sendFeedback(
+            () -> Text.literal("Network stats " + (on ? "enabled" : "disabled") + ".").formatted(on ? Formatting.GREEN : Formatting.GRAY),
+            true
+        );
+        return 1;
+    }
+
+    /**
+     * Executes /netstats reset
+     */
+    private static int executeReset(CommandContext<ServerCommandSource> context) {
+        NetworkStats.SERVER.reset();
+        context.getSource().sendFeedback(() -> Text.literal("Network stats reset.").formatted(Formatting.GREEN), false);
+        return 1;
+    }
+
+    /**
+     * Executes /netstats csv start
+     */
+    private static int executeCsvStart(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        Path file = source.getServer().getRunDirectory().resolve(CSV_NAME);
+        NetworkStats.SERVER.startCsv(file);
+        source.sendFeedback(
+            () -> Text.literal("Logging mod traffic to ").append(Text.literal(file.toString()).formatted(Formatting.AQUA)),
+            true
+        );
+        return 1;
+    }
+
+    /**
+     * Executes /netstats csv stop
+     */
+    private static int executeCsvStop(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        if (NetworkStats.SERVER.csvFile() == null) {
+            source.sendError(Text.literal("No CSV log is running"));
+            return 0;
+        }
+        NetworkStats.SERVER.stopCsv();
+        source.sendFeedback(() -> Text.literal("CSV log stopped.").formatted(Formatting.GREEN), true);
+        return 1;
+    }
+}
@@ -8,12 +8,18 @@ import com.mojang.brigadier.suggestion.SuggestionProvider;
 import dev.fouriis.karmagate.gridproject.ProjectionZoneData;
 import dev.fouriis.karmagate.gridproject.ProjectionZoneManager;
 import dev.fouriis.karmagate.network.ModNetworking;
+import dev.fouriis.karmagate.network.ProjectionZoneStreaming;
 import net.minecraft.command.CommandSource;
+import net.minecraft.command.argument.BlockPosArgumentType;
 import net.minecraft.server.command.CommandManager;
 import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
 
+import java.util.List;
 import java.util.Optional;
 
 import static net.minecraft.server.command.CommandManager.argument;
@@ -21,19 +27,24 @@ import static net.minecraft.server.command.CommandManager.literal;
 
 /**
  * Registers the /pz command for managing projection zones.
+ * Zones belong to the dimension the command runs in.
  * 
  * Usage:
  *   /pz new <name> <x1> <y1> <z1> <x2> <y2> <z2>
  *   /pz remove <name>
  *   /pz list
+ *   /pz at [<pos>]         (zones containing pos, default: your position)
+ *   /pz radius [<blocks>]  (show/set how far around players zones are sent; 0 = all)
  */
 public class ProjectionZoneCommands {
+
+    private static final int MAX_STREAM_RADIUS = 4096;
     
     /**
      * Suggestion provider for existing zone names.
      */
     private static final SuggestionProvider<ServerCommandSource> ZONE_NAME_SUGGESTIONS = (context, builder) -> {
-        ProjectionZoneManager manager = ProjectionZoneManager.get(context.getSource().getServer());
+        ProjectionZoneManager manager = ProjectionZoneManager.get(context.getSource().getWorld());
         return CommandSource.suggestMatching(manager.getZoneNames(), builder);
     };
     
@@ -70,6 +81,18 @@ public class ProjectionZoneCommands {
                 .then(literal("list")
                     .executes(ProjectionZoneCommands::executeList)
                 )
+                .then(literal("radius")
+                    .executes(ProjectionZoneCommands::executeRadiusShow)
+                    .then(argument("blocks", IntegerArgumentType.integer(0, MAX_STREAM_RADIUS))
+                        .executes(ProjectionZoneCommands::executeRadiusSet)
+                    )
+                )
+                .then(literal("at")
+                    .executes(context -> executeAt(context, BlockPos.ofFloored(context.getSource().getPosition())))
+                    .then(argument("pos", BlockPosArgumentType.blockPos())
+                        .executes(context -> executeAt(context, BlockPosArgumentType.getBlockPos(context, "pos")))
+                    )
+                )
         );
     }
     
@@ -87,13 +110,13 @@ public class ProjectionZoneCommands {
         int y2 = IntegerArgumentType.getInteger(context, "y2");
         int z2 = IntegerArgumentType.getInteger(context, "z2");
         
-        ProjectionZoneManager manager = ProjectionZoneManager.get(source.getServer());
+        ProjectionZoneManager manager = ProjectionZoneManager.get(source.getWorld());
         ProjectionZoneData zone = ProjectionZoneData.of(name, x1, y1, z1, x2, y2, z2);
         
         boolean isNew = manager.addZone(zone);
         
-        // Sync to all clients
-        ModNetworking.syncToAll(source.getServer());
+        // Sync to all clients in this dimension (batched at the end of the tick)
+        ModNetworking.queueZoneSync(source.getWorld());
         
         if (isNew) {
             source.sendFeedback(
@@ -129,12 +152,12 @@ public class ProjectionZoneCommands {
         ServerCommandSource source = context.getSource();
         String name = StringArgumentType.getString(context, "name");
         
-        ProjectionZoneManager manager = ProjectionZoneManager.get(source.getServer());
+        ProjectionZoneManager manager = ProjectionZoneManager.get(source.getWorld());
         Optional<ProjectionZoneData> removed = manager.removeZone(name);
         
         if (removed.isPresent()) {
-            // Sync to all clients
-            ModNetworking.syncToAll(source.getServer());
+            // Sync to all clients in this dimension (batched at the end of the tick)
+            ModNetworking.queueZoneSync(source.getWorld());
             
             source.sendFeedback(
                 () -> Text.literal("Removed projection zone '")
@@ -158,15 +181,15 @@ public class ProjectionZoneCommands {
      */
     private static int executeList(CommandContext<ServerCommandSource> context) {
         ServerCommandSource source = context.getSource();
-        ProjectionZoneManager manager = ProjectionZoneManager.get(source.getServer());
+        ProjectionZoneManager manager = ProjectionZoneManager.get(source.getWorld());
         
         if (manager.getZoneCount() == 0) {
-            source.sendFeedback(() -> Text.literal("No projection zones defined.").formatted(Formatting.GRAY), false);
+            source.sendFeedback(() -> Text.literal("No projection zones defined in this dimension.").formatted(Formatting.GRAY), false);
             return 0;
         }
         
         source.sendFeedback(
-            () -> Text.literal("Projection Zones (")
+            () -> Text.literal("Projection Zones in " + source.getWorld().getRegistryKey().getValue() + " (")
                 .append(Text.literal(String.valueOf(manager.getZoneCount())).formatted(Formatting.GREEN))
                 .append("):"),
             false
@@ -187,4 +210,95 @@ public class ProjectionZoneCommands {
         
         return manager.getZoneCount();
     }
+    
+    /**
+     * Executes /pz at [<pos>]
+     */
+    private static int executeAt(CommandContext<ServerCommandSource> context, BlockPos pos) {
+        ServerCommandSource source = context.getSource();
+        ProjectionZoneManager manager = ProjectionZoneManager.get(source.getWorld());
+        String at = pos.getX() + ", " + pos.getY() + ", " + pos.getZ();
+        
+        List<ProjectionZoneData> containing = manager.zonesContaining(pos);
+        if (!containing.isEmpty()) {
+            source.sendFeedback(
+                () -> Text.literal("Zones at (")
+                    .append(Text.literal(at).formatted(Formatting.YELLOW))
+                    .append("): ")
+                    .append(Text.literal(String.join(", ", containing.stream().map(ProjectionZoneData::name).toList())).formatted(Formatting.AQUA)),
+                false
+            );
+            return containing.size();
+        }
+        
+        Vec3d c = Vec3d.ofCenter(pos);
+        Optional<ProjectionZoneData> nearest = manager.nearestZone(c.x, c.y, c.z);
+        if (nearest.isEmpty()) {
+            source.sendFeedback(() -> Text.literal("No projection zones defined in this dimension.").formatted(Formatting.GRAY), false);
+            return 0;
+        }
+        
+        ProjectionZoneData zone = nearest.get();
+        BlockPos min = zone.getMin(), max = zone.getMax();
+        double dx = Math.max(0.0, Math.max(min.getX() - c.x, c.x - (max.getX() + 1)));
+        double dy = Math.max(0.0, Math.max(min.getY() - c.y, c.y - (max.getY() + 1)));
+        double dz = Math.max(0.0, Math.max(min.getZ() - c.z, c.z - (max.getZ() + 1)));
+        double dist = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        source.sendFeedback(
+            () -> Text.literal("No zone at (")
+                .append(Text.literal(at).formatted(Formatting.YELLOW))
+                .append("); nearest is '")
+                .append(Text.literal(zone.name()).formatted(Formatting.AQUA))
+                .append("', ")
+                .append(Text.literal(String.format("%.1f", dist)).formatted(Formatting.YELLOW))
+                .append(" blocks away"),
+            false
+        );
+        return 0;
+    }
+    
+    /**
+     * Executes /pz radius
+     */
+    private static int executeRadiusShow(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        int radius = ProjectionZoneManager.get(source.getWorld()).getStreamRadius();
+        source.sendFeedback(
+            () -> Text.literal("Zones are sent to players ")
+                .append(Text.literal(radius == 0 ? "at any distance" : "within " + radius + " blocks").formatted(Formatting.GREEN))
+                .append(" in this dimension."),
+            false
+        );
+        ServerPlayerEntity player = source.getPlayer();
+        if (player != null && ProjectionZoneStreaming.trackedCount(player) >= 0) {
+            int tracked = ProjectionZoneStreaming.trackedCount(player);
+            source.sendFeedback(
+                () -> Text.literal("  Your client holds ")
+                    .append(Text.literal(String.valueOf(tracked)).formatted(Formatting.AQUA))
+                    .append(" zone(s)."),
+                false
+            );
+        }
+        return radius;
+    }
+    
+    /**
+     * Executes /pz radius <blocks>
+     */
+    private static int executeRadiusSet(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        int radius = IntegerArgumentType.getInteger(context, "blocks");
+        ProjectionZoneManager.get(source.getWorld()).setStreamRadius(radius);
+        
+        // Stream zones in or out for everyone in this dimension right away
+        ProjectionZoneStreaming.refresh(source.getWorld());
+        
+        source.sendFeedback(
+            () -> Text.literal("Zone stream radius set to ")
+                .append(Text.literal(radius == 0 ? "unlimited" : radius + " blocks").formatted(Formatting.GREEN))
+                .append(" in this dimension."),
+            true
+        );
+        return 1;
+    }
 }
@@ -5,36 +5,38 @@ import dev.fouriis.karmagate.entity.ModBlockEntities;
 import dev.fouriis.karmagate.entity.karmagate.KarmaGateBlockEntity;
 import dev.fouriis.karmagate.entity.karmagate.KarmaGateController;
 import dev.fouriis.karmagate.entity.karmagate.KarmaGateController.KarmaLevel;
+import dev.fouriis.karmagate.network.BlockEntitySync;
+import dev.fouriis.karmagate.network.SyncSchema;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.block.BlockState;
 import net.minecraft.nbt.NbtCompound;
-import net.minecraft.network.listener.ClientPlayPacketListener;
-import net.minecraft.network.packet.Packet;
-import net.minecraft.network.packet.s2c.play.BlockEntityUpdateS2CPacket;
 import net.minecraft.registry.RegistryWrapper;
-import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 
 public class HologramProjectorBlockEntity extends BlockEntity {
-    // server-authoritative selected symbol (0..5 plus D mapped to 6)
+    /* ================= server-authoritative (synced only when changed) ================= */
+    // selected symbol (0..5 plus D mapped to 6)
     // 0..5 => gateSymbol0.png..gateSymbol5.png, 6 => gateSymbolD.png
     private int symbolIdx = 0;
     // derived key used by the client renderer (computed from karma/symbol)
     private String symbolKey = keyFor(KarmaLevel.LEVEL_0);
 
-    private float glow = 1f;       // 0..1
-    private float flicker = 0f;    // 0..1
-    private float staticLevel = 0f;// 0..1
-    private float targetLevel = 0.5f;// 0..1
-
     // Authoritative enum (no raw float/int for karma kept as state)
     private KarmaLevel karmaLevel = KarmaLevel.LEVEL_0;
 
+    private float targetLevel = 0.5f;// 0..1, the static level clients ease towards
+    private boolean lowPower = false;
     // base RGB tint for the hologram (default bluish 0x59CCFF), alpha driven by renderer logic
     private int colorRGB = 0x59CCFF;
     // red for low power mode
     private int lowPowerRGB = 0xFF0000;
-    private boolean lowPower = false;
+
+    /* ================= client-only visuals (never synced or saved) ================= */
+    private float glow = 1f;       // 0..1
+    private float flicker = 0f;    // 0..1
+    private float staticLevel = 0f;// 0..1, eased towards targetLevel in tick()
+
+    /* ================= server-only ================= */
     private KarmaGateController controller = null;
     private BlockPos pendingControllerPos = null; // stored controller position to resolve after world load
 
@@ -78,11 +80,9 @@ public class HologramProjectorBlockEntity extends BlockEntity {
     public float getFlicker() { return flicker; }
 
     public float getStaticLevel() { return staticLevel; }
+    /** Client-only interpolation value; never synced (use {@link #setTargetLevel} to drive it). */
     public void setStaticLevel(float v) {
         this.staticLevel = Math.max(0f, Math.min(1f, v));
-        // Intentionally NOT syncing: staticLevel is now a client-only visual interpolation value.
-        // Avoid markDirtySync here to prevent server from sending stale 0 back and snapping animation.
-        markDirtySync();
     }
 
     /** Authoritative enum accessor. */
@@ -196,18 +196,35 @@ public class HologramProjectorBlockEntity extends BlockEntity {
         }
     }
 
+    /** Server-side authoritative; only a real change is saved and synced. */
     public void setTargetLevel(float v) {
-        this.targetLevel = Math.max(0f, Math.min(1f, v));
-        //System.out.println("HologramProjectorBlockEntity: setTargetLevel " + this.targetLevel);
-        markDirtySync();
+        if (world != null && world.isClient) return;
+        float val = Math.max(0f, Math.min(1f, v));
+        if (val != this.targetLevel) {
+            this.targetLevel = val;
+            markDirtySync();
+        }
+    }
+
+    public float getTargetLevel() { return targetLevel; }
+    public boolean isLowPower() { return lowPower; }
+
+    /** Client: projector state from an airlock snapshot. */
+    public void applySnapshot(float level, boolean lowPower, KarmaLevel karma) {
+        if (world == null || !world.isClient) return;
+        this.targetLevel = Math.max(0f, Math.min(1f, level));
+        this.lowPower = lowPower;
+        if (karma != this.karmaLevel) {
+            this.karmaLevel = karma;
+            setSymbolFromKarma(karma);
+        }
     }
 
     public void setLowpower(boolean lowPower) {
         // Do NOT overwrite base color; we blend between existing base (colorRGB) and lowPowerRGB in getDisplayColor.
-        boolean changed = (this.lowPower != lowPower);
-        this.lowPower = lowPower;
-        if (changed) {
-            System.out.println("HologramProjectorBlockEntity: setLowpower " + this.lowPower);
+        if (world != null && world.isClient) return;
+        if (this.lowPower != lowPower) {
+            this.lowPower = lowPower;
             markDirtySync(); // sync the flag so clients update pulsing
         }
     }
@@ -215,10 +232,20 @@ public class HologramProjectorBlockEntity extends BlockEntity {
     /* ================= sync & NBT ================= */
     private void markDirtySync() {
         markDirty();
-        if (world instanceof ServerWorld sw) sw.getChunkManager().markForUpdate(pos);
-        if (world != null) world.updateListeners(pos, getCachedState(), getCachedState(), 3);
+        BlockEntitySync.queue(this);
     }
 
+    /** Fields 0..2 (karma, target level, low power) are also carried by the airlock snapshot. */
+    public static final SyncSchema<HologramProjectorBlockEntity> SYNC = SyncSchema.<HologramProjectorBlockEntity>of()
+        .varInt(be -> be.karmaLevel.ordinal(), (be, v) -> {
+            be.karmaLevel = KarmaLevel.values()[Math.max(0, Math.min(KarmaLevel.values().length - 1, v))];
+            be.setSymbolFromKarma(be.karmaLevel);
+        })
+        .unit8(be -> be.targetLevel, (be, v) -> be.targetLevel = v)
+        .flag(be -> be.lowPower, (be, v) -> be.lowPower = v)
+        .varInt(be -> be.colorRGB, (be, v) -> be.colorRGB = v & 0xFFFFFF)
+        .varInt(be -> be.lowPowerRGB, (be, v) -> be.lowPowerRGB = v & 0xFFFFFF);
+
     @Override
     public void writeNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup lookup) {
         super.writeNbt(nbt, lookup);
@@ -292,7 +319,6 @@ public class HologramProjectorBlockEntity extends BlockEntity {
     }
 
     @Override public NbtCompound toInitialChunkDataNbt(RegistryWrapper.WrapperLookup lookup) { return createNbt(lookup); }
-    @Override public Packet<ClientPlayPacketListener> toUpdatePacket() { return BlockEntityUpdateS2CPacket.create(this); }
 
     public void bindController(KarmaGateController karmaGateController) {
         this.controller = karmaGateController;
@@ -0,0 +1,177 @@
+package dev.fouriis.karmagate.entity.karmagate;
+
+import java.util.UUID;
+
+import it.unimi.dsi.fastutil.objects.Object2ByteOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.entity.Entity;
+import net.minecraft.nbt.NbtCompound;
+
+/**
+ * Who is where in one airlock, and who made it through.
+ *
+ * Fed from the per-tick occupancy sample: each tracked entity keeps its current zone and
+ * the last side it stood on. Zone changes emit enter/exit events; reaching the side
+ * opposite the one it came from emits a crossing. Per-zone head counts are maintained
+ * incrementally, so "everyone has crossed" is an O(1) check instead of a geometry test.
+ */
+final class AirlockCrossingTracker {
+    enum EventType { ENTER, EXIT, CROSSED }
+
+    /** Zone transitions; {@code from}/{@code to} are {@link GateOccupancy} zone ids. */
+    @FunctionalInterface
+    interface Listener {
+        void onEvent(EventType type, UUID entity, byte from, byte to, long tick);
+    }
+
+    private final Object2ByteOpenHashMap<UUID> zoneOf = new Object2ByteOpenHashMap<>();
+    private final Object2ByteOpenHashMap<UUID> lastSide = new Object2ByteOpenHashMap<>();
+    private final Object2LongOpenHashMap<UUID> leftSideAt = new Object2LongOpenHashMap<>();
+    private final Object2LongOpenHashMap<UUID> lastSeen = new Object2LongOpenHashMap<>();
+    private final int[] headCount = new int[4];
+    private Listener listener = (type, entity, from, to, tick) -> {};
+
+    /* ===================== Current cycle (persisted, so a reload mid-cycle keeps counting) ===================== */
+    private long cycleStart = -1L;
+    private int crossedThisCycle = 0;
+
+    /* ===================== Counters (persisted) ===================== */
+    private long crossings1to2 = 0, crossings2to1 = 0;
+    private long crossTicksTotal = 0;   // left own side -> reached the other side
+    private long cycles = 0;
+    private long cycleTicksTotal = 0, cycleTicksMax = 0;
+    private long firstCrossTicksTotal = 0; // cycle start -> first crossing
+
+    AirlockCrossingTracker() {
+        zoneOf.defaultReturnValue(GateOccupancy.ZONE_NONE);
+        lastSide.defaultReturnValue(GateOccupancy.ZONE_NONE);
+    }
+
+    void setListener(Listener listener) { this.listener = listener; }
+
+    /* ===================== Update ===================== */
+
+    void update(GateOccupancy occupancy, long tick) {
+        var entities = occupancy.entities();
+        for (int i = 0; i < entities.size(); i++) {
+            Entity e = entities.get(i);
+            UUID id = e.getUuid();
+            byte zone = occupancy.zoneAt(i);
+            lastSeen.put(id, tick);
+            move(id, zoneOf.getByte(id), zone, tick);
+        }
+
+        // Anyone not in this tick's sample has left the airlock area
+        ObjectIterator<Object2LongOpenHashMap.Entry<UUID>> it = lastSeen.object2LongEntrySet().fastIterator();
+        while (it.hasNext()) {
+            Object2LongOpenHashMap.Entry<UUID> en = it.next();
+            if (en.getLongValue() == tick) continue;
+            UUID id = en.getKey();
+            it.remove();
+            move(id, zoneOf.getByte(id), GateOccupancy.ZONE_NONE, tick);
+            zoneOf.removeByte(id);
+            lastSide.removeByte(id);
+            leftSideAt.removeLong(id);
+        }
+    }
+
+    private void move(UUID id, byte from, byte to, long tick) {
+        if (from == to) return;
+        if (from != GateOccupancy.ZONE_NONE) headCount[from]--;
+        if (to != GateOccupancy.ZONE_NONE) headCount[to]++;
+        if (from != GateOccupancy.ZONE_NONE) listener.onEvent(EventType.EXIT, id, from, to, tick);
+        if (to != GateOccupancy.ZONE_NONE) listener.onEvent(EventType.ENTER, id, from, to, tick);
+        zoneOf.put(id, to);
+
+        byte side = lastSide.getByte(id);
+        if (isSide(from) && !isSide(to)) leftSideAt.put(id, tick);
+
+        if (isSide(to)) {
+            if (isSide(side) && side != to) {
+                long took = tick - leftSideAt.getOrDefault(id, tick);
+                crossTicksTotal += took;
+                if (to == GateOccupancy.ZONE_SIDE2) crossings1to2++; else crossings2to1++;
+                if (cycleStart >= 0 && crossedThisCycle++ == 0) {
+                    firstCrossTicksTotal += tick - cycleStart;
+                }
+                listener.onEvent(EventType.CROSSED, id, side, to, tick);
+            }
+            lastSide.put(id, to);
+        }
+    }
+
+    private static boolean isSide(byte zone) {
+        return zone == GateOccupancy.ZONE_SIDE1 || zone == GateOccupancy.ZONE_SIDE2;
+    }
+
+    /* ===================== Cycle hooks ===================== */
+
+    void beginCycle(long tick) {
+        cycleStart = tick;
+        crossedThisCycle = 0;
+    }
+
+    boolean inCycle() { return cycleStart >= 0; }
+
+    void endCycle(long tick) {
+        if (cycleStart < 0) return;
+        long took = tick - cycleStart;
+        cycles++;
+        cycleTicksTotal += took;
+        cycleTicksMax = Math.max(cycleTicksMax, took);
+        cycleStart = -1L;
+    }
+
+    /** Someone crossed this cycle and nobody is left in the entry side or the middle. */
+    boolean allCrossed(byte entryZone) {
+        return crossedThisCycle > 0 && headCount[entryZone] == 0 && headCount[GateOccupancy.ZONE_CENTER] == 0;
+    }
+
+    int headCount(byte zone) { return headCount[zone]; }
+
+    /* ===================== Stats ===================== */
+
+    long crossings() { return crossings1to2 + crossings2to1; }
+
+    /** Human-readable counters for commands/logs. */
+    String describe() {
+        long total = crossings();
+        return String.format(
+                "crossings=%d (1→2 %d, 2→1 %d), avg cross %.1f t, cycles=%d, avg cycle %.1f t (max %d), avg first crossing %.1f t, now S1=%d C=%d S2=%d",
+                total, crossings1to2, crossings2to1,
+                total == 0 ? 0.0 : crossTicksTotal / (double) total,
+                cycles, cycles == 0 ? 0.0 : cycleTicksTotal / (double) cycles, cycleTicksMax,
+                cycles == 0 ? 0.0 : firstCrossTicksTotal / (double) cycles,
+                headCount[GateOccupancy.ZONE_SIDE1], headCount[GateOccupancy.ZONE_CENTER], headCount[GateOccupancy.ZONE_SIDE2]);
+    }
+
+    /* ===================== NBT ===================== */
+
+    void writeNbt(NbtCompound root, String key) {
+        NbtCompound nbt = new NbtCompound();
+        nbt.putLong("c12", crossings1to2);
+        nbt.putLong("c21", crossings2to1);
+        nbt.putLong("crossTicks", crossTicksTotal);
+        nbt.putLong("cycles", cycles);
+        nbt.putLong("cycleTicks", cycleTicksTotal);
+        nbt.putLong("cycleMax", cycleTicksMax);
+        nbt.putLong("firstCross", firstCrossTicksTotal);
+        nbt.putLong("cycleStart", cycleStart);
+        nbt.putInt("crossedNow", crossedThisCycle);
+        root.put(key, nbt);
+    }
+
+    void readNbt(NbtCompound root, String key) {
+        NbtCompound nbt = root.getCompound(key);
+        crossings1to2 = nbt.getLong("c12");
+        crossings2to1 = nbt.getLong("c21");
+        crossTicksTotal = nbt.getLong("crossTicks");
+        cycles = nbt.getLong("cycles");
+        cycleTicksTotal = nbt.getLong("cycleTicks");
+        cycleTicksMax = nbt.getLong("cycleMax");
+        firstCrossTicksTotal = nbt.getLong("firstCross");
+        cycleStart = nbt.contains("cycleStart") ? nbt.getLong("cycleStart") : -1L;
+        crossedThisCycle = nbt.getInt("crossedNow");
+    }
+}
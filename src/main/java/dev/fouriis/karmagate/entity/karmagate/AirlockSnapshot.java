@@ -0,0 +1,233 @@
+package dev.fouriis.karmagate.entity.karmagate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import dev.fouriis.karmagate.entity.hologram.HologramProjectorBlockEntity;
+import dev.fouriis.karmagate.network.AirlockSnapshotPayload;
+import dev.fouriis.karmagate.network.BlockEntitySync;
+import dev.fouriis.karmagate.network.ModNetworking;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Server side of {@link AirlockSnapshotPayload}: one airlock's visual state, collected at the
+ * end of the controller tick and sent as a single message when it differs from the last one.
+ *
+ * Changes the controller makes to its gates skip the server-side animation trigger; the
+ * client plays them when it applies the snapshot.
+ * Values are only read back from the world when a bound block entity queued a sync (see
+ * {@link #touch}) or the playback state changed, so an idle airlock costs nothing here.
+ * Every field carried here is acknowledged to {@link BlockEntitySync} for the players that
+ * hold the snapshot, so the per-block delta channel only sends them what the snapshot does
+ * not cover (colors, lamp programs, coil heat ramps, ...). Players tracking a bound block
+ * entity but not the controller still get those fields as deltas.
+ *
+ * While clients play a cycle back ({@link CycleTimelineBroadcast}) the groups the timeline
+ * drives are frozen at their last sent values, so phase changes cost no snapshot; the first
+ * flush after the cycle carries the real state again.
+ */
+public final class AirlockSnapshot {
+    // Layout ids are never reused, so a client cannot mistake a new layout for a cached one
+    private static final AtomicInteger NEXT_LAYOUT_ID = new AtomicInteger();
+    // Bound positions -> their airlock, per world (server thread only)
+    private static final Map<ServerWorld, Long2ObjectOpenHashMap<AirlockSnapshot>> OWNERS = new WeakHashMap<>();
+
+    // Schema fields of each group carried by the snapshot (see the block entities' SYNC schemas)
+    private static final int ACK_DEFAULT = 0b1;   // lit / target flow / enabled / open
+    private static final int ACK_HOLO    = 0b111; // karma, target level, low power
+    private static final int CATCH_UP_INTERVAL = 20;
+
+    /** Server: a block entity at {@code pos} queued a sync; its airlock re-reads values on the next flush. */
+    public static void touch(ServerWorld world, BlockPos pos) {
+        Long2ObjectOpenHashMap<AirlockSnapshot> owners = OWNERS.get(world);
+        if (owners == null) return;
+        AirlockSnapshot snapshot = owners.get(pos.asLong());
+        if (snapshot != null) snapshot.dirty = true;
+    }
+
+    private final BlockPos controller;
+    private final int[] counts = new int[AirlockSnapshotPayload.GROUPS];
+    private final int[] splits = new int[AirlockSnapshotPayload.GROUPS];
+    private long[] layout = new long[0];
+    private int layoutId = 0;
+    private boolean layoutValid = false;
+
+    private byte[] sent = null;
+    private boolean dirty = true;
+    private boolean timeline = false;
+    private final Set<UUID> knowsLayout = new ObjectOpenHashSet<>();
+
+    AirlockSnapshot(BlockPos controller) {
+        this.controller = controller.toImmutable();
+    }
+
+    /** Bindings changed; the next flush sends positions again to everyone. */
+    void invalidateLayout() {
+        layoutValid = false;
+    }
+
+    /**
+     * Rebuild the position table; groups in payload order.
+     * Gates: the controller, then whichever outer gates are bound.
+     */
+    void rebuildLayout(ServerWorld world, List<GateLightGroup.LightRef> lights1, List<GateLightGroup.LightRef> lights2,
+                       List<BlockPos> water1, List<BlockPos> water2, List<BlockPos> heat1, List<BlockPos> heat2,
+                       List<BlockPos> steam1, List<BlockPos> steam2, List<BlockPos> holo1, List<BlockPos> holo2,
+                       BlockPos gate1, BlockPos gate2) {
+        LongArrayList out = new LongArrayList();
+        for (GateLightGroup.LightRef r : lights1) out.add(r.pos.asLong());
+        for (GateLightGroup.LightRef r : lights2) out.add(r.pos.asLong());
+        counts[AirlockSnapshotPayload.LIGHTS] = lights1.size() + lights2.size();
+        splits[AirlockSnapshotPayload.LIGHTS] = lights1.size();
+        addAll(out, AirlockSnapshotPayload.WATER, water1, water2);
+        addAll(out, AirlockSnapshotPayload.HEAT, heat1, heat2);
+        addAll(out, AirlockSnapshotPayload.STEAM, steam1, steam2);
+        addAll(out, AirlockSnapshotPayload.HOLO, holo1, holo2);
+        out.add(controller.asLong());
+        if (gate1 != null) out.add(gate1.asLong());
+        if (gate2 != null) out.add(gate2.asLong());
+        splits[AirlockSnapshotPayload.GATES] = 1 + (gate1 != null ? 1 : 0);
+        counts[AirlockSnapshotPayload.GATES] = splits[AirlockSnapshotPayload.GATES] + (gate2 != null ? 1 : 0);
+
+        long[] next = out.toLongArray();
+        if (!Arrays.equals(next, layout)) {
+            Long2ObjectOpenHashMap<AirlockSnapshot> owners = OWNERS.computeIfAbsent(world, w -> new Long2ObjectOpenHashMap<>());
+            for (long p : layout) owners.remove(p, this);
+            for (long p : next) owners.put(p, this);
+            layout = next;
+            layoutId = NEXT_LAYOUT_ID.incrementAndGet();
+            knowsLayout.clear();
+            sent = null;
+        }
+        layoutValid = true;
+    }
+
+    boolean needsLayout() { return !layoutValid; }
+
+    /** Clients are playing this airlock's cycle; freeze the groups the timeline drives. */
+    void setTimeline(boolean playing) {
+        if (timeline != playing) dirty = true;
+        timeline = playing;
+    }
+
+    private void addAll(LongArrayList out, int group, List<BlockPos> side1, List<BlockPos> side2) {
+        for (BlockPos p : side1) out.add(p.asLong());
+        for (BlockPos p : side2) out.add(p.asLong());
+        counts[group] = side1.size() + side2.size();
+        splits[group] = side1.size();
+    }
+
+    /**
+     * If a bound BE changed, read current values and send them if they differ from the last
+     * flush. Every {@link #CATCH_UP_INTERVAL} ticks players that started tracking the airlock
+     * get the layout even without a change (cycle playback needs the positions).
+     */
+    void flush(ServerWorld world) {
+        boolean changed = false;
+        boolean captured = false;
+        byte[] values = sent;
+        if (dirty || sent == null) {
+            values = capture(world);
+            changed = !Arrays.equals(values, sent);
+            dirty = false;
+            captured = true;
+        }
+        if (changed || world.getTime() % CATCH_UP_INTERVAL == 0) {
+            sent = values;
+            send(world, changed);
+        }
+        // Everyone in knowsLayout holds the last sent values
+        if (captured) acknowledge(world);
+    }
+
+    private void send(ServerWorld world, boolean changed) {
+        AirlockSnapshotPayload withLayout = null;
+        AirlockSnapshotPayload valuesOnly = null;
+        Set<UUID> tracking = new ObjectOpenHashSet<>();
+        for (ServerPlayerEntity player : PlayerLookup.tracking(world, controller)) {
+            UUID id = player.getUuid();
+            tracking.add(id);
+            if (knowsLayout.contains(id)) {
+                if (!changed) continue;
+                if (valuesOnly == null) valuesOnly = new AirlockSnapshotPayload(controller, layoutId, timeline, counts.clone(), new long[0], new int[0], sent);
+                ModNetworking.send(player, valuesOnly);
+            } else {
+                if (withLayout == null) withLayout = new AirlockSnapshotPayload(controller, layoutId, timeline, counts.clone(), layout, splits.clone(), sent);
+                ModNetworking.send(player, withLayout);
+            }
+        }
+        // Players that stopped tracking are forgotten; the client keeps its cache keyed by layoutId
+        knowsLayout.retainAll(tracking);
+        knowsLayout.addAll(tracking);
+    }
+
+    /** Mark the carried fields as sent to the snapshot's holders only. */
+    private void acknowledge(ServerWorld world) {
+        int idx = 0;
+        for (int g = 0; g < AirlockSnapshotPayload.GROUPS; g++) {
+            // Coils sync their own heat ramp; the snapshot only keeps their positions
+            if (g == AirlockSnapshotPayload.HEAT) { idx += counts[g]; continue; }
+            int mask = g == AirlockSnapshotPayload.HOLO ? ACK_HOLO : ACK_DEFAULT;
+            for (int i = 0; i < counts[g]; i++, idx++) {
+                BlockEntity be = world.getBlockEntity(BlockPos.fromLong(layout[idx]));
+                if (be != null) BlockEntitySync.acknowledge(be, mask, knowsLayout);
+            }
+        }
+    }
+
+    private byte[] capture(ServerWorld world) {
+        byte[] v = new byte[AirlockSnapshotPayload.valueBytes(counts)];
+        // Without a previous vector (new layout) the real values go out once
+        boolean frozen = timeline && sent != null;
+        int idx = 0;
+        for (int g = 0; g < AirlockSnapshotPayload.GROUPS; g++) {
+            int base = AirlockSnapshotPayload.offset(counts, g);
+            for (int i = 0; i < counts[g]; i++, idx++) {
+                BlockEntity be = world.getBlockEntity(BlockPos.fromLong(layout[idx]));
+                switch (g) {
+                    case AirlockSnapshotPayload.LIGHTS ->
+                        AirlockSnapshotPayload.setBit(v, base, i, be instanceof GateLightBlockEntity l && l.isLit());
+                    case AirlockSnapshotPayload.WATER -> {
+                        if (frozen) v[base + i] = sent[base + i];
+                        else v[base + i] = be instanceof WaterStreamBlockEntity ws ? AirlockSnapshotPayload.quantize(ws.getTargetFlow()) : 0;
+                    }
+                    case AirlockSnapshotPayload.STEAM ->
+                        AirlockSnapshotPayload.setBit(v, base, i, frozen ? bitOf(sent, base, i) : be instanceof SteamEmitterBlockEntity s && s.isEnabled());
+                    case AirlockSnapshotPayload.HOLO -> {
+                        if (be instanceof HologramProjectorBlockEntity holo) {
+                            // Karma is not part of the timeline and always goes out live
+                            int karma = holo.getKarmaLevelEnum().ordinal() << 1;
+                            if (frozen) {
+                                v[base + i * 2] = sent[base + i * 2];
+                                v[base + i * 2 + 1] = (byte) ((sent[base + i * 2 + 1] & 1) | karma);
+                            } else {
+                                v[base + i * 2] = AirlockSnapshotPayload.quantize(holo.getTargetLevel());
+                                v[base + i * 2 + 1] = (byte) ((holo.isLowPower() ? 1 : 0) | karma);
+                            }
+                        }
+                    }
+                    case AirlockSnapshotPayload.GATES ->
+                        AirlockSnapshotPayload.setBit(v, base, i, frozen ? bitOf(sent, base, i) : be instanceof KarmaGateBlockEntity gate && gate.isOpen());
+                    default -> { }
+                }
+            }
+        }
+        return v;
+    }
+
+    private static boolean bitOf(byte[] values, int offset, int i) {
+        return (values[offset + (i >> 3)] & (1 << (i & 7))) != 0;
+    }
+}
@@ -0,0 +1,253 @@
+package dev.fouriis.karmagate.entity.karmagate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Heat simulation for every coil bound to one airlock controller.
+ *
+ * State is kept as struct-of-arrays (one float[] per quantity, indexed by coil) and
+ * stepped in a few flat loops: sources/sinks, conduction over the adjacency list, then
+ * integrate + clamp. The loops are branch-free over primitive arrays so HotSpot's
+ * superword pass can vectorize them; the incubating Vector API is deliberately not
+ * required. Coil block entities only receive the result when it changed; clients
+ * extrapolate heat from a ramp the coil re-anchors on input changes and drift.
+ *
+ * Bound networks are listed per world by coil position, so a coil reloaded from its chunk
+ * rejoins the network of a still-loaded controller instead of simulating itself as well.
+ */
+final class CoilThermalNetwork {
+    /* ===================== Rates (per tick) ===================== */
+    static final float HEAT_RATE_ON      = 0.015f;
+    static final float PASSIVE_COOL_RATE = 0.0025f;
+    static final float CONDUCTION        = 0.02f;  // share of the difference exchanged per link
+    static final float WATER_DRAIN_RATE  = 0.03f;  // heat/tick lost at full contact and full heat
+    static final float SYNC_EPS          = 0.0001f;
+    private static final float SETTLE_EPS = 0.00001f;
+
+    /* ===================== Struct-of-arrays ===================== */
+    private BlockPos[] positions = new BlockPos[0];
+    private float[] heat    = new float[0];
+    private float[] enabled = new float[0]; // 1 = heater on, 0 = off
+    private float[] pending = new float[0]; // external contributions for the next step
+    private float[] water   = new float[0]; // water contact 0..1
+    private float[] delta   = new float[0]; // scratch
+    private float[] synced  = new float[0]; // last value pushed to the BE
+    private boolean[] changed = new boolean[0]; // inputs changed since the last push (re-anchor client ramp)
+
+    // Adjacency (face-touching coils), one entry per undirected link
+    private int[] linkA = new int[0];
+    private int[] linkB = new int[0];
+
+    private final Object2IntOpenHashMap<BlockPos> indexOf = new Object2IntOpenHashMap<>();
+    private int side1Count = 0; // indices [0, side1Count) are SIDE1, the rest SIDE2
+    private boolean bound = false;
+    private boolean awake = false;
+
+    // Coil position -> bound network, per world (server)
+    private static final Map<World, Long2ObjectOpenHashMap<CoilThermalNetwork>> BY_COIL = new WeakHashMap<>();
+
+    private final BlockEntity owner; // controller block entity; removed when its chunk unloads
+    private World boundWorld = null;
+
+    CoilThermalNetwork(BlockEntity owner) {
+        this.owner = owner;
+        indexOf.defaultReturnValue(-1);
+    }
+
+    /** Bound, and its controller is still loaded (so it keeps stepping). */
+    boolean isLive() { return bound && !owner.isRemoved(); }
+
+    /** Attach a coil to the live network that lists it, if any; see {@link HeatCoilBlockEntity#rejoinNetwork}. */
+    static void reattach(World world, HeatCoilBlockEntity coil) {
+        Long2ObjectOpenHashMap<CoilThermalNetwork> byCoil = BY_COIL.get(world);
+        if (byCoil == null) return;
+        long key = coil.getPos().asLong();
+        CoilThermalNetwork net = byCoil.get(key);
+        if (net == null) return;
+        if (net.isLive()) net.attach(coil);
+        else byCoil.remove(key);
+    }
+
+    private void unlist() {
+        Long2ObjectOpenHashMap<CoilThermalNetwork> byCoil = boundWorld == null ? null : BY_COIL.get(boundWorld);
+        if (byCoil != null) {
+            for (BlockPos p : positions) byCoil.remove(p.asLong(), this);
+        }
+        boundWorld = null;
+    }
+
+    /* ===================== Binding ===================== */
+
+    /** (Re)build the buffers from the bound coil lists, seeding heat from the block entities. */
+    void bind(World world, List<BlockPos> side1, List<BlockPos> side2) {
+        unlist();
+        List<BlockPos> all = new ArrayList<>(side1.size() + side2.size());
+        all.addAll(side1);
+        all.addAll(side2);
+        int n = all.size();
+
+        positions = new BlockPos[n];
+        heat    = new float[n];
+        enabled = new float[n];
+        pending = new float[n];
+        water   = new float[n];
+        delta   = new float[n];
+        synced  = new float[n];
+        changed = new boolean[n];
+        indexOf.clear();
+        side1Count = side1.size();
+
+        for (int i = 0; i < n; i++) {
+            BlockPos p = all.get(i).toImmutable();
+            positions[i] = p;
+            indexOf.put(p, i);
+            if (world != null && world.getBlockEntity(p) instanceof HeatCoilBlockEntity coil) {
+                heat[i] = coil.getHeat();
+                enabled[i] = coil.isEnabled() ? 1f : 0f;
+                coil.attachNetwork(this, i);
+            }
+            synced[i] = heat[i];
+        }
+
+        IntArrayList a = new IntArrayList();
+        IntArrayList b = new IntArrayList();
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (positions[i].getManhattanDistance(positions[j]) == 1) {
+                    a.add(i);
+                    b.add(j);
+                }
+            }
+        }
+        linkA = a.toIntArray();
+        linkB = b.toIntArray();
+
+        if (world != null && !world.isClient) {
+            Long2ObjectOpenHashMap<CoilThermalNetwork> byCoil = BY_COIL.computeIfAbsent(world, w -> new Long2ObjectOpenHashMap<>());
+            for (BlockPos p : positions) byCoil.put(p.asLong(), this);
+            boundWorld = world;
+        }
+
+        bound = true;
+        awake = true;
+    }
+
+    boolean isBound() { return bound; }
+
+    /** Forget the binding; the controller rebinds lazily from its coil lists. */
+    void invalidate() {
+        unlist();
+        bound = false;
+    }
+
+    int size() { return positions.length; }
+
+    /** Re-attach a (possibly reloaded) coil BE to its slot. */
+    void attach(HeatCoilBlockEntity coil) {
+        int i = indexOf.getInt(coil.getPos());
+        if (i >= 0) coil.attachNetwork(this, i);
+    }
+
+    /* ===================== Inputs ===================== */
+
+    void setEnabled(int i, boolean on) {
+        float v = on ? 1f : 0f;
+        if (enabled[i] != v) {
+            enabled[i] = v;
+            changed[i] = true;
+            awake = true;
+        }
+    }
+
+    void addHeat(int i, float amount) {
+        pending[i] += amount;
+        awake = true;
+    }
+
+    void setWaterContact(int i, float contact) {
+        float c = Math.max(0f, Math.min(1f, contact));
+        if (water[i] != c) {
+            // Only water starting/stopping re-anchors; a ramping flow is left to drift correction
+            if ((water[i] > 0f) != (c > 0f)) changed[i] = true;
+            water[i] = c;
+            awake = true;
+        }
+    }
+
+    float getHeat(int i) { return heat[i]; }
+
+    float getWaterContact(int i) { return water[i]; }
+
+    BlockPos getPos(int i) { return positions[i]; }
+
+    int indexOf(BlockPos pos) { return indexOf.getInt(pos); }
+
+    boolean isSide1(int i) { return i < side1Count; }
+
+    void wake() { awake = true; }
+
+    /* ===================== Step ===================== */
+
+    /** One batched step for the whole airlock; no-op while everything is settled. */
+    void step(World world) {
+        if (!awake) return;
+        final int n = heat.length;
+        final float[] h = heat, e = enabled, p = pending, w = water, d = delta;
+
+        // 1) sources & sinks (branch-free; cooling never takes a coil below zero)
+        for (int i = 0; i < n; i++) {
+            float cool = (1f - e[i]) * Math.min(h[i], PASSIVE_COOL_RATE);
+            d[i] = p[i] + e[i] * HEAT_RATE_ON - cool - w[i] * WATER_DRAIN_RATE * h[i];
+            p[i] = 0f;
+        }
+
+        // 2) conduction between adjacent coils
+        final int[] la = linkA, lb = linkB;
+        for (int k = 0; k < la.length; k++) {
+            int i = la[k], j = lb[k];
+            float f = (h[j] - h[i]) * CONDUCTION;
+            d[i] += f;
+            d[j] -= f;
+        }
+
+        // 3) integrate + clamp, tracking the largest change to know when we can sleep;
+        //    d[] keeps the applied change (the rate clients extrapolate with)
+        float maxChange = 0f;
+        for (int i = 0; i < n; i++) {
+            float next = Math.max(0f, Math.min(1f, h[i] + d[i]));
+            d[i] = next - h[i];
+            maxChange = Math.max(maxChange, Math.abs(d[i]));
+            h[i] = next;
+        }
+
+        // 4) push changed values to the coil BEs (everything left over when going to sleep);
+        //    a settle or an input change re-anchors the coil's client ramp
+        boolean settled = maxChange < SETTLE_EPS;
+        float pushEps = settled ? 0f : SYNC_EPS;
+        if (world != null) {
+            for (int i = 0; i < n; i++) {
+                boolean anchor = settled || changed[i];
+                if (!anchor && Math.abs(h[i] - synced[i]) <= pushEps) continue;
+                BlockEntity be = world.getBlockEntity(positions[i]);
+                if (be instanceof HeatCoilBlockEntity coil) {
+                    coil.attachNetwork(this, i);
+                    coil.applyNetworkHeat(h[i], settled ? 0f : d[i], anchor);
+                }
+                synced[i] = h[i];
+                changed[i] = false;
+            }
+        }
+
+        if (settled) awake = false;
+    }
+}
@@ -0,0 +1,232 @@
+package dev.fouriis.karmagate.entity.karmagate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import dev.fouriis.karmagate.block.karmagate.HeatCoilBlock;
+import dev.fouriis.karmagate.network.CoilSteamPayload;
+import dev.fouriis.karmagate.network.ModNetworking;
+import it.unimi.dsi.fastutil.bytes.ByteArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Server-side water-on-coil model for one airlock.
+ *
+ * At bind time every bound water stream is traced straight down (same rule as the
+ * waterfall renderer: stop at fluid or an opaque full cube) and each heat coil in its
+ * column becomes a contact pair. Per tick the stream flows are ramped exactly like the
+ * client visual, coil contact is the strongest flow hitting it, and the resulting steam
+ * intensity (heat x contact) is broadcast once per airlock when it changes.
+ *
+ * The server remembers which players hold this airlock's non-zero steam: a player who
+ * starts tracking mid-contact gets the full active state, one who stops tracking gets
+ * zeros, so no client is left with endless steam.
+ */
+final class CoilWaterContact {
+    private static final int   MAX_BLOCKS_DOWN = 128;   // keep in sync with WaterfallBlockRenderer
+    private static final float FLOW_RAMP       = 0.05f; // keep in sync with WaterStreamBlockEntity.tick
+    private static final float MIN_FLOW        = 0.05f;
+    private static final float MIN_HEAT        = 0.01f;
+    private static final int   RESEND_STEP     = 4;     // quantized change needed before resending
+
+    // Streams (struct-of-arrays)
+    private BlockPos[] streams = new BlockPos[0];
+    private float[] flow   = new float[0];
+    private float[] target = new float[0];
+    private final Object2IntOpenHashMap<BlockPos> streamIndex = new Object2IntOpenHashMap<>();
+
+    // Contact pairs: coil index (into the thermal network) <- stream index
+    private int[] pairCoil   = new int[0];
+    private int[] pairStream = new int[0];
+
+    // Per-coil scratch + last broadcast value (and the coil it belongs to)
+    private float[] contact = new float[0];
+    private int[] sent = new int[0];
+    private long[] coilPos = new long[0];
+
+    // Players holding non-zero steam from this airlock
+    private final Set<UUID> viewers = new HashSet<>();
+    // Coils that were steaming when a rebind dropped them; cleared on the next broadcast
+    private final LongArrayList pendingClears = new LongArrayList();
+
+    private boolean bound = false;
+
+    CoilWaterContact() {
+        streamIndex.defaultReturnValue(-1);
+    }
+
+    boolean isBound() { return bound; }
+
+    void invalidate() { bound = false; }
+
+    /** Trace every stream column once and pair it with the coils it falls onto. */
+    void bind(World world, List<BlockPos> side1, List<BlockPos> side2, CoilThermalNetwork thermal) {
+        List<BlockPos> all = new ArrayList<>(side1.size() + side2.size());
+        all.addAll(side1);
+        all.addAll(side2);
+        int n = all.size();
+
+        streams = new BlockPos[n];
+        flow = new float[n];
+        target = new float[n];
+        streamIndex.clear();
+
+        IntArrayList coils = new IntArrayList();
+        IntArrayList from = new IntArrayList();
+        BlockPos.Mutable p = new BlockPos.Mutable();
+
+        for (int s = 0; s < n; s++) {
+            BlockPos sp = all.get(s).toImmutable();
+            streams[s] = sp;
+            streamIndex.put(sp, s);
+            if (world == null) continue;
+
+            if (world.getBlockEntity(sp) instanceof WaterStreamBlockEntity ws) {
+                target[s] = ws.getTargetFlow();
+                flow[s] = target[s];
+            }
+
+            int bottom = world.getBottomY();
+            for (int i = 1; i <= MAX_BLOCKS_DOWN && sp.getY() - i >= bottom; i++) {
+                p.set(sp.getX(), sp.getY() - i, sp.getZ());
+                BlockState st = world.getBlockState(p);
+                if (st.getBlock() instanceof HeatCoilBlock) {
+                    int c = thermal.indexOf(p);
+                    if (c >= 0) { coils.add(c); from.add(s); }
+                    continue;
+                }
+                if (!world.getFluidState(p).isEmpty() || st.isOpaqueFullCube(world, p)) break;
+            }
+        }
+
+        for (int c = 0; c < sent.length; c++) {
+            if (sent[c] != 0) pendingClears.add(coilPos[c]);
+        }
+
+        pairCoil = coils.toIntArray();
+        pairStream = from.toIntArray();
+        contact = new float[thermal.size()];
+        sent = new int[thermal.size()];
+        coilPos = new long[thermal.size()];
+        for (int c = 0; c < coilPos.length; c++) {
+            coilPos[c] = thermal.getPos(c).asLong();
+        }
+        bound = true;
+    }
+
+    /** Mirror of the controller's setTargetFlow calls. */
+    void setTarget(BlockPos streamPos, float value) {
+        int s = streamIndex.getInt(streamPos);
+        if (s >= 0) target[s] = Math.max(0f, Math.min(1f, value));
+    }
+
+    /** Ramp flows and feed per-coil contact into the thermal network (before it steps). */
+    void applyContact(CoilThermalNetwork thermal) {
+        for (int s = 0; s < flow.length; s++) {
+            float d = target[s] - flow[s];
+            flow[s] += Math.max(-FLOW_RAMP, Math.min(FLOW_RAMP, d));
+        }
+
+        java.util.Arrays.fill(contact, 0f);
+        for (int k = 0; k < pairCoil.length; k++) {
+            float f = flow[pairStream[k]];
+            int c = pairCoil[k];
+            if (f > contact[c]) contact[c] = f;
+        }
+        for (int c = 0; c < contact.length; c++) {
+            thermal.setWaterContact(c, contact[c] > MIN_FLOW ? contact[c] : 0f);
+        }
+    }
+
+    /**
+     * After the thermal step: send changed steam intensities to players tracking the
+     * controller, the full active state to new trackers and zeros to players who left.
+     */
+    void broadcastSteam(World world, CoilThermalNetwork thermal, BlockPos controllerPos) {
+        if (!(world instanceof ServerWorld sw)) return;
+
+        int changed = 0;
+        long[] coils = new long[contact.length + pendingClears.size()];
+        byte[] values = new byte[coils.length];
+        for (int i = 0; i < pendingClears.size(); i++) {
+            coils[changed++] = pendingClears.getLong(i); // value 0
+        }
+
+        boolean active = false;
+        for (int c = 0; c < contact.length; c++) {
+            float heat = thermal.getHeat(c);
+            float inten = (contact[c] > MIN_FLOW && heat > MIN_HEAT) ? heat * contact[c] : 0f;
+            int q = Math.round(Math.max(0f, Math.min(1f, inten)) * 255f);
+            int last = sent[c];
+            if (q != last && (q == 0 || last == 0 || Math.abs(q - last) >= RESEND_STEP)) {
+                sent[c] = q;
+                coils[changed] = coilPos[c];
+                values[changed] = (byte) q;
+                changed++;
+            }
+            if (sent[c] != 0) active = true;
+        }
+        if (changed == 0 && !active && viewers.isEmpty()) return;
+
+        CoilSteamPayload delta = changed > 0
+                ? new CoilSteamPayload(controllerPos, java.util.Arrays.copyOf(coils, changed), java.util.Arrays.copyOf(values, changed))
+                : null;
+        CoilSteamPayload full = null;
+
+        Collection<ServerPlayerEntity> trackers = PlayerLookup.tracking(sw, controllerPos);
+        Set<UUID> stillViewing = new HashSet<>();
+        for (ServerPlayerEntity player : trackers) {
+            UUID id = player.getUuid();
+            if (viewers.remove(id)) {
+                if (delta != null) ModNetworking.send(player, delta);
+            } else if (active) {
+                // New to this airlock while steam is on
+                if (full == null) full = activeState(controllerPos);
+                ModNetworking.send(player, full);
+            }
+            if (active) stillViewing.add(id);
+        }
+
+        // Whoever is left stopped tracking while holding our steam
+        if (!viewers.isEmpty()) {
+            CoilSteamPayload clear = clearState(controllerPos);
+            for (UUID id : viewers) {
+                ServerPlayerEntity player = sw.getServer().getPlayerManager().getPlayer(id);
+                if (player != null) ModNetworking.send(player, clear);
+            }
+        }
+        viewers.clear();
+        viewers.addAll(stillViewing);
+        pendingClears.clear();
+    }
+
+    private CoilSteamPayload activeState(BlockPos controllerPos) {
+        LongArrayList coils = new LongArrayList();
+        ByteArrayList values = new ByteArrayList();
+        for (int c = 0; c < sent.length; c++) {
+            if (sent[c] == 0) continue;
+            coils.add(coilPos[c]);
+            values.add((byte) sent[c]);
+        }
+        return new CoilSteamPayload(controllerPos, coils.toLongArray(), values.toByteArray());
+    }
+
+    /** Zero for every coil this airlock may have steamed. */
+    private CoilSteamPayload clearState(BlockPos controllerPos) {
+        LongArrayList coils = new LongArrayList(coilPos);
+        coils.addAll(pendingClears);
+        return new CoilSteamPayload(controllerPos, coils.toLongArray(), new byte[coils.size()]);
+    }
+}
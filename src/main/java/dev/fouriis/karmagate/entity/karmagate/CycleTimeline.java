@@ -0,0 +1,98 @@
+package dev.fouriis.karmagate.entity.karmagate;
+
+import net.minecraft.util.Identifier;
+
+/**
+ * Client-side playback of one airlock cycle from its definition.
+ *
+ * The server only sends an anchor (phase + the tick it started); from there every phase
+ * change and its effect vector follow deterministically from the cycle table, the same
+ * one the controller runs. A new anchor replaces the old one when the server diverges
+ * from the schedule (early exit once everyone crossed, abort).
+ */
+public final class CycleTimeline {
+
+    /** Receives the visual side of an effect vector. Sides are 1 and 2. */
+    public interface Sink {
+        void water(int side, float flow);
+        void hologram(int side, float level);
+        void lowPower(int side, boolean on);
+        void steam(int side, boolean on);
+        /** {@code which}: 0 = middle (controller) gate, 1/2 = outer gate of that side. */
+        void gate(int which, boolean open);
+    }
+
+    private final GateCycle cycle;
+    private final int entrySide;
+    private KarmaGateController.Mode mode;
+    private long phaseStart;
+    private long phaseEnd;
+
+    private CycleTimeline(GateCycle cycle, int entrySide) {
+        this.cycle = cycle;
+        this.entrySide = entrySide;
+    }
+
+    /**
+     * Start (or catch up with) a cycle whose phase {@code modeOrdinal} began at {@code phaseStart}.
+     * Effects of every phase up to and including it are applied, then the timeline is
+     * advanced to {@code now}. Returns null for an idle anchor or an unknown phase.
+     */
+    public static CycleTimeline anchor(Identifier cycleId, int entrySide, int modeOrdinal, long phaseStart,
+                                       long now, Sink sink) {
+        KarmaGateController.Mode[] modes = KarmaGateController.Mode.values();
+        if (modeOrdinal < 0 || modeOrdinal >= modes.length) return null;
+        KarmaGateController.Mode target = modes[modeOrdinal];
+        if (target == KarmaGateController.Mode.MiddleClosed || target == KarmaGateController.Mode.Broken) return null;
+
+        CycleTimeline t = new CycleTimeline(GateCycles.forPlayback(cycleId), entrySide);
+        // Replay the cumulative state from the first phase; effects are idempotent
+        KarmaGateController.Mode m = t.cycle.first;
+        for (int guard = 0; guard < modes.length; guard++) {
+            apply(t.cycle.enter(m), entrySide, sink);
+            if (m == target) break;
+            m = t.cycle.next(m);
+            if (m == KarmaGateController.Mode.MiddleClosed) return null; // phase not in this cycle
+        }
+        t.mode = target;
+        t.phaseStart = phaseStart;
+        t.phaseEnd = phaseStart + t.cycle.duration(target);
+        return t.tick(now, sink) ? t : null;
+    }
+
+    /** Advance to {@code now}; false once the cycle is over (idle effects applied). */
+    public boolean tick(long now, Sink sink) {
+        while (now >= phaseEnd) {
+            KarmaGateController.Mode next = cycle.next(mode);
+            if (next == KarmaGateController.Mode.MiddleClosed) {
+                // "entry" of the idle vector is side 1
+                apply(cycle.idle, 1, sink);
+                return false;
+            }
+            mode = next;
+            phaseStart = phaseEnd;
+            phaseEnd += cycle.duration(next);
+            apply(cycle.enter(next), entrySide, sink);
+        }
+        return true;
+    }
+
+    public Identifier cycleId() { return cycle.id; }
+    public int entrySide() { return entrySide; }
+    public int modeOrdinal() { return mode.ordinal(); }
+    public long phaseStart() { return phaseStart; }
+
+    private static void apply(GateCycle.Effects fx, int entry, Sink sink) {
+        int opp = entry == 1 ? 2 : 1;
+        if (fx.entryGate != GateCycle.KEEP)  sink.gate(entry, fx.entryGate == 1);
+        if (fx.middleGate != GateCycle.KEEP) sink.gate(0, fx.middleGate == 1);
+        if (!Float.isNaN(fx.waterEntry))     sink.water(entry, fx.waterEntry);
+        if (!Float.isNaN(fx.waterOpposite))  sink.water(opp, fx.waterOpposite);
+        if (fx.steamEntry != GateCycle.KEEP)    sink.steam(entry, fx.steamEntry == 1);
+        if (fx.steamOpposite != GateCycle.KEEP) sink.steam(opp, fx.steamOpposite == 1);
+        if (!Float.isNaN(fx.holoEntry))      sink.hologram(entry, Math.max(0f, Math.min(1f, fx.holoEntry)));
+        if (!Float.isNaN(fx.holoOpposite))   sink.hologram(opp, Math.max(0f, Math.min(1f, fx.holoOpposite)));
+        if (fx.lowPowerEntry != GateCycle.KEEP)    sink.lowPower(entry, fx.lowPowerEntry == 1);
+        if (fx.lowPowerOpposite != GateCycle.KEEP) sink.lowPower(opp, fx.lowPowerOpposite == 1);
+    }
+}
@@ -0,0 +1,84 @@
+package dev.fouriis.karmagate.entity.karmagate;
+
+import java.util.Set;
+import java.util.UUID;
+
+import dev.fouriis.karmagate.network.CycleTimelinePayload;
+import dev.fouriis.karmagate.network.ModNetworking;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Server side of {@link CycleTimelinePayload} for one controller.
+ *
+ * A running cycle is announced once; clients then play it back with {@link CycleTimeline}.
+ * The anchor is only re-sent when the controller leaves the schedule ({@link #diverge}),
+ * when the cycle table changes underneath it, and to players that start tracking mid-cycle.
+ */
+final class CycleTimelineBroadcast {
+    private static final int CATCH_UP_INTERVAL = 20;
+
+    private final BlockPos controller;
+    private CycleTimelinePayload anchor = null;
+    private GateCycle anchoredCycle = null;
+    private boolean stale = false;
+    private final Set<UUID> knows = new ObjectOpenHashSet<>();
+
+    CycleTimelineBroadcast(BlockPos controller) {
+        this.controller = controller.toImmutable();
+    }
+
+    /** The controller left the schedule; announce the current phase again on the next sync. */
+    void diverge() {
+        stale = true;
+    }
+
+    /**
+     * Called once per controller tick after the cycle logic.
+     * {@code mode} is the controller's phase; an idle mode ends playback.
+     */
+    void sync(ServerWorld world, GateCycle c, KarmaGateController.Mode mode, int entrySide, long phaseStart) {
+        boolean running = mode != KarmaGateController.Mode.MiddleClosed && mode != KarmaGateController.Mode.Broken;
+        if (!running) {
+            // Finished on schedule: clients end by themselves. Otherwise tell them to stop.
+            if (anchor != null && stale) {
+                send(world, new CycleTimelinePayload(controller, anchor.cycleId(), anchor.entrySide(),
+                        (byte) KarmaGateController.Mode.MiddleClosed.ordinal(), world.getTime()), true);
+            }
+            anchor = null;
+            anchoredCycle = null;
+            stale = false;
+            knows.clear();
+            return;
+        }
+
+        if (anchor == null || stale || c != anchoredCycle) {
+            anchor = new CycleTimelinePayload(controller, c.id, (byte) entrySide, (byte) mode.ordinal(), phaseStart);
+            anchoredCycle = c;
+            stale = false;
+            knows.clear();
+            send(world, anchor, true);
+        } else if (world.getTime() % CATCH_UP_INTERVAL == 0) {
+            send(world, anchor, false);
+        }
+    }
+
+    /** True while clients are playing this airlock's cycle. */
+    boolean active() {
+        return anchor != null;
+    }
+
+    private void send(ServerWorld world, CycleTimelinePayload payload, boolean everyone) {
+        Set<UUID> tracking = new ObjectOpenHashSet<>();
+        for (ServerPlayerEntity player : PlayerLookup.tracking(world, controller)) {
+            UUID id = player.getUuid();
+            tracking.add(id);
+            if (everyone || !knows.contains(id)) ModNetworking.send(player, payload);
+        }
+        knows.retainAll(tracking);
+        knows.addAll(tracking);
+    }
+}
@@ -0,0 +1,101 @@
+package dev.fouriis.karmagate.entity.karmagate;
+
+import java.util.Arrays;
+import java.util.List;
+
+import net.minecraft.util.Identifier;
+
+/**
+ * One compiled airlock cycle.
+ *
+ * Everything is flattened into arrays indexed by {@link KarmaGateController.Mode#ordinal()}:
+ * the next phase, the phase duration and the effect vector applied when the phase is
+ * entered. The controller only indexes into these; nothing is looked up by name per tick.
+ * Built by {@link GateCycles} from datapack JSON (or the built-in default).
+ */
+final class GateCycle {
+    /** Effect slot value meaning "leave as is". */
+    static final byte KEEP = -1;
+
+    /** Per-tick lamp behaviour while a phase is active. */
+    enum Lights { OFF, BLINK_ALL, CHASE }
+
+    /**
+     * Effect vector, applied once on phase entry. "entry"/"opposite" are relative to the
+     * side that started the cycle. Floats use NaN and flags use {@link #KEEP} for "unchanged".
+     */
+    static final class Effects {
+        static final Effects NONE = new Effects();
+
+        float waterEntry = Float.NaN, waterOpposite = Float.NaN;
+        float holoEntry  = Float.NaN, holoOpposite  = Float.NaN;
+        byte heatEntry     = KEEP, heatOpposite     = KEEP;
+        byte steamEntry    = KEEP, steamOpposite    = KEEP;
+        byte lowPowerEntry = KEEP, lowPowerOpposite = KEEP;
+        byte entryGate  = KEEP; // outer gate on the entry side: 1 = open, 0 = close
+        byte middleGate = KEEP; // controller gate
+
+        Effects water(float entry, float opposite)    { waterEntry = entry; waterOpposite = opposite; return this; }
+        Effects hologram(float entry, float opposite) { holoEntry = entry; holoOpposite = opposite; return this; }
+        Effects heat(int entry, int opposite)         { heatEntry = (byte) entry; heatOpposite = (byte) opposite; return this; }
+        Effects steam(int entry, int opposite)        { steamEntry = (byte) entry; steamOpposite = (byte) opposite; return this; }
+        Effects lowPower(int entry, int opposite)     { lowPowerEntry = (byte) entry; lowPowerOpposite = (byte) opposite; return this; }
+        Effects gates(int entry, int middle)          { entryGate = (byte) entry; middleGate = (byte) middle; return this; }
+    }
+
+    /** One entry of the source phase list, before compilation. */
+    record Phase(KarmaGateController.Mode mode, int duration, Lights lights, Effects effects) {}
+
+    final Identifier id;
+    final int prepareTicks;
+    final KarmaGateController.Mode first;
+    /** Applied once when one side starts preparing. */
+    final Effects preparing;
+    /** Applied when the gate falls back to idle; "entry" = side 1, "opposite" = side 2. */
+    final Effects idle;
+
+    private final KarmaGateController.Mode[] next;
+    private final int[] duration;
+    private final Lights[] lights;
+    private final Effects[] enter;
+
+    GateCycle(Identifier id, int prepareTicks, List<Phase> phases, Effects preparing, Effects idle) {
+        if (phases.isEmpty()) throw new IllegalArgumentException("cycle " + id + " has no phases");
+        int n = KarmaGateController.Mode.values().length;
+        this.id = id;
+        this.prepareTicks = Math.max(1, prepareTicks);
+        this.preparing = preparing;
+        this.idle = idle;
+        this.first = phases.get(0).mode();
+
+        next = new KarmaGateController.Mode[n];
+        duration = new int[n];
+        lights = new Lights[n];
+        enter = new Effects[n];
+        Arrays.fill(next, KarmaGateController.Mode.MiddleClosed);
+        Arrays.fill(lights, Lights.OFF);
+        Arrays.fill(enter, Effects.NONE);
+
+        boolean[] seen = new boolean[n];
+        for (int i = 0; i < phases.size(); i++) {
+            Phase p = phases.get(i);
+            int o = p.mode().ordinal();
+            if (seen[o]) {
+                throw new IllegalArgumentException("cycle " + id + " lists phase " + p.mode() + " twice");
+            }
+            seen[o] = true;
+            duration[o] = Math.max(0, p.duration());
+            lights[o] = p.lights();
+            enter[o] = p.effects();
+            next[o] = (i + 1 < phases.size()) ? phases.get(i + 1).mode() : KarmaGateController.Mode.MiddleClosed;
+        }
+    }
+
+    KarmaGateController.Mode next(KarmaGateController.Mode m) { return next[m.ordinal()]; }
+
+    int duration(KarmaGateController.Mode m) { return duration[m.ordinal()]; }
+
+    Lights lights(KarmaGateController.Mode m) { return lights[m.ordinal()]; }
+
+    Effects enter(KarmaGateController.Mode m) { return enter[m.ordinal()]; }
+}
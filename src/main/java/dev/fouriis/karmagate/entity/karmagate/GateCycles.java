@@ -0,0 +1,242 @@
+package dev.fouriis.karmagate.entity.karmagate;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+
+import dev.fouriis.karmagate.KarmaGateMod;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+import net.minecraft.resource.Resource;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.JsonHelper;
+
+/**
+ * Registry of airlock cycle definitions.
+ *
+ * Definitions live in {@code data/<namespace>/gate_cycles/<name>.json} and are compiled
+ * into {@link GateCycle} tables on every datapack (re)load. A built-in copy of the default
+ * cycle is always present so gates keep working if the datapack is disabled or broken.
+ *
+ * Clients receive the source JSON of every loaded definition ({@link #sources()}) and
+ * compile it with the same parser, so {@link CycleTimeline} plays back exactly the table
+ * the server runs.
+ *
+ * <pre>
+ * {
+ *   "prepare_ticks": 60,
+ *   "preparing": { "water": { "opposite": 1.0 }, "hologram": { "opposite": 1.0 } },
+ *   "idle":      { "water": { "entry": 0.0, "opposite": 0.0 }, ... },
+ *   "phases": [
+ *     { "phase": "closing_airlock", "duration": 160, "lights": "off",
+ *       "effects": { "entry_gate": "close", "heat": { "entry": true }, ... } },
+ *     ...
+ *   ]
+ * }
+ * </pre>
+ */
+public final class GateCycles {
+    public static final Identifier DEFAULT_ID = Identifier.of(KarmaGateMod.MOD_ID, "default");
+    private static final String DIRECTORY = "gate_cycles";
+
+    private static final Map<String, KarmaGateController.Mode> PHASES = Map.of(
+            "closing_airlock", KarmaGateController.Mode.ClosingAirLock,
+            "waiting",         KarmaGateController.Mode.Waiting,
+            "opening_middle",  KarmaGateController.Mode.OpeningMiddle,
+            "middle_open",     KarmaGateController.Mode.MiddleOpen,
+            "closing_middle",  KarmaGateController.Mode.ClosingMiddle,
+            "opening_side",    KarmaGateController.Mode.OpeningSide,
+            "closed",          KarmaGateController.Mode.Closed);
+
+    private static final GateCycle BUILTIN = builtinDefault();
+    private static volatile Map<Identifier, GateCycle> cycles = Map.of(DEFAULT_ID, BUILTIN);
+    private static volatile int generation = 0;
+    private static volatile Map<Identifier, String> sources = Map.of();
+    // Client copy, kept apart from the server map (both live in one JVM in singleplayer)
+    private static volatile Map<Identifier, GateCycle> synced = Map.of();
+
+    private GateCycles() {}
+
+    public static void register() {
+        ResourceManagerHelper.get(ResourceType.SERVER_DATA).registerReloadListener(new Loader());
+    }
+
+    /** Compiled cycle for an id, falling back to the default. */
+    static GateCycle get(Identifier id) {
+        GateCycle c = (id == null) ? null : cycles.get(id);
+        return c != null ? c : cycles.getOrDefault(DEFAULT_ID, BUILTIN);
+    }
+
+    /** The hard-coded default, used to interpret pre-table saves. */
+    static GateCycle builtin() { return BUILTIN; }
+
+    /** Bumped on every reload so controllers can drop their cached table. */
+    static int generation() { return generation; }
+
+    public static boolean exists(Identifier id) { return cycles.containsKey(id); }
+
+    public static Iterable<Identifier> ids() { return cycles.keySet(); }
+
+    /* ===================== Client sync ===================== */
+
+    /** Source JSON of every datapack definition, for syncing to clients. */
+    public static Map<Identifier, String> sources() { return sources; }
+
+    /** Client: compile the definitions received from the server; bad entries are skipped. */
+    public static void acceptSynced(Map<Identifier, String> received) {
+        Map<Identifier, GateCycle> compiled = new HashMap<>();
+        for (Map.Entry<Identifier, String> e : received.entrySet()) {
+            try {
+                compiled.put(e.getKey(), parse(e.getKey(), JsonParser.parseString(e.getValue()).getAsJsonObject()));
+            } catch (Exception ex) {
+                KarmaGateMod.LOGGER.error("[GateCycles] skipping synced {}: {}", e.getKey(), ex.getMessage());
+            }
+        }
+        synced = Map.copyOf(compiled);
+    }
+
+    /** Client: forget the server's definitions (disconnect). */
+    public static void clearSynced() { synced = Map.of(); }
+
+    /** Client-side table for playback, falling back like {@link #get}. */
+    static GateCycle forPlayback(Identifier id) {
+        GateCycle c = (id == null) ? null : synced.get(id);
+        return c != null ? c : synced.getOrDefault(DEFAULT_ID, BUILTIN);
+    }
+
+    /* ===================== Built-in default ===================== */
+
+    private static GateCycle builtinDefault() {
+        List<GateCycle.Phase> phases = List.of(
+                new GateCycle.Phase(KarmaGateController.Mode.ClosingAirLock, 160, GateCycle.Lights.OFF,
+                        new GateCycle.Effects().gates(0, 0).water(Float.NaN, 1.0f).heat(1, GateCycle.KEEP).hologram(1.0f, Float.NaN)),
+                new GateCycle.Phase(KarmaGateController.Mode.Waiting, 100, GateCycle.Lights.OFF,
+                        new GateCycle.Effects().water(0.7f, 0.0f).steam(1, GateCycle.KEEP)),
+                new GateCycle.Phase(KarmaGateController.Mode.OpeningMiddle, 160, GateCycle.Lights.OFF,
+                        new GateCycle.Effects().gates(GateCycle.KEEP, 1).water(0.0f, 1.0f).heat(0, GateCycle.KEEP).steam(0, GateCycle.KEEP)),
+                new GateCycle.Phase(KarmaGateController.Mode.MiddleOpen, 600, GateCycle.Lights.CHASE,
+                        new GateCycle.Effects().water(Float.NaN, 0.0f)),
+                new GateCycle.Phase(KarmaGateController.Mode.ClosingMiddle, 160, GateCycle.Lights.BLINK_ALL,
+                        new GateCycle.Effects().gates(GateCycle.KEEP, 0).water(1.0f, Float.NaN)),
+                new GateCycle.Phase(KarmaGateController.Mode.OpeningSide, 160, GateCycle.Lights.BLINK_ALL,
+                        new GateCycle.Effects().gates(1, GateCycle.KEEP).water(0.5f, Float.NaN).heat(GateCycle.KEEP, 0)),
+                new GateCycle.Phase(KarmaGateController.Mode.Closed, 600, GateCycle.Lights.OFF,
+                        new GateCycle.Effects().water(0.0f, Float.NaN).hologram(0.65f, 0.65f).lowPower(1, 1)));
+
+        return new GateCycle(DEFAULT_ID, 60, phases,
+                new GateCycle.Effects().water(Float.NaN, 1.0f).hologram(Float.NaN, 1.0f),
+                new GateCycle.Effects().water(0.0f, 0.0f).hologram(0.0f, 0.0f).lowPower(0, 0));
+    }
+
+    /* ===================== JSON ===================== */
+
+    static GateCycle parse(Identifier id, JsonObject root) {
+        int prepare = JsonHelper.getInt(root, "prepare_ticks", 60);
+        GateCycle.Effects preparing = parseEffects(JsonHelper.getObject(root, "preparing", new JsonObject()));
+        GateCycle.Effects idle = parseEffects(JsonHelper.getObject(root, "idle", new JsonObject()));
+
+        JsonArray arr = JsonHelper.getArray(root, "phases");
+        List<GateCycle.Phase> phases = new ArrayList<>(arr.size());
+        for (int i = 0; i < arr.size(); i++) {
+            JsonObject o = JsonHelper.asObject(arr.get(i), "phases[" + i + "]");
+            String name = JsonHelper.getString(o, "phase");
+            KarmaGateController.Mode mode = PHASES.get(name);
+            if (mode == null) throw new JsonSyntaxException("Unknown phase '" + name + "', expected one of " + PHASES.keySet());
+
+            int duration = JsonHelper.getInt(o, "duration");
+            if (duration < 0) throw new JsonSyntaxException("Negative duration for phase '" + name + "'");
+
+            String lights = JsonHelper.getString(o, "lights", "off");
+            GateCycle.Lights pattern;
+            try { pattern = GateCycle.Lights.valueOf(lights.toUpperCase(java.util.Locale.ROOT)); }
+            catch (IllegalArgumentException e) { throw new JsonSyntaxException("Unknown lights '" + lights + "' in phase '" + name + "'"); }
+
+            phases.add(new GateCycle.Phase(mode, duration, pattern,
+                    parseEffects(JsonHelper.getObject(o, "effects", new JsonObject()))));
+        }
+        return new GateCycle(id, prepare, phases, preparing, idle);
+    }
+
+    private static GateCycle.Effects parseEffects(JsonObject o) {
+        GateCycle.Effects e = new GateCycle.Effects();
+        if (o.has("entry_gate"))  e.entryGate  = (byte) gateFlag(JsonHelper.getString(o, "entry_gate"));
+        if (o.has("middle_gate")) e.middleGate = (byte) gateFlag(JsonHelper.getString(o, "middle_gate"));
+        if (o.has("water")) {
+            JsonObject w = JsonHelper.getObject(o, "water");
+            e.water(JsonHelper.getFloat(w, "entry", Float.NaN), JsonHelper.getFloat(w, "opposite", Float.NaN));
+        }
+        if (o.has("hologram")) {
+            JsonObject h = JsonHelper.getObject(o, "hologram");
+            e.hologram(JsonHelper.getFloat(h, "entry", Float.NaN), JsonHelper.getFloat(h, "opposite", Float.NaN));
+        }
+        if (o.has("heat")) {
+            JsonObject h = JsonHelper.getObject(o, "heat");
+            e.heat(flag(h, "entry"), flag(h, "opposite"));
+        }
+        if (o.has("steam")) {
+            JsonObject s = JsonHelper.getObject(o, "steam");
+            e.steam(flag(s, "entry"), flag(s, "opposite"));
+        }
+        if (o.has("low_power")) {
+            JsonObject l = JsonHelper.getObject(o, "low_power");
+            e.lowPower(flag(l, "entry"), flag(l, "opposite"));
+        }
+        return e;
+    }
+
+    private static int flag(JsonObject o, String key) {
+        if (!o.has(key)) return GateCycle.KEEP;
+        return JsonHelper.getBoolean(o, key) ? 1 : 0;
+    }
+
+    private static int gateFlag(String value) {
+        return switch (value) {
+            case "open"  -> 1;
+            case "close" -> 0;
+            default -> throw new JsonSyntaxException("Expected 'open' or 'close', got '" + value + "'");
+        };
+    }
+
+    /* ===================== Reload ===================== */
+
+    private static final class Loader implements SimpleSynchronousResourceReloadListener {
+        @Override
+        public Identifier getFabricId() {
+            return Identifier.of(KarmaGateMod.MOD_ID, DIRECTORY);
+        }
+
+        @Override
+        public void reload(ResourceManager manager) {
+            Map<Identifier, GateCycle> loaded = new HashMap<>();
+            Map<Identifier, String> json = new HashMap<>();
+            loaded.put(DEFAULT_ID, BUILTIN);
+
+            for (Map.Entry<Identifier, Resource> e : manager.findResources(DIRECTORY, p -> p.getPath().endsWith(".json")).entrySet()) {
+                Identifier file = e.getKey();
+                String path = file.getPath();
+                Identifier id = Identifier.of(file.getNamespace(), path.substring(DIRECTORY.length() + 1, path.length() - ".json".length()));
+                try (Reader reader = e.getValue().getReader()) {
+                    JsonObject root = JsonParser.parseReader(reader).getAsJsonObject();
+                    loaded.put(id, parse(id, root));
+                    json.put(id, root.toString());
+                } catch (Exception ex) {
+                    KarmaGateMod.LOGGER.error("[GateCycles] skipping {}: {}", file, ex.getMessage());
+                }
+            }
+
+            cycles = Map.copyOf(loaded);
+            sources = Map.copyOf(json);
+            generation++;
+            KarmaGateMod.LOGGER.info("[GateCycles] loaded {} cycle definition(s)", cycles.size());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package dev.fouriis.karmagate.entity.karmagate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.nbt.NbtString;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.util.Identifier;
+
+/**
+ * Which entities can trigger an airlock: players (default), explicit entity types and
+ * entity type tags. Spectators and dead entities never count.
+ */
+public final class GateDetectionFilter {
+    private boolean players = true;
+    private final Set<EntityType<?>> types = new ReferenceOpenHashSet<>();
+    private final List<TagKey<EntityType<?>>> tags = new ArrayList<>();
+
+    boolean matches(Entity e) {
+        if (e.isSpectator() || !e.isAlive()) return false;
+        if (e instanceof PlayerEntity) return players;
+        EntityType<?> type = e.getType();
+        if (types.contains(type)) return true;
+        for (int i = 0; i < tags.size(); i++) {
+            if (type.isIn(tags.get(i))) return true;
+        }
+        return false;
+    }
+
+    /** True when only players can trigger; lets detection skip the entity section lookup. */
+    boolean playersOnly() { return types.isEmpty() && tags.isEmpty(); }
+
+    /* ===================== Editing ===================== */
+
+    public boolean includesPlayers() { return players; }
+
+    public void setPlayers(boolean players) { this.players = players; }
+
+    public boolean addType(EntityType<?> type) { return types.add(type); }
+
+    public boolean addTag(Identifier tag) {
+        TagKey<EntityType<?>> key = TagKey.of(RegistryKeys.ENTITY_TYPE, tag);
+        if (tags.contains(key)) return false;
+        tags.add(key);
+        return true;
+    }
+
+    /** Back to players only. */
+    public void clear() {
+        players = true;
+        types.clear();
+        tags.clear();
+    }
+
+    public String describe() {
+        StringBuilder sb = new StringBuilder(players ? "players" : "no players");
+        for (EntityType<?> t : types) sb.append(", ").append(Registries.ENTITY_TYPE.getId(t));
+        for (TagKey<EntityType<?>> t : tags) sb.append(", #").append(t.id());
+        return sb.toString();
+    }
+
+    /* ===================== NBT ===================== */
+
+    void writeNbt(NbtCompound root, String key) {
+        NbtCompound nbt = new NbtCompound();
+        nbt.putBoolean("players", players);
+        NbtList typeList = new NbtList();
+        for (EntityType<?> t : types) typeList.add(NbtString.of(Registries.ENTITY_TYPE.getId(t).toString()));
+        nbt.put("types", typeList);
+        NbtList tagList = new NbtList();
+        for (TagKey<EntityType<?>> t : tags) tagList.add(NbtString.of(t.id().toString()));
+        nbt.put("tags", tagList);
+        root.put(key, nbt);
+    }
+
+    void readNbt(NbtCompound root, String key) {
+        clear();
+        if (!root.contains(key)) return;
+        NbtCompound nbt = root.getCompound(key);
+        players = !nbt.contains("players") || nbt.getBoolean("players");
+
+        NbtList typeList = nbt.getList("types", NbtElement.STRING_TYPE);
+        for (int i = 0; i < typeList.size(); i++) {
+            Identifier id = Identifier.tryParse(typeList.getString(i));
+            if (id != null) Registries.ENTITY_TYPE.getOrEmpty(id).ifPresent(types::add);
+        }
+        NbtList tagList = nbt.getList("tags", NbtElement.STRING_TYPE);
+        for (int i = 0; i < tagList.size(); i++) {
+            Identifier id = Identifier.tryParse(tagList.getString(i));
+            if (id != null) addTag(id);
+        }
+    }
+}
@@ -3,17 +3,15 @@ package dev.fouriis.karmagate.entity.karmagate;
 import dev.fouriis.karmagate.KarmaGateMod;
 import dev.fouriis.karmagate.block.karmagate.GateLightBlock;
 import dev.fouriis.karmagate.entity.ModBlockEntities;
+import dev.fouriis.karmagate.network.BlockEntitySync;
+import dev.fouriis.karmagate.network.SyncSchema;
+import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.block.entity.BlockEntityType;
 import net.minecraft.nbt.NbtCompound;
-import net.minecraft.network.listener.ClientPlayPacketListener;
-import net.minecraft.network.packet.Packet;
-import net.minecraft.network.packet.s2c.play.BlockEntityUpdateS2CPacket;
 import net.minecraft.registry.RegistryWrapper;
-import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.World;
 import software.bernie.geckolib.animatable.GeoBlockEntity;
 import software.bernie.geckolib.animatable.instance.AnimatableInstanceCache;
 import software.bernie.geckolib.animation.AnimatableManager;
@@ -28,11 +26,43 @@ public class GateLightBlockEntity extends BlockEntity implements GeoBlockEntity
     private static final String ANIM_ON  = "on";
     private static final String ANIM_OFF = "off";
 
+    /* ---------------- Pattern programs ---------------- */
+
+    /**
+     * What drives the lamp. STEADY follows {@link #lit}; the others are evaluated from world
+     * time on the client, so the server assigns a program once and sends nothing while it runs.
+     * Programs are visual only: the lamp gives off no block light while one runs.
+     */
+    public enum Pattern { STEADY, BLINK, CHASE }
+
+    /** BLINK: on for the first half of the period (mask bit 0) or the second half (bit 1). */
+    public static final int BLINK_PERIOD_TICKS = 15;
+    /** CHASE: four steps; the lamp is on during the steps set in its mask. */
+    public static final int CHASE_STEP_TICKS = 6;
+    public static final int CHASE_STEPS = 4;
+    /** Common multiple of both periods; the program origin is kept modulo this. */
+    private static final int PATTERN_CYCLE = 120;
+
     private final AnimatableInstanceCache cache = GeckoLibUtil.createInstanceCache(this);
 
     /** Server-authoritative lit state, synced to clients. */
     private boolean lit = false;
 
+    private Pattern pattern = Pattern.STEADY;
+    private int patternPhase = 0; // origin tick mod PATTERN_CYCLE
+    private int patternMask = 0;  // lamp role: which half / which chase steps light it
+
+    /** Client: state currently shown by the animation. */
+    private boolean shown = false;
+
+    /* ---------------- Luminance ---------------- */
+
+    /** Minimum spacing between LIT block-state writes; each one is a light-engine update. */
+    private static final int LIGHT_UPDATE_INTERVAL = 20;
+    /** Starts one interval back so the first write is immediate (and the subtraction cannot overflow). */
+    private long lastLightUpdate = -LIGHT_UPDATE_INTERVAL;
+    private boolean lightUpdateScheduled = false;
+
     /** Client flag to (re)pose once after fresh NBT arrives. */
     private boolean clientInitialized = false;
 
@@ -49,50 +79,132 @@ public class GateLightBlockEntity extends BlockEntity implements GeoBlockEntity
         setLit(!lit);
     }
 
-    /** Server-only setter that syncs state, block light, and animation. */
+    /** Server-only setter that syncs state, block light, and animation. Stops any running program. */
     public void setLit(boolean value) {
         if (world == null || world.isClient) return;
         // If the block is broken, it must never be lit
-        BlockState st = world.getBlockState(pos);
-        boolean isBroken = (st.getBlock() instanceof GateLightBlock)
-                && st.contains(GateLightBlock.BROKEN)
-                && st.get(GateLightBlock.BROKEN);
-
-        if (isBroken && value) {
+        if (isBroken() && value) {
             value = false; // clamp to off when broken
         }
 
-        if (this.lit == value) return;
+        if (this.lit == value && pattern == Pattern.STEADY) return;
 
         this.lit = value;
+        pattern = Pattern.STEADY;
+        patternPhase = 0;
+        patternMask = 0;
 
         // Sync the BlockState's LIT property so luminance updates immediately
-        if (st.getBlock() instanceof GateLightBlock && st.contains(GateLightBlock.LIT)) {
-            if (st.get(GateLightBlock.LIT) != value) {
-                world.setBlockState(pos, st.with(GateLightBlock.LIT, value), 3); // notifies + relights
-            }
-        }
+        setBlockLit(value);
 
-        // Network sync for BE data + render
+        // Network sync for BE data + render; the client plays the flip when the new state arrives
         markDirtySync();
-
-        // Play the flip animation and hold on last frame
-        this.triggerAnim("controller", value ? "on" : "off");
         KarmaGateMod.LOGGER.debug("GateLight @{} -> {}", pos, value ? "ON" : "OFF");
     }
 
+    /**
+     * Server: run a pattern from {@code origin} (world tick) with this lamp's role mask.
+     * Clients evaluate it locally; nothing is sent again until the program changes.
+     * Both periods are shorter than {@link #LIGHT_UPDATE_INTERVAL}, so the light level cannot
+     * follow the flips; the block stays unlit and the program only drives the emissive layer.
+     */
+    public void setProgram(Pattern value, long origin, int mask) {
+        if (world == null || world.isClient) return;
+        if (value == Pattern.STEADY || isBroken() || mask == 0) {
+            setLit(false);
+            return;
+        }
+        int phase = (int) Math.floorMod(origin, (long) PATTERN_CYCLE);
+        if (pattern == value && patternPhase == phase && patternMask == mask) return;
+
+        pattern = value;
+        patternPhase = phase;
+        patternMask = mask;
+        lit = false;
+        setBlockLit(false);
+        markDirtySync();
+    }
+
     public boolean isLit() { return lit; }
 
-    public void tick(World world, BlockPos pos, BlockState state, GateLightBlockEntity be) {
-        // Server-side safety: if the block becomes broken while lit, force it off
-        if (!world.isClient) {
-            if (state.getBlock() instanceof GateLightBlock
-                    && state.contains(GateLightBlock.BROKEN)
-                    && state.get(GateLightBlock.BROKEN)
-                    && this.lit) {
-                setLit(false);
-            }
+    /** Client: whether the lamp currently shows as on (steady or from its program). */
+    public boolean isShownLit() { return shown; }
+
+    public Pattern getPattern() { return pattern; }
+
+    /** Whether a program lights the lamp at world tick {@code time}. */
+    public static boolean evaluate(Pattern pattern, int phase, int mask, long time) {
+        long t = Math.floorMod(time - phase, (long) PATTERN_CYCLE);
+        return switch (pattern) {
+            case STEADY -> false;
+            case BLINK -> (mask & ((t % BLINK_PERIOD_TICKS) < (BLINK_PERIOD_TICKS / 2) ? 1 : 2)) != 0;
+            case CHASE -> (mask & (1 << ((t / CHASE_STEP_TICKS) % CHASE_STEPS))) != 0;
+        };
+    }
+
+    /** Client: lit state from an airlock snapshot; plays the flip animation on change. */
+    public void applySnapshotLit(boolean value) {
+        if (world == null || !world.isClient) return;
+        this.lit = value;
+        refreshShown();
+    }
+
+    /**
+     * Client, per rendered frame: follow the running program, flipping the animation on its
+     * edges. Lamps out of view or without a program do nothing.
+     */
+    public void followProgram() {
+        if (pattern != Pattern.STEADY) refreshShown();
+    }
+
+    private void refreshShown() {
+        if (world == null || !world.isClient) return;
+        boolean target = pattern == Pattern.STEADY ? lit : evaluate(pattern, patternPhase, patternMask, world.getTime());
+        if (target == shown) return;
+        shown = target;
+        this.triggerAnim("controller", target ? "on" : "off");
+    }
+
+    private boolean isBroken() {
+        BlockState st = world.getBlockState(pos);
+        return st.getBlock() instanceof GateLightBlock && st.contains(GateLightBlock.BROKEN) && st.get(GateLightBlock.BROKEN);
+    }
+
+    /**
+     * Luminance follows {@link #lit}, but at most one LIT write per lamp per
+     * {@link #LIGHT_UPDATE_INTERVAL}; faster changes are coalesced into a scheduled tick that
+     * writes whatever the lamp wants by then. Programs are emissive-only (renderer).
+     */
+    private void setBlockLit(boolean value) {
+        BlockState st = world.getBlockState(pos);
+        if (!(st.getBlock() instanceof GateLightBlock) || !st.contains(GateLightBlock.LIT)) return;
+        if (st.get(GateLightBlock.LIT) == value || lightUpdateScheduled) return;
+
+        long wait = lastLightUpdate + LIGHT_UPDATE_INTERVAL - world.getTime();
+        if (wait > 0) {
+            lightUpdateScheduled = true;
+            world.scheduleBlockTick(pos, st.getBlock(), (int) wait);
+            return;
         }
+        lastLightUpdate = world.getTime();
+        // Listeners only: neighbours do not care about a lamp's light level
+        world.setBlockState(pos, st.with(GateLightBlock.LIT, value), Block.NOTIFY_LISTENERS);
+    }
+
+    /** Scheduled tick: apply the coalesced luminance change, if still needed. */
+    public void applyPendingLight() {
+        if (!lightUpdateScheduled || world == null || world.isClient) return;
+        lightUpdateScheduled = false;
+        setBlockLit(wantsLight());
+    }
+
+    private boolean wantsLight() {
+        return !isBroken() && lit;
+    }
+
+    /** Follow-up after the block became BROKEN: a broken lamp must never stay lit. */
+    public void onBroken() {
+        if (lit || pattern != Pattern.STEADY) setLit(false);
     }
 
     // ---------------- GeckoLib ----------------
@@ -113,8 +225,9 @@ public class GateLightBlockEntity extends BlockEntity implements GeoBlockEntity
         if (world != null && world.isClient && !clientInitialized) {
             AnimationController<GateLightBlockEntity> ctrl = state.getController();
             ctrl.forceAnimationReset();
+            shown = pattern == Pattern.STEADY ? lit : evaluate(pattern, patternPhase, patternMask, world.getTime());
             ctrl.setAnimation(RawAnimation.begin()
-                .then(lit ? ANIM_ON : ANIM_OFF, Animation.LoopType.HOLD_ON_LAST_FRAME));
+                .then(shown ? ANIM_ON : ANIM_OFF, Animation.LoopType.HOLD_ON_LAST_FRAME));
             clientInitialized = true;
             return PlayState.CONTINUE;
         }
@@ -127,28 +240,53 @@ public class GateLightBlockEntity extends BlockEntity implements GeoBlockEntity
 
     private void markDirtySync() {
         markDirty();
-        if (world instanceof ServerWorld sw) sw.getChunkManager().markForUpdate(pos);
-        if (world != null) world.updateListeners(pos, getCachedState(), getCachedState(), 3);
+        BlockEntitySync.queue(this);
+    }
+
+    /**
+     * Field 0 (lit) is also carried by the airlock snapshot. Setters only assign; the shown
+     * state is re-evaluated once the whole delta is in.
+     */
+    public static final SyncSchema<GateLightBlockEntity> SYNC = SyncSchema.<GateLightBlockEntity>of()
+        .flag(be -> be.lit, (be, v) -> be.lit = v)
+        .varInt(be -> be.pattern.ordinal(), (be, v) -> be.pattern = patternOf(v))
+        .varInt(be -> be.patternPhase, (be, v) -> be.patternPhase = v)
+        .varInt(be -> be.patternMask, (be, v) -> be.patternMask = v)
+        .onApplied(GateLightBlockEntity::refreshShown);
+
+    private static Pattern patternOf(int ordinal) {
+        Pattern[] all = Pattern.values();
+        return all[Math.max(0, Math.min(all.length - 1, ordinal))];
     }
 
     @Override
     public void writeNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup lookup) {
         super.writeNbt(nbt, lookup);
         nbt.putBoolean("lit", lit);
+        if (pattern != Pattern.STEADY) {
+            nbt.putString("pattern", pattern.name());
+            nbt.putInt("patternPhase", patternPhase);
+            nbt.putInt("patternMask", patternMask);
+        }
     }
 
     @Override
     public void readNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup lookup) {
         super.readNbt(nbt, lookup);
         this.lit = nbt.getBoolean("lit");
+        try { pattern = nbt.contains("pattern") ? Pattern.valueOf(nbt.getString("pattern")) : Pattern.STEADY; }
+        catch (IllegalArgumentException e) { pattern = Pattern.STEADY; }
+        patternPhase = nbt.getInt("patternPhase");
+        patternMask = nbt.getInt("patternMask");
 
         // Keep block state's LIT in sync on both sides (server does real relight)
         if (world != null) {
             BlockState st = world.getBlockState(pos);
             // If the block state says it's broken, ensure lit is false
             if (st.getBlock() instanceof GateLightBlock && st.contains(GateLightBlock.BROKEN)
-                    && st.get(GateLightBlock.BROKEN) && this.lit) {
+                    && st.get(GateLightBlock.BROKEN)) {
                 this.lit = false;
+                pattern = Pattern.STEADY;
             }
             if (st.getBlock() instanceof GateLightBlock && st.contains(GateLightBlock.LIT)
                 && st.get(GateLightBlock.LIT) != lit) {
@@ -159,5 +297,4 @@ public class GateLightBlockEntity extends BlockEntity implements GeoBlockEntity
     }
 
     @Override public NbtCompound toInitialChunkDataNbt(RegistryWrapper.WrapperLookup lookup) { return createNbt(lookup); }
-    @Override public Packet<ClientPlayPacketListener> toUpdatePacket() { return BlockEntityUpdateS2CPacket.create(this); }
 }
@@ -69,7 +69,6 @@ public class GateLightGroup {
     }
 
     public enum Side { SIDE1, SIDE2 } // SIDE1 = normal-axis NEG; SIDE2 = normal-axis POS
-    private static final int BLINK_PERIOD_TICKS = 15;
 
     /** Immutable reference to a light with ordering info. */
     public static final class LightRef {
@@ -160,67 +159,68 @@ public class GateLightGroup {
         setAll(world, false);
     }
 
-    /** Blink all lights together at 10-tick cadence. */
-    /** Blink all lights together at half-period cadence. */
-    public void blinkAll(World world, int tick) {
-        boolean on = (tick % BLINK_PERIOD_TICKS) < (BLINK_PERIOD_TICKS / 2);
-        for (LightRef r : nearCol) setOne(world, r.pos, on);
-        for (LightRef r : farCol)  setOne(world, r.pos, on);
+    /** Blink all lights together at half-period cadence, counted from {@code origin}. */
+    public void blinkAll(World world, long origin) {
+        for (LightRef r : nearCol) setProgram(world, r.pos, GateLightBlockEntity.Pattern.BLINK, origin, 0b01);
+        for (LightRef r : farCol)  setProgram(world, r.pos, GateLightBlockEntity.Pattern.BLINK, origin, 0b01);
     }
 
     /**
      * Alternate bottom vs top every half-period while preparing.
      * Mirrored: bottom-pair = NEAR-bottom + FAR-top, top-pair = NEAR-top + FAR-bottom.
      */
-    public void blinkBottomTopAlternate(World world, int tick) {
-        boolean bottomOn = (tick % BLINK_PERIOD_TICKS) < (BLINK_PERIOD_TICKS / 2);
-        setAll(world, false);
-        if (bottomOn) {
-            lightBottomPair(world, true);
-        } else {
-            lightTopPair(world, true);
+    public void blinkBottomTopAlternate(World world, long origin) {
+        List<LightRef> bottom = bottomPair();
+        List<LightRef> top = topPair();
+        for (LightRef r : getRefs()) {
+            int mask = (bottom.contains(r) ? 0b01 : 0) | (top.contains(r) ? 0b10 : 0);
+            setProgram(world, r.pos, GateLightBlockEntity.Pattern.BLINK, origin, mask);
         }
     }
 
-
-    /** Light the “bottom pair”: NEAR-bottom + FAR-top (mirror). */
-    public void lightBottomPairOnly(World world) {
-        setAll(world, false);
-        lightBottomPair(world, true);
-    }
-
-    /** Light the “top pair”: NEAR-top + FAR-bottom (mirror). */
-    public void lightTopPairOnly(World world) {
-        setAll(world, false);
-        lightTopPair(world, true);
+    /**
+     * This side's part of the circular chase: the bottom pair is lit during step
+     * {@code bottomStep}, the top pair during {@code topStep} (0..3).
+     */
+    public void chase(World world, long origin, int bottomStep, int topStep) {
+        List<LightRef> bottom = bottomPair();
+        List<LightRef> top = topPair();
+        for (LightRef r : getRefs()) {
+            int mask = (bottom.contains(r) ? 1 << bottomStep : 0) | (top.contains(r) ? 1 << topStep : 0);
+            setProgram(world, r.pos, GateLightBlockEntity.Pattern.CHASE, origin, mask);
+        }
     }
 
     // ---------------- internals ----------------
 
-    private void lightBottomPair(World world, boolean on) {
+    /** NEAR-bottom + FAR-top; if neither exists, degrade to near top or far bottom. */
+    private List<LightRef> bottomPair() {
+        List<LightRef> out = new ArrayList<>(2);
         LightRef nb = bottomNear();
         LightRef ft = topFar();
-        if (nb != null) setOne(world, nb.pos, on);
-        if (ft != null) setOne(world, ft.pos, on);
-        // if neither exists, fallback: try any one available
-        if (nb == null && ft == null) {
-            // degrade: try near top then far bottom
+        if (nb != null) out.add(nb);
+        if (ft != null) out.add(ft);
+        if (out.isEmpty()) {
             LightRef alt = topNear();
             if (alt == null) alt = bottomFar();
-            if (alt != null) setOne(world, alt.pos, on);
+            if (alt != null) out.add(alt);
         }
+        return out;
     }
 
-    private void lightTopPair(World world, boolean on) {
+    /** NEAR-top + FAR-bottom; if neither exists, degrade to near bottom or far top. */
+    private List<LightRef> topPair() {
+        List<LightRef> out = new ArrayList<>(2);
         LightRef nt = topNear();
         LightRef fb = bottomFar();
-        if (nt != null) setOne(world, nt.pos, on);
-        if (fb != null) setOne(world, fb.pos, on);
-        if (nt == null && fb == null) {
+        if (nt != null) out.add(nt);
+        if (fb != null) out.add(fb);
+        if (out.isEmpty()) {
             LightRef alt = bottomNear();
             if (alt == null) alt = topFar();
-            if (alt != null) setOne(world, alt.pos, on);
+            if (alt != null) out.add(alt);
         }
+        return out;
     }
 
     private void setAll(World world, boolean lit) {
@@ -235,9 +235,9 @@ public class GateLightGroup {
         }
     }
 
-    private void setOne(World world, BlockPos pos, boolean lit) {
+    private void setProgram(World world, BlockPos pos, GateLightBlockEntity.Pattern pattern, long origin, int mask) {
         if (!(world instanceof ServerWorld sw)) return;
         BlockEntity be = sw.getBlockEntity(pos);
-        if (be instanceof GateLightBlockEntity lamp) lamp.setLit(lit);
+        if (be instanceof GateLightBlockEntity lamp) lamp.setProgram(pattern, origin, mask);
     }
 }
@@ -0,0 +1,298 @@
+package dev.fouriis.karmagate.entity.karmagate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import dev.fouriis.karmagate.KarmaGateMod;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.PersistentState;
+
+/**
+ * Per-world registry of airlock controllers.
+ *
+ * Controllers publish their position, axis, bound outer gates, karma per side and mode
+ * whenever one of those changes; the block removes its entry when it is broken. Entries are
+ * kept as parallel primitive arrays and saved as three flat arrays. Spatial queries go
+ * through a 2D k-d tree over (x, z) that is rebuilt lazily after structural changes, so
+ * commands and lookups never scan chunks.
+ */
+public final class GateNetworkIndex extends PersistentState {
+    private static final String DATA_NAME = KarmaGateMod.MOD_ID + "_gate_network";
+    private static final long NO_POS = Long.MAX_VALUE;
+    private static final int META = 4; // axis, karma1, karma2, mode
+
+    /** Read-only view of one indexed airlock. */
+    public record Entry(BlockPos pos, Direction.Axis axis, BlockPos gate1, BlockPos gate2,
+                        KarmaGateController.KarmaLevel karma1, KarmaGateController.KarmaLevel karma2,
+                        String mode) {}
+
+    /* ===================== Storage (struct-of-arrays) ===================== */
+    private int size = 0;
+    private long[] pos   = new long[8];
+    private long[] gate1 = new long[8];
+    private long[] gate2 = new long[8];
+    private byte[] meta  = new byte[8 * META];
+    private final Long2IntOpenHashMap slotOf = new Long2IntOpenHashMap();
+
+    /* ===================== Derived indices (rebuilt lazily) ===================== */
+    private boolean indexDirty = true;
+    private int[] tree = new int[0]; // slots in k-d order (median split, x then z)
+    private final Long2ObjectOpenHashMap<IntArrayList> gateOwners = new Long2ObjectOpenHashMap<>();
+
+    public GateNetworkIndex() {
+        slotOf.defaultReturnValue(-1);
+    }
+
+    public static GateNetworkIndex get(ServerWorld world) {
+        return world.getPersistentStateManager().getOrCreate(TYPE, DATA_NAME);
+    }
+
+    /* ===================== Updates ===================== */
+
+    /** Insert or refresh a controller; only marks the save dirty when something changed. */
+    void upsert(BlockPos controller, Direction.Axis axis, BlockPos g1, BlockPos g2,
+                KarmaGateController.KarmaLevel k1, KarmaGateController.KarmaLevel k2,
+                KarmaGateController.Mode mode) {
+        long key = controller.asLong();
+        long a = g1 == null ? NO_POS : g1.asLong();
+        long b = g2 == null ? NO_POS : g2.asLong();
+        byte[] m = { (byte) axis.ordinal(), (byte) k1.ordinal(), (byte) k2.ordinal(), (byte) mode.ordinal() };
+
+        int i = slotOf.get(key);
+        if (i < 0) {
+            ensureCapacity(size + 1);
+            i = size++;
+            pos[i] = key;
+            slotOf.put(key, i);
+            indexDirty = true;
+        } else if (gate1[i] == a && gate2[i] == b
+                && Arrays.equals(meta, i * META, i * META + META, m, 0, META)) {
+            return;
+        }
+        if (gate1[i] != a || gate2[i] != b) indexDirty = true;
+        gate1[i] = a;
+        gate2[i] = b;
+        System.arraycopy(m, 0, meta, i * META, META);
+        markDirty();
+    }
+
+    /** Drop a controller (no-op for positions that are not indexed). */
+    public void remove(BlockPos controller) {
+        int i = slotOf.remove(controller.asLong());
+        if (i < 0) return;
+        int last = --size;
+        if (i != last) {
+            pos[i] = pos[last];
+            gate1[i] = gate1[last];
+            gate2[i] = gate2[last];
+            System.arraycopy(meta, last * META, meta, i * META, META);
+            slotOf.put(pos[i], i);
+        }
+        indexDirty = true;
+        markDirty();
+    }
+
+    private void ensureCapacity(int n) {
+        if (n <= pos.length) return;
+        int cap = Math.max(n, pos.length * 2);
+        pos = Arrays.copyOf(pos, cap);
+        gate1 = Arrays.copyOf(gate1, cap);
+        gate2 = Arrays.copyOf(gate2, cap);
+        meta = Arrays.copyOf(meta, cap * META);
+    }
+
+    /* ===================== Queries ===================== */
+
+    public int size() { return size; }
+
+    public Entry get(BlockPos controller) {
+        int i = slotOf.get(controller.asLong());
+        return i < 0 ? null : entry(i);
+    }
+
+    public List<Entry> all() {
+        List<Entry> out = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) out.add(entry(i));
+        return out;
+    }
+
+    /** Closest controller to (x, z) in the horizontal plane, or null when empty. */
+    public Entry nearest(double x, double z) {
+        if (size == 0) return null;
+        rebuildIfDirty();
+        double[] best = { Double.MAX_VALUE };
+        int[] bestSlot = { -1 };
+        nearest(0, size, 0, x, z, best, bestSlot);
+        return bestSlot[0] < 0 ? null : entry(bestSlot[0]);
+    }
+
+    /** All controllers within a horizontal radius of (x, z). */
+    public List<Entry> within(double x, double z, double radius) {
+        List<Entry> out = new ArrayList<>();
+        if (size == 0) return out;
+        rebuildIfDirty();
+        within(0, size, 0, x, z, radius * radius, out);
+        return out;
+    }
+
+    /** Airlocks chained to this one through a shared outer gate. */
+    public List<Entry> adjacent(BlockPos controller) {
+        List<Entry> out = new ArrayList<>();
+        int i = slotOf.get(controller.asLong());
+        if (i < 0) return out;
+        rebuildIfDirty();
+        collectOwners(gate1[i], i, out);
+        collectOwners(gate2[i], i, out);
+        return out;
+    }
+
+    private void collectOwners(long gate, int self, List<Entry> out) {
+        if (gate == NO_POS) return;
+        IntArrayList owners = gateOwners.get(gate);
+        if (owners == null) return;
+        for (int k = 0; k < owners.size(); k++) {
+            int o = owners.getInt(k);
+            if (o != self) out.add(entry(o));
+        }
+    }
+
+    private Entry entry(int i) {
+        int m = i * META;
+        return new Entry(BlockPos.fromLong(pos[i]),
+                at(Direction.Axis.values(), meta[m]),
+                gate1[i] == NO_POS ? null : BlockPos.fromLong(gate1[i]),
+                gate2[i] == NO_POS ? null : BlockPos.fromLong(gate2[i]),
+                at(KarmaGateController.KarmaLevel.values(), meta[m + 1]),
+                at(KarmaGateController.KarmaLevel.values(), meta[m + 2]),
+                at(KarmaGateController.Mode.values(), meta[m + 3]).name());
+    }
+
+    /** Ordinal lookup that tolerates saves written by a build with different enums. */
+    private static <T> T at(T[] values, int ordinal) {
+        return values[Math.max(0, Math.min(values.length - 1, ordinal))];
+    }
+
+    /* ===================== k-d tree ===================== */
+
+    private void rebuildIfDirty() {
+        if (!indexDirty) return;
+        tree = new int[size];
+        for (int i = 0; i < size; i++) tree[i] = i;
+        build(0, size, 0);
+
+        gateOwners.clear();
+        for (int i = 0; i < size; i++) {
+            if (gate1[i] != NO_POS) gateOwners.computeIfAbsent(gate1[i], k -> new IntArrayList()).add(i);
+            if (gate2[i] != NO_POS) gateOwners.computeIfAbsent(gate2[i], k -> new IntArrayList()).add(i);
+        }
+        indexDirty = false;
+    }
+
+    private int coord(int slot, int depth) {
+        return (depth & 1) == 0 ? BlockPos.unpackLongX(pos[slot]) : BlockPos.unpackLongZ(pos[slot]);
+    }
+
+    /** Median split of tree[from, to) on the current axis; the median sits at the midpoint. */
+    private void build(int from, int to, int depth) {
+        if (to - from <= 1) return;
+        int mid = (from + to) >>> 1;
+        select(from, to - 1, mid, depth);
+        build(from, mid, depth + 1);
+        build(mid + 1, to, depth + 1);
+    }
+
+    private void select(int lo, int hi, int k, int depth) {
+        while (lo < hi) {
+            int pivot = coord(tree[(lo + hi) >>> 1], depth);
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (coord(tree[i], depth) < pivot) i++;
+                while (coord(tree[j], depth) > pivot) j--;
+                if (i <= j) { int t = tree[i]; tree[i] = tree[j]; tree[j] = t; i++; j--; }
+            }
+            if (k <= j) hi = j;
+            else if (k >= i) lo = i;
+            else return;
+        }
+    }
+
+    private void nearest(int from, int to, int depth, double x, double z, double[] best, int[] bestSlot) {
+        if (from >= to) return;
+        int mid = (from + to) >>> 1;
+        int s = tree[mid];
+        double dx = BlockPos.unpackLongX(pos[s]) + 0.5 - x;
+        double dz = BlockPos.unpackLongZ(pos[s]) + 0.5 - z;
+        double d = dx * dx + dz * dz;
+        if (d < best[0]) { best[0] = d; bestSlot[0] = s; }
+
+        double diff = ((depth & 1) == 0) ? dx : dz; // node minus query along the split axis
+        boolean queryLeft = diff > 0;
+        if (queryLeft) nearest(from, mid, depth + 1, x, z, best, bestSlot);
+        else nearest(mid + 1, to, depth + 1, x, z, best, bestSlot);
+        if (diff * diff < best[0]) {
+            if (queryLeft) nearest(mid + 1, to, depth + 1, x, z, best, bestSlot);
+            else nearest(from, mid, depth + 1, x, z, best, bestSlot);
+        }
+    }
+
+    private void within(int from, int to, int depth, double x, double z, double r2, List<Entry> out) {
+        if (from >= to) return;
+        int mid = (from + to) >>> 1;
+        int s = tree[mid];
+        double dx = BlockPos.unpackLongX(pos[s]) + 0.5 - x;
+        double dz = BlockPos.unpackLongZ(pos[s]) + 0.5 - z;
+        if (dx * dx + dz * dz <= r2) out.add(entry(s));
+
+        double diff = ((depth & 1) == 0) ? dx : dz;
+        if (diff > 0 || diff * diff <= r2) within(from, mid, depth + 1, x, z, r2, out);
+        if (diff <= 0 || diff * diff <= r2) within(mid + 1, to, depth + 1, x, z, r2, out);
+    }
+
+    /* ===================== NBT ===================== */
+
+    @Override
+    public NbtCompound writeNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup registryLookup) {
+        long[] gates = new long[size * 2];
+        for (int i = 0; i < size; i++) {
+            gates[i * 2] = gate1[i];
+            gates[i * 2 + 1] = gate2[i];
+        }
+        nbt.putLongArray("pos", Arrays.copyOf(pos, size));
+        nbt.putLongArray("gates", gates);
+        nbt.putByteArray("meta", Arrays.copyOf(meta, size * META));
+        return nbt;
+    }
+
+    public static GateNetworkIndex createFromNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup registryLookup) {
+        GateNetworkIndex index = new GateNetworkIndex();
+        long[] p = nbt.getLongArray("pos");
+        long[] g = nbt.getLongArray("gates");
+        byte[] m = nbt.getByteArray("meta");
+        int n = Math.min(p.length, Math.min(g.length / 2, m.length / META));
+
+        index.ensureCapacity(n);
+        for (int i = 0; i < n; i++) {
+            index.pos[i] = p[i];
+            index.gate1[i] = g[i * 2];
+            index.gate2[i] = g[i * 2 + 1];
+            index.slotOf.put(p[i], i);
+        }
+        System.arraycopy(m, 0, index.meta, 0, n * META);
+        index.size = n;
+        return index;
+    }
+
+    private static final Type<GateNetworkIndex> TYPE = new Type<>(
+        GateNetworkIndex::new,
+        GateNetworkIndex::createFromNbt,
+        null // No data fixer needed
+    );
+}
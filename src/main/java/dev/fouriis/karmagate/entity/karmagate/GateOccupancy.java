@@ -0,0 +1,185 @@
+package dev.fouriis.karmagate.entity.karmagate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import dev.fouriis.karmagate.block.karmagate.KarmaGateBlock;
+import it.unimi.dsi.fastutil.bytes.ByteArrayList;
+import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+
+/**
+ * Per-tick occupancy of an airlock's three detection rectangles (side 1, side 2, center).
+ *
+ * One query per tick over the union of the rectangles: players-only filters walk the
+ * world's player list, anything else goes through the entity section index, which only
+ * visits the chunk sections overlapping the box. Matches are then binned into the
+ * rectangles in memory and kept until the next tick.
+ *
+ * With a lookahead the union is widened by that margin and each matched entity's
+ * horizontal velocity is tracked from sample to sample (smoothed position deltas; the
+ * server does not know a player's own motion), so callers can ask when an entity outside
+ * the rectangles is going to reach one.
+ */
+final class GateOccupancy {
+    static final int SIDE1 = 0, SIDE2 = 1, CENTER = 2;
+    /** Zone of a single entity; the center wins where it overlaps a side. */
+    static final byte ZONE_NONE = 0, ZONE_SIDE1 = 1, ZONE_CENTER = 2, ZONE_SIDE2 = 3;
+    private static final int BELOW = 2; // vertical band around the gate
+    private static final int ABOVE = 2;
+    private static final double MIN_SPEED = 0.08;  // blocks/tick; slower counts as standing
+    private static final double MIN_HEADING = 0.5; // cos of the max angle between look and motion
+
+    // Rectangles as [minX, maxX, minZ, maxZ] per slot
+    private final double[] rects = new double[12];
+    private final boolean[] occupied = new boolean[3];
+    private final List<Entity> inside = new ArrayList<>();
+    private final ByteArrayList zones = new ByteArrayList();
+    private final boolean[] scratch = new boolean[3];
+    private long sampledAt = Long.MIN_VALUE;
+
+    // Lookahead (0 = off): widened union and per-entity motion, keyed by entity id
+    private double lookahead = 0.0;
+    private Int2ObjectOpenHashMap<double[]> motion = new Int2ObjectOpenHashMap<>(); // {x, z, vx, vz, tick}
+    private Int2ObjectOpenHashMap<double[]> motionNext = new Int2ObjectOpenHashMap<>();
+    private final DoubleArrayList vx = new DoubleArrayList();
+    private final DoubleArrayList vz = new DoubleArrayList();
+
+    void setRect(int slot, double cx, double cz, double hx, double hz) {
+        int o = slot * 4;
+        double ahx = Math.abs(hx), ahz = Math.abs(hz);
+        rects[o]     = cx - ahx;
+        rects[o + 1] = cx + ahx;
+        rects[o + 2] = cz - ahz;
+        rects[o + 3] = cz + ahz;
+    }
+
+    /** Widen the sampled area by {@code margin} blocks and track motion; 0 turns it off. */
+    void setLookahead(double margin) {
+        if (margin <= 0.0 && lookahead > 0.0) motion.clear();
+        lookahead = Math.max(0.0, margin);
+    }
+
+    /** Sample once per tick; later calls in the same tick reuse the result. */
+    void sample(World world, long tick, int baseY, boolean playersOnly, Predicate<Entity> filter) {
+        if (tick == sampledAt) return;
+        sampledAt = tick;
+        occupied[SIDE1] = occupied[SIDE2] = occupied[CENTER] = false;
+        inside.clear();
+        zones.clear();
+        vx.clear();
+        vz.clear();
+
+        double minX = Double.MAX_VALUE, maxX = -Double.MAX_VALUE;
+        double minZ = Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
+        for (int o = 0; o < rects.length; o += 4) {
+            minX = Math.min(minX, rects[o]);
+            maxX = Math.max(maxX, rects[o + 1]);
+            minZ = Math.min(minZ, rects[o + 2]);
+            maxZ = Math.max(maxZ, rects[o + 3]);
+        }
+        double m = lookahead;
+        Box union = new Box(minX - m, baseY - BELOW, minZ - m, maxX + m, baseY + KarmaGateBlock.GATE_HEIGHT + ABOVE, maxZ + m);
+
+        if (playersOnly) {
+            for (PlayerEntity p : world.getPlayers()) {
+                if (union.contains(p.getPos()) && filter.test(p)) inside.add(p);
+            }
+        } else {
+            inside.addAll(world.getOtherEntities((Entity) null, union, filter));
+        }
+
+        for (int i = 0; i < inside.size(); i++) {
+            Entity e = inside.get(i);
+            double x = e.getX(), z = e.getZ();
+            boolean[] in = scratch;
+            for (int slot = 0; slot < 3; slot++) {
+                int o = slot * 4;
+                in[slot] = x >= rects[o] && x <= rects[o + 1] && z >= rects[o + 2] && z <= rects[o + 3];
+                if (in[slot]) occupied[slot] = true;
+            }
+            zones.add(in[CENTER] ? ZONE_CENTER : in[SIDE1] ? ZONE_SIDE1 : in[SIDE2] ? ZONE_SIDE2 : ZONE_NONE);
+            if (m > 0.0) trackMotion(e.getId(), x, z, tick);
+        }
+        if (m > 0.0) {
+            // Entities that left the area are dropped by swapping in the map built this tick
+            Int2ObjectOpenHashMap<double[]> old = motion;
+            motion = motionNext;
+            motionNext = old;
+            motionNext.clear();
+        }
+    }
+
+    private void trackMotion(int id, double x, double z, long tick) {
+        double[] prev = motion.get(id);
+        double[] cur = prev != null ? prev : new double[5];
+        double dt = prev != null ? tick - prev[4] : 0.0;
+        if (dt > 0.0 && dt <= 5.0) {
+            // Halve the jitter of server-side position updates
+            cur[2] = 0.5 * cur[2] + 0.5 * (x - prev[0]) / dt;
+            cur[3] = 0.5 * cur[3] + 0.5 * (z - prev[1]) / dt;
+        } else {
+            cur[2] = cur[3] = 0.0;
+        }
+        cur[0] = x;
+        cur[1] = z;
+        cur[4] = tick;
+        motionNext.put(id, cur);
+        vx.add(cur[2]);
+        vz.add(cur[3]);
+    }
+
+    boolean isOccupied(int slot) { return occupied[slot]; }
+
+    /** Entities matched in the last sample (union box), for consumers running in the same tick. */
+    List<Entity> entities() { return inside; }
+
+    /** Zone of {@code entities().get(i)} in the last sample. */
+    byte zoneAt(int i) { return zones.getByte(i); }
+
+    /**
+     * Ticks until {@code entities().get(i)} enters rectangle {@code slot} at its current
+     * velocity, or {@link Integer#MAX_VALUE} when it is not heading there: too slow, moving
+     * away, missing the rectangle, or (players) looking elsewhere. Needs a lookahead.
+     */
+    int arrivalTicks(int slot, int i) {
+        if (i >= vx.size()) return Integer.MAX_VALUE;
+        double dx = vx.getDouble(i), dz = vz.getDouble(i);
+        double speed = Math.sqrt(dx * dx + dz * dz);
+        if (speed < MIN_SPEED) return Integer.MAX_VALUE;
+
+        Entity e = inside.get(i);
+        if (e instanceof PlayerEntity) {
+            // Heading: a player backing or strafing toward the gate is not counted
+            float yaw = e.getYaw() * MathHelper.RADIANS_PER_DEGREE;
+            double lookX = -MathHelper.sin(yaw), lookZ = MathHelper.cos(yaw);
+            if ((lookX * dx + lookZ * dz) / speed < MIN_HEADING) return Integer.MAX_VALUE;
+        }
+
+        // Ray vs axis-aligned rectangle (slab method), time in ticks
+        int o = slot * 4;
+        double x = e.getX(), z = e.getZ();
+        double tMin = 0.0, tMax = Double.MAX_VALUE;
+        if (dx == 0.0) {
+            if (x < rects[o] || x > rects[o + 1]) return Integer.MAX_VALUE;
+        } else {
+            double t1 = (rects[o] - x) / dx, t2 = (rects[o + 1] - x) / dx;
+            tMin = Math.max(tMin, Math.min(t1, t2));
+            tMax = Math.min(tMax, Math.max(t1, t2));
+        }
+        if (dz == 0.0) {
+            if (z < rects[o + 2] || z > rects[o + 3]) return Integer.MAX_VALUE;
+        } else {
+            double t1 = (rects[o + 2] - z) / dz, t2 = (rects[o + 3] - z) / dz;
+            tMin = Math.max(tMin, Math.min(t1, t2));
+            tMax = Math.min(tMax, Math.max(t1, t2));
+        }
+        return tMin <= tMax ? (int) Math.ceil(tMin) : Integer.MAX_VALUE;
+    }
+}
@@ -1,12 +1,11 @@
 package dev.fouriis.karmagate.entity.karmagate;
 
 import dev.fouriis.karmagate.entity.ModBlockEntities;
+import dev.fouriis.karmagate.network.BlockEntitySync;
+import dev.fouriis.karmagate.network.SyncSchema;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.nbt.NbtCompound;
-import net.minecraft.network.listener.ClientPlayPacketListener;
-import net.minecraft.network.packet.Packet;
-import net.minecraft.network.packet.s2c.play.BlockEntityUpdateS2CPacket;
 import net.minecraft.registry.RegistryWrapper;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
@@ -28,10 +27,27 @@ public class HeatCoilBlockEntity extends BlockEntity implements GeoBlockEntity {
     // all external/additional contributions for the *current* server tick
     private float pendingDelta = 0f;
 
-    // rates per tick
-    private static final float HEAT_RATE_ON     = 0.015f;  // tripled as you asked earlier
-    private static final float PASSIVE_COOL_RATE= 0.0025f; // when not enabled
-    private static final float EPS              = 0.0001f; // change threshold to sync
+    // rates per tick (shared with the airlock thermal network)
+    private static final float HEAT_RATE_ON     = CoilThermalNetwork.HEAT_RATE_ON;      // tripled as you asked earlier
+    private static final float PASSIVE_COOL_RATE= CoilThermalNetwork.PASSIVE_COOL_RATE; // when not enabled
+    private static final float EPS              = CoilThermalNetwork.SYNC_EPS;          // change threshold to sync
+
+    // When bound to an airlock, the controller's thermal network owns the simulation (transient)
+    private CoilThermalNetwork network = null;
+    private int networkIndex = -1;
+
+    /*
+     * Synced heat ramp: clients extrapolate heat = rampHeat + rampRate * (now - rampTick).
+     * The server re-anchors it when the heater mode changes, when the coil settles, and
+     * otherwise only when the prediction drifted (at most once per DRIFT_INTERVAL).
+     */
+    private static final float DRIFT_EPS = 0.02f;
+    private static final int DRIFT_INTERVAL = 20;
+    private static final float RATE_SCALE = 1_000_000f;
+    private float rampHeat = 0f;
+    private float rampRate = 0f;
+    private int rampTick = 0;         // world time, truncated; differences wrap correctly
+    private boolean modeChanged = false; // local heater toggled since the last anchor
 
     public HeatCoilBlockEntity(BlockPos pos, BlockState state) {
         super(ModBlockEntities.HEAT_COIL_BLOCK_ENTITY, pos, state);
@@ -54,7 +70,7 @@ public class HeatCoilBlockEntity extends BlockEntity implements GeoBlockEntity {
         if (world == null || !world.isClient) return; // visual-only on client
         if (peakDip <= 0f || durationTicks <= 0) return;
         long now = world.getTime();
-        float baseNow = clamp01(this.heat);
+        float baseNow = getHeat();
 
         // Choose a random lower visual heat target between 20%..60% of current base heat
         // Then convert to a dip amount, capped by peakDip
@@ -88,7 +104,7 @@ public class HeatCoilBlockEntity extends BlockEntity implements GeoBlockEntity {
      * Heat used by client-side visuals (base server heat minus any active client flicker dip).
      */
     public float getVisualHeat() {
-        float baseNow = this.heat;
+        float baseNow = getHeat();
         if (world == null || !world.isClient || clientFlickerDuration <= 0 || clientFlickerDip <= 0f) return baseNow;
         long now = world.getTime();
         int elapsed = (int)Math.max(0L, now - clientFlickerStartTick);
@@ -120,7 +136,9 @@ public class HeatCoilBlockEntity extends BlockEntity implements GeoBlockEntity {
     /** Enqueue a heat contribution to be applied this tick (positive heats, negative cools). */
     public void addHeat(float delta) {
         if (world != null && world.isClient) return; // server-authoritative
+        if (liveNetwork() != null) { network.addHeat(networkIndex, delta); return; }
         pendingDelta += delta;
+        wake();
     }
 
     /** Convenience: remove heat due to steam generation, etc. */
@@ -132,20 +150,54 @@ public class HeatCoilBlockEntity extends BlockEntity implements GeoBlockEntity {
     /** Toggle the built-in heater on/off. */
     public void setEnabled(boolean on) {
         if (world != null && world.isClient) return; // server only
+        if (this.enabled == on) return;
         this.enabled = on;
+        markDirty();
+        if (liveNetwork() != null) { network.setEnabled(networkIndex, on); return; }
+        modeChanged = true;
         // no immediate sync needed; heat itself will sync when it changes
+        wake();
     }
 
     public boolean isEnabled() { return enabled; }
 
-    /** Server-authoritative heat (client will read the synced value). */
-    public float getHeat() { return heat; }
+    /** Server-authoritative heat; on the client, extrapolated from the synced ramp. */
+    public float getHeat() {
+        if (world == null || !world.isClient) return heat;
+        int elapsed = Math.max(0, (int) world.getTime() - rampTick);
+        return clamp01(rampHeat + rampRate * elapsed);
+    }
 
     /* ================= ticking ================= */
 
-    /** Server tick: accumulate all contributions and apply once. */
-    public void tick(World world, BlockPos pos, BlockState state) {
-        if (world.isClient) return;
+    /*
+     * Coils have no ticker. They sleep at their steady state (off & cold, or on & fully
+     * hot) and are woken by a scheduled block tick whenever something changes; the block
+     * reschedules for as long as tick() reports it has not settled yet.
+     */
+
+    /** True when another tick would change nothing. */
+    public boolean isSettled() {
+        if (pendingDelta != 0f) return false;
+        return enabled ? heat >= 1f : heat <= 0f;
+    }
+
+    /** Server: make sure a scheduled tick is queued if there is work left. */
+    public void wake() {
+        if (liveNetwork() != null) { network.wake(); return; }
+        if (!(world instanceof ServerWorld sw) || isSettled()) return;
+        net.minecraft.block.Block block = getCachedState().getBlock();
+        if (!sw.getBlockTickScheduler().isQueued(pos, block)) {
+            sw.scheduleBlockTick(pos, block, 1);
+        }
+    }
+
+    /**
+     * Server tick: accumulate all contributions and apply once.
+     * @return true while the coil still needs ticking
+     */
+    public boolean tick(World world, BlockPos pos, BlockState state) {
+        if (world.isClient || liveNetwork() != null) return false;
 
         float delta = pendingDelta;
         pendingDelta = 0f; // consume for this tick
@@ -158,10 +210,78 @@ public class HeatCoilBlockEntity extends BlockEntity implements GeoBlockEntity {
         }
 
         float newHeat = clamp01(heat + delta);
-        if (Math.abs(newHeat - heat) > EPS) {
+        // Going idle: snap a sub-threshold remainder to the rest value instead of leaving it unsynced
+        if (enabled ? newHeat >= 1f - EPS : newHeat <= EPS) newHeat = enabled ? 1f : 0f;
+        boolean anchor = modeChanged;
+        modeChanged = false;
+        if (newHeat != heat || anchor) {
+            float change = newHeat - heat;
             heat = newHeat;
-            markDirtySync();
+            markDirty();
+            // The last step before sleeping always re-anchors at rate 0, so clients stop at the final value
+            boolean settled = isSettled();
+            updateRamp(!settled && Math.abs(change) > EPS ? change : 0f, anchor || settled);
+        }
+        return !isSettled();
+    }
+
+    /**
+     * Server: re-anchor the client ramp on a mode change / settle, or when the prediction
+     * drifted by more than {@link #DRIFT_EPS}. Everything else is extrapolated client-side.
+     */
+    private void updateRamp(float rate, boolean force) {
+        if (world == null) return;
+        int now = (int) world.getTime();
+        int elapsed = now - rampTick;
+        float predicted = clamp01(rampHeat + rampRate * Math.max(0, elapsed));
+        boolean drifted = Math.abs(predicted - heat) > DRIFT_EPS && elapsed >= DRIFT_INTERVAL;
+        if (!force && !drifted) return;
+        if (force && rampHeat == heat && rampRate == rate) return;
+        rampHeat = heat;
+        rampRate = rate;
+        rampTick = now;
+        BlockEntitySync.queue(this);
+    }
+
+    /* ================= thermal network ================= */
+
+    void attachNetwork(CoilThermalNetwork net, int index) {
+        this.network = net;
+        this.networkIndex = index;
+        // anything queued locally now belongs to the network
+        if (pendingDelta != 0f) {
+            net.addHeat(index, pendingDelta);
+            pendingDelta = 0f;
+        }
+    }
+
+    /**
+     * Server, on load: rejoin the network of a loaded controller that binds this coil, so a
+     * coil reloaded from its chunk is not also simulated on its own scheduled ticks.
+     */
+    public void rejoinNetwork() {
+        liveNetwork();
+    }
+
+    /** The owning network while its controller is loaded; a coil left behind simulates itself again. */
+    private CoilThermalNetwork liveNetwork() {
+        if (network != null && !network.isLive()) {
+            network = null;
+            networkIndex = -1;
         }
+        if (network == null && world instanceof ServerWorld) CoilThermalNetwork.reattach(world, this);
+        return network;
+    }
+
+    /**
+     * Network step result for this coil (server). {@code rate} is this step's change;
+     * {@code anchor} is set when the coil's inputs changed or the network settled.
+     */
+    void applyNetworkHeat(float value, float rate, boolean anchor) {
+        if (heat == value && !anchor) return;
+        heat = value;
+        markDirty();
+        updateRamp(rate, anchor);
     }
 
     /* ================= GeckoLib ================= */
@@ -171,17 +291,22 @@ public class HeatCoilBlockEntity extends BlockEntity implements GeoBlockEntity {
 
     /* ================= sync & NBT ================= */
 
-    private void markDirtySync() {
-        markDirty();
-        if (world instanceof ServerWorld sw) sw.getChunkManager().markForUpdate(pos);
-        if (world != null) world.updateListeners(pos, getCachedState(), getCachedState(), 3);
-    }
+    /** Heat travels as a ramp (start, rate, tick); see {@link #updateRamp}. */
+    public static final SyncSchema<HeatCoilBlockEntity> SYNC = SyncSchema.<HeatCoilBlockEntity>of()
+        .unit16(be -> be.rampHeat, (be, v) -> be.rampHeat = v)
+        .flag(be -> be.enabled, (be, v) -> be.enabled = v)
+        .varInt(be -> Math.round(be.rampRate * RATE_SCALE), (be, v) -> be.rampRate = v / RATE_SCALE)
+        .varInt(be -> be.rampTick, (be, v) -> be.rampTick = v);
 
     @Override
     public void writeNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup lookup) {
         super.writeNbt(nbt, lookup);
         nbt.putFloat("heat", heat);
         nbt.putBoolean("enabled", enabled);
+        // Ramp for clients receiving this as chunk data
+        nbt.putFloat("rampHeat", rampHeat);
+        nbt.putFloat("rampRate", rampRate);
+        nbt.putInt("rampTick", rampTick);
         // pendingDelta is transient per tick and not persisted
     }
 
@@ -191,10 +316,12 @@ public class HeatCoilBlockEntity extends BlockEntity implements GeoBlockEntity {
         this.heat = nbt.getFloat("heat");
         this.enabled = nbt.getBoolean("enabled");
         this.pendingDelta = 0f;
+        this.rampHeat = nbt.contains("rampHeat") ? nbt.getFloat("rampHeat") : heat;
+        this.rampRate = nbt.getFloat("rampRate");
+        this.rampTick = nbt.getInt("rampTick");
     }
 
     @Override public NbtCompound toInitialChunkDataNbt(RegistryWrapper.WrapperLookup lookup) { return createNbt(lookup); }
-    @Override public Packet<ClientPlayPacketListener> toUpdatePacket() { return BlockEntityUpdateS2CPacket.create(this); }
 
     /* ================= util ================= */
 
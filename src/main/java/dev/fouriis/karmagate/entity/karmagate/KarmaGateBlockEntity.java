@@ -6,17 +6,15 @@ import java.util.List;
 import java.util.UUID;
 
 import dev.fouriis.karmagate.KarmaGateMod;
+import dev.fouriis.karmagate.block.karmagate.KarmaGateBlock;
 import dev.fouriis.karmagate.entity.ModBlockEntities;
+import dev.fouriis.karmagate.network.BlockEntitySync;
+import dev.fouriis.karmagate.network.SyncSchema;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.block.entity.BlockEntityType;
-import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.nbt.NbtCompound;
-import net.minecraft.network.listener.ClientPlayPacketListener;
-import net.minecraft.network.packet.Packet;
-import net.minecraft.network.packet.s2c.play.BlockEntityUpdateS2CPacket;
 import net.minecraft.registry.RegistryWrapper;
-import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
@@ -75,6 +73,7 @@ public class KarmaGateBlockEntity extends BlockEntity implements GeoBlockEntity
     public void open() {
         if (world == null || world.isClient || open) return;
         open = true;
+        KarmaGateBlock.setStructureOpen(world, pos, true);
         markDirtySync();
         this.triggerAnim("controller", "open");  // plays OPEN then OPEN_IDLE
         KarmaGateMod.LOGGER.info("Gate @{} -> OPEN (triggered)", pos);
@@ -83,6 +82,7 @@ public class KarmaGateBlockEntity extends BlockEntity implements GeoBlockEntity
     public void close() {
         if (world == null || world.isClient || !open) return;
         open = false;
+        KarmaGateBlock.setStructureOpen(world, pos, false);
         markDirtySync();
         this.triggerAnim("controller", "close"); // plays CLOSE then CLOSE_IDLE
         KarmaGateMod.LOGGER.info("Gate @{} -> CLOSED (triggered)", pos);
@@ -90,10 +90,26 @@ public class KarmaGateBlockEntity extends BlockEntity implements GeoBlockEntity
 
     /** Server-side state flip that also drives animation. */
     public void setOpen(boolean value) {
+        setOpen(value, true);
+    }
+
+    /**
+     * Server-side state flip. Controllers pass {@code animate = false} for the gates of their
+     * airlock: the snapshot carries the change and the client plays the animation.
+     */
+    void setOpen(boolean value, boolean animate) {
         if (world == null || world.isClient) return;
         if (this.open == value) return;
         this.open = value;
+        KarmaGateBlock.setStructureOpen(world, pos, value);
         markDirtySync();
+        if (animate) this.triggerAnim("controller", value ? "open" : "close");
+    }
+
+    /** Client: open state from an airlock snapshot; plays the open/close animation on change. */
+    public void applySnapshotOpen(boolean value) {
+        if (world == null || !world.isClient || this.open == value) return;
+        this.open = value;
         this.triggerAnim("controller", value ? "open" : "close");
     }
 
@@ -271,6 +287,11 @@ public class KarmaGateBlockEntity extends BlockEntity implements GeoBlockEntity
     public void tick(World world, BlockPos pos, BlockState state, KarmaGateBlockEntity be) {
         if (world == null || world.isClient) return;
 
+        // Worlds saved before the OPEN block state existed: reconcile once
+        if (state.contains(KarmaGateBlock.OPEN) && state.get(KarmaGateBlock.OPEN) != open) {
+            KarmaGateBlock.setStructureOpen(world, pos, open);
+        }
+
         if (isController) {
             // Delegate all airlock/cycle + light logic to the controller
             controller.tick(world, pos, state);
@@ -281,12 +302,19 @@ public class KarmaGateBlockEntity extends BlockEntity implements GeoBlockEntity
 
     void markDirtySync() {
         markDirty();
-        if (world instanceof ServerWorld sw) sw.getChunkManager().markForUpdate(pos);
-        if (world != null) world.updateListeners(pos, getCachedState(), getCachedState(), 3);
+        BlockEntitySync.queue(this);
     }
 
+    /** Client-visible fields; the controller's own state stays server-side. */
+    public static final SyncSchema<KarmaGateBlockEntity> SYNC = SyncSchema.<KarmaGateBlockEntity>of()
+        .flag(be -> be.open, (be, v) -> be.open = v)
+        .flag(be -> be.isController, (be, v) -> be.isController = v);
+
     /* ===================== NBT & Packets ===================== */
 
+    // Marks the chunk-load view; it carries no controller state and must not overwrite it
+    private static final String CLIENT_VIEW = "clientView";
+
     @Override
     public void writeNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup lookup) {
         super.writeNbt(nbt, lookup);
@@ -303,6 +331,11 @@ public class KarmaGateBlockEntity extends BlockEntity implements GeoBlockEntity
         super.readNbt(nbt, lookup);
         this.open = nbt.getBoolean("open");
         this.isController = nbt.getBoolean("isController");
+        if (nbt.getBoolean(CLIENT_VIEW)) {
+            // Client sync: bindings, lights and cycle state never leave the server
+            clientInitialized = false;
+            return;
+        }
         this.airlockId = nbt.containsUuid("airlockId") ? nbt.getUuid("airlockId") : null;
 
         if (isController) controller.readNbt(nbt);
@@ -310,27 +343,18 @@ public class KarmaGateBlockEntity extends BlockEntity implements GeoBlockEntity
         if (world != null && world.isClient) clientInitialized = false;
     }
 
+    /**
+     * Chunk-load view: only what clients render (the {@link #SYNC} fields). The controller's
+     * bound positions, light groups and cycle state are persistence-only; clients get the
+     * airlock layout from {@link AirlockSnapshot} when they start tracking it.
+     */
     @Override
     public NbtCompound toInitialChunkDataNbt(RegistryWrapper.WrapperLookup lookup) {
-        return createNbt(lookup);
-    }
-
-    @Override
-    public Packet<ClientPlayPacketListener> toUpdatePacket() {
-        return BlockEntityUpdateS2CPacket.create(this);
-    }
-
-    /* ===================== Static utils used by controller ===================== */
-
-    static boolean anyPlayerInSquare(World world, double cx, double cz, double halfSide) {
-        if (world == null) return false;
-        double minX = cx - halfSide, maxX = cx + halfSide;
-        double minZ = cz - halfSide, maxZ = cz + halfSide;
-        for (PlayerEntity p : world.getPlayers()) {
-            double px = p.getX(), pz = p.getZ();
-            if (px >= minX && px <= maxX && pz >= minZ && pz <= maxZ) return true;
-        }
-        return false;
+        NbtCompound nbt = new NbtCompound();
+        nbt.putBoolean(CLIENT_VIEW, true);
+        nbt.putBoolean("open", open);
+        nbt.putBoolean("isController", isController);
+        return nbt;
     }
 
     public KarmaGateController getController() {
@@ -3,11 +3,12 @@ package dev.fouriis.karmagate.entity.karmagate;
 
 import dev.fouriis.karmagate.KarmaGateMod;
 import dev.fouriis.karmagate.block.karmagate.KarmaGateBlock;
-import dev.fouriis.karmagate.block.karmagate.SteamEmitterBlock;
 import dev.fouriis.karmagate.entity.hologram.HologramProjectorBlockEntity;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 import net.minecraft.world.World;
@@ -22,7 +23,8 @@ import java.util.List;
 public final class KarmaGateController {
 
     /* ===================== Modes ===================== */
-    private enum Mode {
+    /** Airlock phases; ordinals index the {@link GateCycle} tables. */
+    enum Mode {
         MiddleClosed,
         ClosingAirLock,
         Waiting,
@@ -94,15 +96,21 @@ public final class KarmaGateController {
     private static final double OFFSET_NEG = -4.0;  // Side 1 (−) along controller normal
 
     /* ===================== Timings (20 TPS) ===================== */
-    private static final int PREPARE_TICKS_MC          = 60;
-    private static final int WASH_TICKS_MC             = 100;
-    private static final int COOLDOWN_TICKS_MC         = 600;
-
-    private static final int GATE_ANIMATION_OPEN_TICKS  = 160;
-    private static final int GATE_ANIMATION_CLOSE_TICKS = 160;
-
-    private static final int CIRCULAR_STEP_TICKS = 6; // for wait light chase
-    private static final int MIDDLE_OPEN_TIMEOUT_TICKS = 600; // auto-close safety
+    // Phase order, durations and effects come from the gate's cycle definition (see GateCycles)
+
+    /* ===================== Prediction ===================== */
+    // Extra blocks sampled around the side rectangles while idle with prediction on;
+    // a sprinting player covers ~17 blocks in the default 60-tick prepare window
+    private static final double PREDICT_RANGE = 18.0;
+
+    /* ===================== Lamp programs ===================== */
+    // Lamps evaluate these client-side (GateLightBlockEntity.Pattern); reassigned only when the key changes
+    private static final int LAMPS_UNSET = -1;
+    private static final int LAMPS_OFF = 0;
+    private static final int LAMPS_PREPARE_SIDE1 = 1;
+    private static final int LAMPS_PREPARE_SIDE2 = 2;
+    private static final int LAMPS_BLINK_ALL = 3;
+    private static final int LAMPS_CHASE = 4;
 
     /* ===================== Bound outer gates ===================== */
     private BlockPos gate1 = null; // NEG
@@ -121,17 +129,38 @@ public final class KarmaGateController {
     /* ===================== Runtime ===================== */
     private int prepare1 = 0;
     private int prepare2 = 0;
-    private int washTicks = 0;
-    private int cooldownTicks = 0;
-    private int lampBlink = 0;
-
-    // door animation waits
-    private int outerAnimWait = 0;  // used in ClosingAirLock (close) and OpeningSide (open)
-    private int innerAnimWait = 0;  // used in OpeningMiddle (open) and ClosingMiddle (close)
-    private int middleOpenTicks = 0; // ticks spent in MiddleOpen
+    private int lampProgram = LAMPS_UNSET;
 
     private Mode mode = Mode.MiddleClosed;
     private Side entrySide = null;   // which side initiated (NEG=SIDE1 / POS=SIDE2)
+    private Side preparingSide = null; // side whose preparing effects are applied (transient)
+
+    // Current phase deadline in world time; phaseRemaining carries it across save/load
+    private long phaseEnd = 0L;
+    private int phaseRemaining = -1;
+
+    /* ===================== Cycle definition ===================== */
+    private Identifier cycleId = GateCycles.DEFAULT_ID;
+    private GateCycle cycle = null;   // resolved lazily, dropped on datapack reload
+    private int cycleGeneration = -1;
+
+    /* ===================== Detection ===================== */
+    private final GateDetectionFilter detection = new GateDetectionFilter();
+    private final GateOccupancy occupancy = new GateOccupancy();
+    private final java.util.function.Predicate<net.minecraft.entity.Entity> triggerFilter = this::canTrigger;
+    private final AirlockCrossingTracker crossing = new AirlockCrossingTracker();
+    private boolean predictive = false; // start preparing for entities about to arrive
+
+    /* ===================== Network index ===================== */
+    private boolean indexed = false; // published to GateNetworkIndex since load
+
+    /* ===================== Client sync ===================== */
+    private final AirlockSnapshot snapshot;
+    private final CycleTimelineBroadcast timeline;
+
+    /* ===================== Heat simulation (transient, rebuilt from heatSide1/2) ===================== */
+    private final CoilThermalNetwork thermal;
+    private final CoilWaterContact waterContact = new CoilWaterContact();
 
     /* ===================== Lights ===================== */
     private final GateLightGroup lightsSide1 = new GateLightGroup(GateLightGroup.Side.SIDE1);
@@ -146,6 +175,15 @@ public final class KarmaGateController {
 
     public KarmaGateController(KarmaGateBlockEntity controllerBE) {
         this.controllerBE = controllerBE;
+        this.thermal = new CoilThermalNetwork(controllerBE);
+        this.snapshot = new AirlockSnapshot(controllerBE.getPos());
+        this.timeline = new CycleTimelineBroadcast(controllerBE.getPos());
+        crossing.setListener((type, entity, from, to, tick) -> {
+            if (type == AirlockCrossingTracker.EventType.CROSSED && KarmaGateMod.LOGGER.isDebugEnabled()) {
+                KarmaGateMod.LOGGER.debug("[GateCtrl @{}] {} crossed S{} → S{}", controllerBE.getPos(), entity,
+                        from == GateOccupancy.ZONE_SIDE1 ? 1 : 2, to == GateOccupancy.ZONE_SIDE1 ? 1 : 2);
+            }
+        });
     }
 
     /* ===================== API ===================== */
@@ -153,6 +191,7 @@ public final class KarmaGateController {
     public void setGates(BlockPos g1, BlockPos g2) {
         this.gate1 = g1;
         this.gate2 = g2;
+        snapshot.invalidateLayout();
     }
 
     /** Bind just lights (kept for compatibility). */
@@ -161,8 +200,10 @@ public final class KarmaGateController {
         Direction.Axis rotatedAxis = (gateAxis == Direction.Axis.X) ? Direction.Axis.Z : Direction.Axis.X;
         lightsSide1.bindLights(world, pos, rotatedAxis, radius);
         lightsSide2.bindLights(world, pos, rotatedAxis, radius);
+        snapshot.invalidateLayout();
         lightsSide1.allOff(world);
         lightsSide2.allOff(world);
+        lampProgram = LAMPS_OFF;
     }
 
     /** Bind lights and scan + bind nearby WaterStream/HeatCoil/Steam/Hologram BEs split by side. */
@@ -207,6 +248,11 @@ public final class KarmaGateController {
             }
         }
 
+        thermal.bind(world, heatSide1, heatSide2);
+        waterContact.bind(world, waterSide1, waterSide2, thermal);
+        snapshot.invalidateLayout();
+        publishToIndex(world);
+
         // Apply current shared karma levels to all found holograms
         applyKarmaToList(world, hologramSide1, karmaSide1);
         applyKarmaToList(world, hologramSide2, karmaSide2);
@@ -217,16 +263,16 @@ public final class KarmaGateController {
 
     public void resetOnBind() {
         prepare1 = prepare2 = 0;
-        washTicks = 0;
-        cooldownTicks = 0;
-        lampBlink = 0;
-        outerAnimWait = innerAnimWait = 0;
-    middleOpenTicks = 0;
+        lampProgram = LAMPS_OFF;
+        phaseEnd = 0L;
+        phaseRemaining = -1;
         entrySide = null;
+        preparingSide = null;
         mode = Mode.MiddleClosed;
+        timeline.diverge();
         lightsSide1.allOff(controllerBE.getWorld());
         lightsSide2.allOff(controllerBE.getWorld());
-        controllerBE.setOpen(false);
+        controllerBE.setOpen(false, false);
         stopAllWater(controllerBE.getWorld());
         stopAllHeat(controllerBE.getWorld());
         stopAllSteam(controllerBE.getWorld());
@@ -238,8 +284,36 @@ public final class KarmaGateController {
     /* ===================== Tick ===================== */
 
     public void tick(World world, BlockPos pos, BlockState state) {
-        if (world == null || world.isClient) return;
-        lampBlink++;
+        if (!(world instanceof ServerWorld sw)) return;
+
+        // Bound BEs queue their changes while we tick; the snapshot below picks them up as one message
+        tickCycle(world, pos, state);
+
+        if (snapshot.needsLayout()) {
+            snapshot.rebuildLayout(sw, lightsSide1.getRefs(), lightsSide2.getRefs(), waterSide1, waterSide2,
+                    heatSide1, heatSide2, steamSide1, steamSide2, hologramSide1, hologramSide2, gate1, gate2);
+        }
+        // Snapshot first: a player new to this airlock needs the layout before the timeline replays
+        boolean running = mode != Mode.MiddleClosed && mode != Mode.Broken && entrySide != null;
+        snapshot.setTimeline(running);
+        snapshot.flush(sw);
+        GateCycle c = cycle();
+        timeline.sync(sw, c, running ? mode : Mode.MiddleClosed, entrySide == Side.SIDE2 ? 2 : 1,
+                phaseEnd - c.duration(mode));
+    }
+
+    private void tickCycle(World world, BlockPos pos, BlockState state) {
+        if (!indexed) publishToIndex(world);
+
+        // All bound coils are simulated together; sleeps while nothing changes
+        if (!thermal.isBound()) {
+            thermal.bind(world, heatSide1, heatSide2);
+            waterContact.invalidate();
+        }
+        if (!waterContact.isBound()) waterContact.bind(world, waterSide1, waterSide2, thermal);
+        waterContact.applyContact(thermal);
+        thermal.step(world);
+        waterContact.broadcastSteam(world, thermal, pos);
 
         // orientation
         Direction.Axis gateAxis   = state.get(KarmaGateBlock.AXIS);
@@ -293,208 +367,191 @@ public final class KarmaGateController {
             cHalfAxis = Math.max(2.5, Math.min(s1HalfAxis, s2HalfAxis) - 2.0);
         }
 
-    boolean inSide1 = anyPlayerInRectForSide(world,
-                s1cx, s1cz,
+        occupancy.setRect(GateOccupancy.SIDE1, s1cx, s1cz,
                 (gateAxis == Direction.Axis.X) ? s1HalfAxis : widthHalf,
-        (gateAxis == Direction.Axis.X) ? widthHalf : s1HalfAxis,
-        Side.SIDE1);
-
-    boolean inSide2 = anyPlayerInRectForSide(world,
-                s2cx, s2cz,
+                (gateAxis == Direction.Axis.X) ? widthHalf : s1HalfAxis);
+        occupancy.setRect(GateOccupancy.SIDE2, s2cx, s2cz,
                 (gateAxis == Direction.Axis.X) ? s2HalfAxis : widthHalf,
-        (gateAxis == Direction.Axis.X) ? widthHalf : s2HalfAxis,
-        Side.SIDE2);
-
-        boolean inCenter = anyPlayerInRect(world,
-                centerX, centerZ,
+                (gateAxis == Direction.Axis.X) ? widthHalf : s2HalfAxis);
+        occupancy.setRect(GateOccupancy.CENTER, centerX, centerZ,
                 (gateAxis == Direction.Axis.X) ? cHalfAxis : widthHalf,
                 (gateAxis == Direction.Axis.X) ? widthHalf : cHalfAxis);
 
-        /* cooldown gates all */
-        if (cooldownTicks > 0) {
-            cooldownTicks--;
-            lightsSide1.allOff(world);
-            lightsSide2.allOff(world);
-            controllerBE.setOpen(false);
-            if (cooldownTicks == 0 && mode == Mode.Closed) {
-                mode = Mode.MiddleClosed;
-                setHologramTargetLevels(world, 0.0f, 0.0f);
-                setHologramLowPower(world, false, false);
-                KarmaGateMod.LOGGER.info("[GateCtrl @{}] cooldown done → MiddleClosed", controllerBE.getPos());
-            }
-            return;
-        }
+        // Look past the rectangles only while waiting for someone (prediction is idle-only)
+        occupancy.setLookahead(predictive && mode == Mode.MiddleClosed ? PREDICT_RANGE : 0.0);
+
+        // One union query per tick; a disabled side (LEVEL_D) ignores everything in it
+        occupancy.sample(world, world.getTime(), pos.getY(), detection.playersOnly(), triggerFilter);
+        boolean inSide1 = isSideEnabled(Side.SIDE1) && occupancy.isOccupied(GateOccupancy.SIDE1);
+        boolean inSide2 = isSideEnabled(Side.SIDE2) && occupancy.isOccupied(GateOccupancy.SIDE2);
+        boolean inCenter = occupancy.isOccupied(GateOccupancy.CENTER);
+        crossing.update(occupancy, world.getTime());
+
+        GateCycle c = cycle();
+        long now = world.getTime();
+        if (phaseRemaining >= 0) { phaseEnd = now + phaseRemaining; phaseRemaining = -1; }
+        // Saves from before the cycle start was persisted resume mid-cycle unarmed
+        if (mode != Mode.MiddleClosed && mode != Mode.Broken && !crossing.inCycle()) crossing.beginCycle(now);
 
         switch (mode) {
-            case MiddleClosed -> {
-                // ignore if both sides occupied or someone idling in center
-                if ((inSide1 && inSide2) || inCenter) {
-                    prepare1 = prepare2 = 0;
-                    lightsSide1.allOff(world);
-                    lightsSide2.allOff(world);
-                    controllerBE.setOpen(false);
-                    break;
-                }
+            case MiddleClosed -> tickIdle(world, c, now, inSide1, inSide2, inCenter);
 
-                // prepare gating
-                prepare1 = inSide1 && !inSide2 ? Math.min(prepare1 + 1, PREPARE_TICKS_MC) : 0;
-                prepare2 = inSide2 && !inSide1 ? Math.min(prepare2 + 1, PREPARE_TICKS_MC) : 0;
-
-                if (prepare1 > 0 && prepare2 == 0) {
-                    lightsSide1.blinkBottomTopAlternate(world, lampBlink);
-                    lightsSide2.allOff(world);
-                    setHologramTargetLevelSide2(world, 1.0f);
-                    setWaterFlowForSide(world, opposite(Side.SIDE1), 1.0f);
-                } else if (prepare2 > 0 && prepare1 == 0) {
-                    lightsSide2.blinkBottomTopAlternate(world, lampBlink);
-                    lightsSide1.allOff(world);
-                    setHologramTargetLevelSide1(world, 1.0f);
-                    setWaterFlowForSide(world, opposite(Side.SIDE2), 1.0f);
-                } else {
-                    lightsSide1.allOff(world);
-                    lightsSide2.allOff(world);
-                    // stop all water
-                    stopAllWater(world);
-                    // reset hologram targets
-                    setHologramTargetLevels(world, 0.0f, 0.0f);
-                    setHologramLowPower(world, false, false);
-                }
+            case Broken -> {
+                // intentionally inert
+            }
 
-                if (prepare1 >= PREPARE_TICKS_MC) {
-                    entrySide = Side.SIDE1;
-                    setOuterOpen(world, entrySide, false);
-                    outerAnimWait = GATE_ANIMATION_CLOSE_TICKS;
-                    controllerBE.setOpen(false);
-                    washTicks = 0;
-                    lightsSide1.allOff(world); lightsSide2.allOff(world);
-                    mode = Mode.ClosingAirLock;
-                    setWaterFlowForSide(world, opposite(entrySide), 1.0f);
-                    setHeatEnabledForSide(world, entrySide, true);
-                    setHologramTargetLevelSide1(world, 1.0f);
-                    KarmaGateMod.LOGGER.info("[GateCtrl @{}] PREP S1 → ClosingAirLock", controllerBE.getPos());
-                } else if (prepare2 >= PREPARE_TICKS_MC) {
-                    entrySide = Side.SIDE2;
-                    setOuterOpen(world, entrySide, false);
-                    outerAnimWait = GATE_ANIMATION_CLOSE_TICKS;
-                    controllerBE.setOpen(false);
-                    washTicks = 0;
-                    lightsSide1.allOff(world); lightsSide2.allOff(world);
-                    mode = Mode.ClosingAirLock;
-                    setWaterFlowForSide(world, opposite(entrySide), 1.0f);
-                    setHeatEnabledForSide(world, entrySide, true);
-                    setHologramTargetLevelSide2(world, 1.0f);
-                    KarmaGateMod.LOGGER.info("[GateCtrl @{}] PREP S2 → ClosingAirLock", controllerBE.getPos());
+            default -> {
+                // Table-driven phase: per-tick work is only the exit check; lamps run their programs
+                setLamps(world, switch (c.lights(mode)) {
+                    case OFF -> LAMPS_OFF;
+                    case BLINK_ALL -> LAMPS_BLINK_ALL;
+                    case CHASE -> LAMPS_CHASE;
+                }, now);
+
+                // leave as soon as the last tracked entity has crossed (O(1) head counts, no rect tests)
+                boolean allCrossed = mode == Mode.MiddleOpen && crossing.allCrossed(
+                        entrySide == Side.SIDE1 ? GateOccupancy.ZONE_SIDE1 : GateOccupancy.ZONE_SIDE2);
+
+                if (allCrossed || now >= phaseEnd) {
+                    // Clients run the same schedule; anything else (early exit, missed ticks) re-anchors them
+                    if (allCrossed || now > phaseEnd) timeline.diverge();
+                    Mode from = mode;
+                    Mode to = c.next(mode);
+                    if (to == Mode.MiddleClosed) finishCycle(world, c, now);
+                    else enterPhase(world, c, to, now);
+                    KarmaGateMod.LOGGER.info("[GateCtrl @{}] {} {} → {}", controllerBE.getPos(), from,
+                            allCrossed ? "all crossed" : "done", to);
                 }
             }
+        }
+    }
 
-            case ClosingAirLock -> {
-                if (outerAnimWait > 0) { outerAnimWait--; break; }
-
-                mode = Mode.Waiting;
-                setWaterFlowForSide(world, entrySide, 0.7f);
-                setWaterFlowForSide(world, opposite(entrySide), 0.0f);
-                setSteamEnabledForSide(world, entrySide, true);
-                KarmaGateMod.LOGGER.info("[GateCtrl @{}] outer closed → Waiting", controllerBE.getPos());
-            }
+    /* ===================== Cycle interpreter ===================== */
 
-            case Waiting -> {
-                lightsSide1.allOff(world); lightsSide2.allOff(world);
+    /**
+     * Occupancy-driven idle state: count up prepare on a lone occupied side, then start the cycle.
+     * With prediction on, a side also counts as occupied while someone is due to reach it within
+     * the prepare window, so they find the cycle ready on arrival; it still only starts once
+     * they are actually there.
+     */
+    private void tickIdle(World world, GateCycle c, long now, boolean inSide1, boolean inSide2, boolean inCenter) {
+        // ignore if both sides occupied or someone idling in center
+        if ((inSide1 && inSide2) || inCenter) {
+            prepare1 = prepare2 = 0;
+            setLamps(world, LAMPS_OFF, now);
+            controllerBE.setOpen(false, false);
+            return;
+        }
 
-                washTicks++;
-                if (washTicks >= WASH_TICKS_MC) {
-                    controllerBE.setOpen(true);                 // open middle
-                    innerAnimWait = GATE_ANIMATION_OPEN_TICKS;  // wait for anim
-                    mode = Mode.OpeningMiddle;
+        // Predicted arrivals never override someone already waiting on the other side
+        boolean soon1 = inSide1 || (!inSide2 && predictsArrival(Side.SIDE1, c.prepareTicks));
+        boolean soon2 = inSide2 || (!inSide1 && predictsArrival(Side.SIDE2, c.prepareTicks));
 
-                    // Turn off opposite water, turn off entry heat
-                    setWaterFlowForSide(world, entrySide, 0.0f);
-                    setWaterFlowForSide(world, opposite(entrySide), 1.0f);
-                    setHeatEnabledForSide(world, entrySide, false);
-                    setSteamEnabledForSide(world, entrySide, false);
+        // prepare gating; turning away drops back to 0 and the idle effects on the next tick
+        prepare1 = soon1 && !soon2 ? Math.min(prepare1 + 1, c.prepareTicks) : 0;
+        prepare2 = soon2 && !soon1 ? Math.min(prepare2 + 1, c.prepareTicks) : 0;
 
-                    KarmaGateMod.LOGGER.info("[GateCtrl @{}] Waiting done → OpeningMiddle", controllerBE.getPos());
-                }
-            }
+        Side preparing = (prepare1 > 0 && prepare2 == 0) ? Side.SIDE1
+                : (prepare2 > 0 && prepare1 == 0) ? Side.SIDE2 : null;
+        setPreparing(world, c, preparing);
 
-            case OpeningMiddle -> {
-                if (innerAnimWait > 0) { innerAnimWait--; break; }
-                mode = Mode.MiddleOpen;
-                setWaterFlowForSide(world, opposite(entrySide), 0.0f);
-                middleOpenTicks = 0; // start timeout counter
-                KarmaGateMod.LOGGER.info("[GateCtrl @{}] inner open → MiddleOpen", controllerBE.getPos());
-            }
+        setLamps(world, preparing == Side.SIDE1 ? LAMPS_PREPARE_SIDE1
+                : preparing == Side.SIDE2 ? LAMPS_PREPARE_SIDE2 : LAMPS_OFF, now);
 
-            case MiddleOpen -> {
-                // idle lights chase while inner is open
-                chaseCircularWaitSequence(world);
-                // advance timeout counter
-                middleOpenTicks++;
-
-                // leave when center is empty (and the player progressed to the opposite side)
-                boolean entryOccupied = (entrySide == Side.SIDE1) ? inSide1 : inSide2;
-                boolean oppositeOccupied = (entrySide == Side.SIDE1) ? inSide2 : inSide1;
-                boolean allCrossed = !entryOccupied && !inCenter && oppositeOccupied;
-                boolean timeout = middleOpenTicks >= MIDDLE_OPEN_TIMEOUT_TICKS;
-
-                if (allCrossed || timeout) {
-                    controllerBE.setOpen(false);                // close middle
-                    innerAnimWait = GATE_ANIMATION_CLOSE_TICKS; // wait for anim
-                    mode = Mode.ClosingMiddle;
-
-                    // Water ON on entry side while closing middle
-                    setWaterFlowForSide(world, entrySide, 1.0f);
-
-                    if (timeout) {
-                        KarmaGateMod.LOGGER.info("[GateCtrl @{}] timeout {} ticks → ClosingMiddle", controllerBE.getPos(), MIDDLE_OPEN_TIMEOUT_TICKS);
-                    } else {
-                        KarmaGateMod.LOGGER.info("[GateCtrl @{}] all crossed → ClosingMiddle", controllerBE.getPos());
-                    }
-                }
-            }
+        boolean arrived = preparing == Side.SIDE1 ? inSide1 : inSide2;
+        if (preparing != null && arrived && (preparing == Side.SIDE1 ? prepare1 : prepare2) >= c.prepareTicks) {
+            entrySide = preparing;
+            preparingSide = null; // consumed by the cycle
+            crossing.beginCycle(now);
+            enterPhase(world, c, c.first, now);
+            KarmaGateMod.LOGGER.info("[GateCtrl @{}] PREP {} → {} (cycle {})", controllerBE.getPos(), entrySide, mode, c.id);
+        }
+    }
 
-            case ClosingMiddle -> {
-                lightsSide1.blinkAll(world, lampBlink);
-                lightsSide2.blinkAll(world, lampBlink);
+    /** True when an entity outside the rectangles will enter {@code side}'s within {@code window} ticks. */
+    private boolean predictsArrival(Side side, int window) {
+        if (!predictive || !isSideEnabled(side)) return false;
+        int slot = side == Side.SIDE1 ? GateOccupancy.SIDE1 : GateOccupancy.SIDE2;
+        List<net.minecraft.entity.Entity> entities = occupancy.entities();
+        for (int i = 0; i < entities.size(); i++) {
+            if (occupancy.zoneAt(i) != GateOccupancy.ZONE_NONE) continue;
+            if (occupancy.arrivalTicks(slot, i) <= window) return true;
+        }
+        return false;
+    }
 
-                if (innerAnimWait > 0) { innerAnimWait--; break; }
+    /** Apply preparing/idle effects only when the preparing side actually changes. */
+    private void setPreparing(World world, GateCycle c, Side side) {
+        if (side == preparingSide) return;
+        preparingSide = side;
+        if (side == null) applyEffects(world, c.idle, Side.SIDE1);
+        else applyEffects(world, c.preparing, side);
+    }
 
-                // Open outer on entry side
-                setOuterOpen(world, entrySide, true);
-                outerAnimWait = GATE_ANIMATION_OPEN_TICKS;
-                mode = Mode.OpeningSide;
+    private void enterPhase(World world, GateCycle c, Mode next, long now) {
+        mode = next;
+        phaseEnd = now + c.duration(next);
+        applyEffects(world, c.enter(next), entrySide);
+        controllerBE.markDirty();
+        publishToIndex(world);
+    }
 
-                // Stop water on entry side; stop heat on opposite side
-                setWaterFlowForSide(world, entrySide, 0.5f);
-                setHeatEnabledForSide(world, opposite(entrySide), false);
+    private void finishCycle(World world, GateCycle c, long now) {
+        crossing.endCycle(now);
+        mode = Mode.MiddleClosed;
+        prepare1 = prepare2 = 0;
+        preparingSide = null;
+        applyEffects(world, c.idle, Side.SIDE1);
+        controllerBE.markDirty();
+        publishToIndex(world);
+    }
 
+    /** Push this airlock's summary into the per-world index (no-op when nothing changed). */
+    private void publishToIndex(World world) {
+        if (!(world instanceof ServerWorld sw)) return;
+        BlockState st = world.getBlockState(controllerBE.getPos());
+        if (!(st.getBlock() instanceof KarmaGateBlock)) return;
+        GateNetworkIndex.get(sw).upsert(controllerBE.getPos(), st.get(KarmaGateBlock.AXIS),
+                gate1, gate2, karmaSide1, karmaSide2, mode);
+        indexed = true;
+    }
 
-                KarmaGateMod.LOGGER.info("[GateCtrl @{}] inner closed → OpeningSide ({})", controllerBE.getPos(), entrySide);
-            }
+    /** One effect vector; every slot is a no-op when left unchanged in the definition. */
+    private void applyEffects(World world, GateCycle.Effects fx, Side entry) {
+        if (entry == null) return;
+        Side opp = opposite(entry);
+        if (fx.entryGate != GateCycle.KEEP)  setOuterOpen(world, entry, fx.entryGate == 1);
+        if (fx.middleGate != GateCycle.KEEP) controllerBE.setOpen(fx.middleGate == 1, false);
+        if (!Float.isNaN(fx.waterEntry))     setWaterFlowForSide(world, entry, fx.waterEntry);
+        if (!Float.isNaN(fx.waterOpposite))  setWaterFlowForSide(world, opp, fx.waterOpposite);
+        if (fx.heatEntry != GateCycle.KEEP)     setHeatEnabledForSide(world, entry, fx.heatEntry == 1);
+        if (fx.heatOpposite != GateCycle.KEEP)  setHeatEnabledForSide(world, opp, fx.heatOpposite == 1);
+        if (fx.steamEntry != GateCycle.KEEP)    setSteamEnabledForSide(world, entry, fx.steamEntry == 1);
+        if (fx.steamOpposite != GateCycle.KEEP) setSteamEnabledForSide(world, opp, fx.steamOpposite == 1);
+        if (!Float.isNaN(fx.holoEntry))      setHologramTargetLevelForSide(world, entry, fx.holoEntry);
+        if (!Float.isNaN(fx.holoOpposite))   setHologramTargetLevelForSide(world, opp, fx.holoOpposite);
+        if (fx.lowPowerEntry != GateCycle.KEEP)    setHologramLowPowerForSide(world, entry, fx.lowPowerEntry == 1);
+        if (fx.lowPowerOpposite != GateCycle.KEEP) setHologramLowPowerForSide(world, opp, fx.lowPowerOpposite == 1);
+    }
 
-            case OpeningSide -> {
-                lightsSide1.blinkAll(world, lampBlink);
-                lightsSide2.blinkAll(world, lampBlink);
-                if (outerAnimWait > 0) { outerAnimWait--; break; }
-                // once outer is open, enter cooldown
-                cooldownTicks = COOLDOWN_TICKS_MC;
-                prepare1 = prepare2 = 0;
-                washTicks = 0;
-                lightsSide1.allOff(world); lightsSide2.allOff(world);
-                mode = Mode.Closed;
-                setWaterFlowForSide(world, entrySide, 0.0f);
-                setHologramTargetLevels(world, 0.65f, 0.65f);
-                setHologramLowPower(world, true, true);
-                KarmaGateMod.LOGGER.info("[GateCtrl @{}] outer open → Closed (cooldown={})", controllerBE.getPos(), COOLDOWN_TICKS_MC);
-            }
+    /** Compiled table for this gate; re-resolved after a datapack reload. */
+    private GateCycle cycle() {
+        int gen = GateCycles.generation();
+        if (cycle == null || cycleGeneration != gen) {
+            cycle = GateCycles.get(cycleId);
+            cycleGeneration = gen;
+        }
+        return cycle;
+    }
 
-            case Closed -> {
-                // cooldown handled at top
-            }
+    public Identifier getCycleId() { return cycleId; }
 
-            case Broken -> {
-                // intentionally inert
-            }
-        }
+    /** Select the cycle definition; takes effect from the next phase transition. */
+    public void setCycleId(Identifier id) {
+        if (id == null || id.equals(cycleId)) return;
+        cycleId = id;
+        cycle = null;
+        controllerBE.markDirty();
     }
 
     /* ===================== DRY Helpers (water/heat/steam) ===================== */
@@ -517,6 +574,7 @@ public final class KarmaGateController {
     private void setWaterFlow(World world, List<BlockPos> list, float flow) {
         //KarmaGateMod.LOGGER.info("[GateCtrl @{}] setWaterFlow: targets={}, flow={}, enable={}", controllerBE.getPos(), list.size(), String.format("%.2f", flow), enable);
         for (BlockPos p : list) {
+            waterContact.setTarget(p, flow);
             BlockEntity be = world.getBlockEntity(p);
             if (be instanceof WaterStreamBlockEntity ws) {
                 ws.setTargetFlow(flow);
@@ -538,6 +596,7 @@ public final class KarmaGateController {
         for (BlockPos p : list) {
             BlockEntity be = world.getBlockEntity(p);
             if (be instanceof HeatCoilBlockEntity coil) {
+                thermal.attach(coil);
                 coil.setEnabled(enabled);
             }
         }
@@ -546,17 +605,8 @@ public final class KarmaGateController {
     private void enableSteam(World world, List<BlockPos> list, boolean enabled) {
         for (BlockPos p : list) {
             BlockEntity be = world.getBlockEntity(p);
-            if (be instanceof SteamEmitterBlockEntity emitter) {
-                emitter.setEnabled(enabled);
-                // Also mirror ENABLED into blockstate so client-side ticks run particles/sound
-                BlockState s = world.getBlockState(p);
-                if (s.getBlock() instanceof SteamEmitterBlock) {
-                    boolean cur = s.get(SteamEmitterBlock.ENABLED);
-                    if (cur != enabled) {
-                        world.setBlockState(p, s.with(SteamEmitterBlock.ENABLED, enabled), 3);
-                    }
-                }
-            }
+            // Clients follow the synced flag (or play it from the cycle timeline)
+            if (be instanceof SteamEmitterBlockEntity emitter) emitter.setEnabled(enabled);
         }
     }
 
@@ -573,24 +623,29 @@ public final class KarmaGateController {
         enableSteam(world, steamSide2, false);
     }
 
-    /** Check if any player is inside an axis-aligned rectangle centered at (cx,cz) with half extents (hx,hz). */
-    private static boolean anyPlayerInRect(World world, double cx, double cz, double hx, double hz) {
-        if (world == null) return false;
-        double ahx = Math.max(0.0, Math.abs(hx));
-        double ahz = Math.max(0.0, Math.abs(hz));
-        // If it's a square, delegate to the existing square helper for consistency
-        if (Math.abs(ahx - ahz) < 1e-6) {
-            return KarmaGateBlockEntity.anyPlayerInSquare(world, cx, cz, ahx);
-        }
-        double minX = cx - ahx, maxX = cx + ahx;
-        double minZ = cz - ahz, maxZ = cz + ahz;
-        for (net.minecraft.entity.player.PlayerEntity p : world.getPlayers()) {
-            if (!playerEligibleForDetection(p)) continue; // ignore spectators and non-eligible players
-            double px = p.getX();
-            double pz = p.getZ();
-            if (px >= minX && px <= maxX && pz >= minZ && pz <= maxZ) return true;
-        }
-        return false;
+    /** Entity filter used by occupancy: the configured detection filter plus player eligibility. */
+    private boolean canTrigger(net.minecraft.entity.Entity e) {
+        if (!detection.matches(e)) return false;
+        return !(e instanceof net.minecraft.entity.player.PlayerEntity p) || playerEligibleForDetection(p);
+    }
+
+    public GateDetectionFilter getDetection() { return detection; }
+
+    /** Throughput/latency counters and current head counts from the crossing tracker. */
+    public String describeCrossings() { return crossing.describe(); }
+
+    public boolean isPredictive() { return predictive; }
+
+    /** Start preparing for entities heading toward a side, not only once they stand in it. */
+    public void setPredictive(boolean on) {
+        predictive = on;
+        controllerBE.markDirty();
+    }
+
+    /** Edit which entities can trigger this airlock; persisted with the controller. */
+    public void editDetection(java.util.function.Consumer<GateDetectionFilter> edit) {
+        edit.accept(detection);
+        controllerBE.markDirty();
     }
 
     /** Basic filter to decide if a player should be considered by gate detection. */
@@ -605,37 +660,6 @@ public final class KarmaGateController {
         return true;
     }
 
-    /** Side-aware detection: returns false if the side is disabled (LEVEL_D) or no eligible players in rect. */
-    private boolean anyPlayerInRectForSide(World world, double cx, double cz, double hx, double hz, Side side) {
-        if (world == null) return false;
-        if (!isSideEnabled(side)) return false; // side disabled via karma level → ignore entirely
-        double ahx = Math.max(0.0, Math.abs(hx));
-        double ahz = Math.max(0.0, Math.abs(hz));
-        if (Math.abs(ahx - ahz) < 1e-6) {
-            // Square case: reuse square helper but still filter players by eligibility and side karma
-            double minX = cx - ahx, maxX = cx + ahx;
-            double minZ = cz - ahz, maxZ = cz + ahz;
-            for (net.minecraft.entity.player.PlayerEntity p : world.getPlayers()) {
-                if (!playerEligibleForDetection(p)) continue;
-                if (!passesKarmaForSide(p, side)) continue;
-                double px = p.getX();
-                double pz = p.getZ();
-                if (px >= minX && px <= maxX && pz >= minZ && pz <= maxZ) return true;
-            }
-            return false;
-        }
-        double minX = cx - ahx, maxX = cx + ahx;
-        double minZ = cz - ahz, maxZ = cz + ahz;
-        for (net.minecraft.entity.player.PlayerEntity p : world.getPlayers()) {
-            if (!playerEligibleForDetection(p)) continue;
-            if (!passesKarmaForSide(p, side)) continue;
-            double px = p.getX();
-            double pz = p.getZ();
-            if (px >= minX && px <= maxX && pz >= minZ && pz <= maxZ) return true;
-        }
-        return false;
-    }
-
     /** A side is enabled when its karma requirement is not LEVEL_D. */
     private boolean isSideEnabled(Side side) {
         return switch (side) {
@@ -644,48 +668,41 @@ public final class KarmaGateController {
         };
     }
 
-    /** Placeholder per-player/per-side karma rule. For now, only gate-wide side disable is enforced. */
-    private boolean passesKarmaForSide(net.minecraft.entity.player.PlayerEntity p, Side side) {
-        // If the side is disabled, no player passes. Otherwise allow all.
-        return isSideEnabled(side);
-    }
-
     /* ===================== Gate helpers ===================== */
 
     private void setOuterOpen(World world, Side side, boolean open) {
         BlockPos pos = (side == Side.SIDE1) ? gate1 : gate2;
         if (world == null || pos == null) return;
         BlockEntity be = world.getBlockEntity(pos);
-        if (be instanceof KarmaGateBlockEntity g) g.setOpen(open);
+        if (be instanceof KarmaGateBlockEntity g) g.setOpen(open, false);
     }
 
-    private void chaseCircularWaitSequence(World world) {
+    /** Assign lamp programs when the pattern changes; a running pattern costs nothing per tick. */
+    private void setLamps(World world, int program, long now) {
+        if (program == lampProgram) return;
+        lampProgram = program;
+        switch (program) {
+            case LAMPS_PREPARE_SIDE1 -> { lightsSide1.blinkBottomTopAlternate(world, now); lightsSide2.allOff(world); }
+            case LAMPS_PREPARE_SIDE2 -> { lightsSide2.blinkBottomTopAlternate(world, now); lightsSide1.allOff(world); }
+            case LAMPS_BLINK_ALL -> { lightsSide1.blinkAll(world, now); lightsSide2.blinkAll(world, now); }
+            case LAMPS_CHASE -> chaseCircularWaitSequence(world, now);
+            default -> { lightsSide1.allOff(world); lightsSide2.allOff(world); }
+        }
+    }
+
+    /** Circular chase around both sides, starting at the entry side's bottom pair. */
+    private void chaseCircularWaitSequence(World world, long origin) {
         int total = lightsSide1.getRefs().size() + lightsSide2.getRefs().size();
         if (total < 2) {
-            lightsSide1.blinkAll(world, lampBlink);
-            lightsSide2.blinkAll(world, lampBlink);
+            lightsSide1.blinkAll(world, origin);
+            lightsSide2.blinkAll(world, origin);
             return;
         }
-        int step = (lampBlink / CIRCULAR_STEP_TICKS) % 4;
-        lightsSide1.allOff(world);
-        lightsSide2.allOff(world);
-
-        boolean clockwise = (entrySide == Side.SIDE1);
-        if (clockwise) {
-            switch (step) {
-                case 0 -> lightsSide1.lightBottomPairOnly(world);
-                case 1 -> lightsSide2.lightBottomPairOnly(world);
-                case 2 -> lightsSide2.lightTopPairOnly(world);
-                case 3 -> lightsSide1.lightTopPairOnly(world);
-            }
-        } else if (entrySide == Side.SIDE2) {
-            switch (step) {
-                case 0 -> lightsSide2.lightBottomPairOnly(world);
-                case 1 -> lightsSide1.lightBottomPairOnly(world);
-                case 2 -> lightsSide1.lightTopPairOnly(world);
-                case 3 -> lightsSide2.lightTopPairOnly(world);
-            }
-        }
+        // Steps: entry bottom, far bottom, far top, entry top
+        GateLightGroup entry = (entrySide == Side.SIDE2) ? lightsSide2 : lightsSide1;
+        GateLightGroup far = (entry == lightsSide1) ? lightsSide2 : lightsSide1;
+        entry.chase(world, origin, 0, 3);
+        far.chase(world, origin, 1, 2);
     }
 
     /* ===================== Accessors for your effect logic ===================== */
@@ -777,6 +794,7 @@ public final class KarmaGateController {
             // Optionally add to list so future updates are instant
             if (side == Side.SIDE1 && !hologramSide1.contains(pos)) hologramSide1.add(pos);
             else if (side == Side.SIDE2 && !hologramSide2.contains(pos)) hologramSide2.add(pos);
+            snapshot.invalidateLayout();
         }
 
         if (side != null) {
@@ -819,6 +837,7 @@ public final class KarmaGateController {
             applyKarmaToList(world, hologramSide2, karmaSide2);
         }
         controllerBE.markDirty();
+        publishToIndex(world);
     }
 
     private void applyKarmaToList(World world, List<BlockPos> list, KarmaLevel lvl) {
@@ -854,11 +873,11 @@ public final class KarmaGateController {
         // timers/state
         nbt.putInt("prepare1", prepare1);
         nbt.putInt("prepare2", prepare2);
-        nbt.putInt("washTicks", washTicks);
-        nbt.putInt("cooldownTicks", cooldownTicks);
-        nbt.putInt("lampBlink", lampBlink);
-        nbt.putInt("outerAnimWait", outerAnimWait);
-        nbt.putInt("innerAnimWait", innerAnimWait);
+        nbt.putInt("phaseRemaining", remainingPhaseTicks());
+        nbt.putString("cycle", cycleId.toString());
+        detection.writeNbt(nbt, "detect");
+        nbt.putBoolean("predictive", predictive);
+        crossing.writeNbt(nbt, "crossStats");
 
         nbt.putString("mode", mode.name());
         nbt.putString("entrySide", entrySide == null ? "null" : entrySide.name());
@@ -895,15 +914,37 @@ public final class KarmaGateController {
 
         prepare1 = nbt.getInt("prepare1");
         prepare2 = nbt.getInt("prepare2");
-        washTicks = nbt.getInt("washTicks");
-        cooldownTicks = nbt.getInt("cooldownTicks");
-        lampBlink = nbt.getInt("lampBlink");
-        outerAnimWait = nbt.getInt("outerAnimWait");
-        innerAnimWait = nbt.getInt("innerAnimWait");
+        lampProgram = LAMPS_UNSET;
 
         try { mode = Mode.valueOf(nbt.getString("mode")); }
         catch (IllegalArgumentException e) { mode = Mode.MiddleClosed; }
 
+        Identifier cid = nbt.contains("cycle") ? Identifier.tryParse(nbt.getString("cycle")) : null;
+        cycleId = cid != null ? cid : GateCycles.DEFAULT_ID;
+        cycle = null;
+        preparingSide = null;
+        indexed = false;
+        snapshot.invalidateLayout();
+        timeline.diverge();
+        detection.readNbt(nbt, "detect");
+        predictive = nbt.getBoolean("predictive");
+        crossing.readNbt(nbt, "crossStats");
+
+        if (nbt.contains("phaseRemaining")) {
+            phaseRemaining = Math.max(0, nbt.getInt("phaseRemaining"));
+        } else {
+            // pre-table saves kept one counter per wait; map it onto the built-in durations
+            GateCycle legacy = GateCycles.builtin();
+            phaseRemaining = switch (mode) {
+                case ClosingAirLock, OpeningSide -> nbt.getInt("outerAnimWait");
+                case OpeningMiddle, ClosingMiddle -> nbt.getInt("innerAnimWait");
+                case Waiting -> Math.max(0, legacy.duration(Mode.Waiting) - nbt.getInt("washTicks"));
+                case MiddleOpen -> legacy.duration(Mode.MiddleOpen);
+                case Closed -> nbt.getInt("cooldownTicks");
+                default -> 0;
+            };
+        }
+
         String es = nbt.getString("entrySide");
         if (es == null || es.isEmpty() || "null".equals(es)) entrySide = null;
         else {
@@ -915,6 +956,8 @@ public final class KarmaGateController {
 
         waterSide1.clear(); waterSide2.clear();
         heatSide1.clear();  heatSide2.clear();
+        steamSide1.clear(); steamSide2.clear();
+        hologramSide1.clear(); hologramSide2.clear();
         readPosList(nbt, "waterSide1", waterSide1);
         readPosList(nbt, "waterSide2", waterSide2);
         readPosList(nbt, "heatSide1",  heatSide1);
@@ -923,6 +966,8 @@ public final class KarmaGateController {
         readPosList(nbt, "steamSide2", steamSide2);
         readPosList(nbt, "holoSide1", hologramSide1);
         readPosList(nbt, "holoSide2", hologramSide2);
+        thermal.invalidate();
+        waterContact.invalidate();
 
         // enum-or-float back-compat
         if (nbt.contains("karmaSide1")) {
@@ -946,6 +991,13 @@ public final class KarmaGateController {
                 controllerBE.getPos(), mode, entrySide, waterSide1.size(), waterSide2.size(), heatSide1.size(), heatSide2.size(), steamSide1.size(), steamSide2.size());
     }
 
+    private int remainingPhaseTicks() {
+        if (phaseRemaining >= 0) return phaseRemaining;
+        World world = controllerBE.getWorld();
+        if (world == null || mode == Mode.MiddleClosed || mode == Mode.Broken) return 0;
+        return (int) Math.max(0L, phaseEnd - world.getTime());
+    }
+
     /* ===================== Small NBT helpers ===================== */
     private static void writePosList(NbtCompound root, String key, List<BlockPos> list) {
         NbtCompound bag = new NbtCompound();
@@ -2,9 +2,10 @@
 package dev.fouriis.karmagate.entity.karmagate;
 
 import dev.fouriis.karmagate.entity.ModBlockEntities;
+import dev.fouriis.karmagate.network.BlockEntitySync;
+import dev.fouriis.karmagate.network.SyncSchema;
 import dev.fouriis.karmagate.particle.ModParticles;
 import dev.fouriis.karmagate.sound.ModSounds;
-import dev.fouriis.karmagate.block.karmagate.SteamEmitterBlock;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.nbt.NbtCompound;
@@ -25,37 +26,41 @@ public class SteamEmitterBlockEntity extends BlockEntity {
 
     public boolean isEnabled() { return enabled; }
     public void setEnabled(boolean enabled) {
-        System.out.println("SteamEmitterBlockEntity: setEnabled " + enabled);
         if (this.enabled != enabled) {
             this.enabled = enabled;
             markDirty();
-            if (world != null) world.updateListeners(pos, getCachedState(), getCachedState(), 3);
+            BlockEntitySync.queue(this);
         }
     }
 
-    public static void tick(World world, BlockPos pos, BlockState state, SteamEmitterBlockEntity be) {
-    // Use synced block state property so client sees the toggle without BE sync
-    if (!state.get(SteamEmitterBlock.ENABLED)) return;
+    /** Field 0 (enabled) is also carried by the airlock snapshot. */
+    public static final SyncSchema<SteamEmitterBlockEntity> SYNC = SyncSchema.<SteamEmitterBlockEntity>of()
+        .flag(be -> be.enabled, (be, v) -> be.enabled = v)
+        .unit8(be -> be.intensity, (be, v) -> be.intensity = v);
 
-    // CLIENT: spawn steam & drive loop volume
-    if (world.isClient) {
-            // vary intensity a bit so the loop breathes
-            float jitter = (float)(be.rng.nextGaussian() * 0.08);
-            float inten = Math.max(0f, Math.min(1f, be.intensity + jitter));
+    /**
+     * Client-only. Follows the synced {@link #enabled} field, which the delta channel, the
+     * airlock snapshot and timeline playback all write; no block-state update is involved.
+     */
+    public static void tick(World world, BlockPos pos, BlockState state, SteamEmitterBlockEntity be) {
+        if (!world.isClient || !be.enabled) return;
 
-            // spawn a few steam puffs per tick
-            int puffs = 1 + be.rng.nextInt(2);
-            for (int i = 0; i < puffs; i++) {
-                // Spawn anywhere within the block's X/Z bounds (inclusive of lower edge, exclusive of upper), never outside
-                double ox = pos.getX() + be.rng.nextDouble();
-                double oy = pos.getY() + 0.6 + be.rng.nextDouble() * 0.2;
-                double oz = pos.getZ() + be.rng.nextDouble();
-                world.addParticle(ModParticles.STEAM, ox, oy, oz, 0, inten, 0); // vy carries intensity
-            }
+        // vary intensity a bit so the loop breathes
+        float jitter = (float)(be.rng.nextGaussian() * 0.08);
+        float inten = Math.max(0f, Math.min(1f, be.intensity + jitter));
 
-            // tell the audio controller to run/boost the emitter loop here
-            ModSounds.onSteamBurst(pos, inten, ModSounds.STEAM_LOOP_2_EVENT);
+        // spawn a few steam puffs per tick
+        int puffs = 1 + be.rng.nextInt(2);
+        for (int i = 0; i < puffs; i++) {
+            // Spawn anywhere within the block's X/Z bounds (inclusive of lower edge, exclusive of upper), never outside
+            double ox = pos.getX() + be.rng.nextDouble();
+            double oy = pos.getY() + 0.6 + be.rng.nextDouble() * 0.2;
+            double oz = pos.getZ() + be.rng.nextDouble();
+            world.addParticle(ModParticles.STEAM, ox, oy, oz, 0, inten, 0); // vy carries intensity
         }
+
+        // tell the audio controller to run/boost the emitter loop here
+        ModSounds.onSteamBurst(pos, inten, ModSounds.STEAM_LOOP_2_EVENT);
     }
 
     @Override
@@ -1,6 +1,8 @@
 package dev.fouriis.karmagate.entity.karmagate;
 
 import dev.fouriis.karmagate.entity.ModBlockEntities;
+import dev.fouriis.karmagate.network.BlockEntitySync;
+import dev.fouriis.karmagate.network.SyncSchema;
 import net.minecraft.block.BlockState;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.registry.RegistryWrapper;
@@ -70,13 +72,26 @@ public class WaterStreamBlockEntity extends WaterfallBlockEntity {
         return nbt;
     }
 
+    public float getTargetFlow() { return targetFlow; }
+
+    /** Client: target flow from an airlock snapshot; the visual flow eases toward it as usual. */
+    public void applySnapshotFlow(float f) {
+        if (world == null || !world.isClient) return;
+        targetFlow = Math.max(0f, Math.min(1f, f));
+    }
+
     /** Sets the desired target flow; the visual flow approaches this each tick. */
     public void setTargetFlow(float f) {
         targetFlow = Math.max(0f, Math.min(1f, f));
         markDirty();
-        // Ensure clients receive updated BE data (targetFlow) immediately
-        if (world != null && !world.isClient) {
-            world.updateListeners(pos, getCachedState(), getCachedState(), 3);
-        }
+        // Ensure clients receive updated BE data (targetFlow) at the end of the tick
+        BlockEntitySync.queue(this);
     }
+
+    /**
+     * Only the target is synced; the visual flow is animated client-side.
+     * Field 0 (target flow) is also carried by the airlock snapshot.
+     */
+    public static final SyncSchema<WaterStreamBlockEntity> SYNC = SyncSchema.<WaterStreamBlockEntity>of()
+        .unit8(be -> be.targetFlow, (be, v) -> be.targetFlow = v);
 }
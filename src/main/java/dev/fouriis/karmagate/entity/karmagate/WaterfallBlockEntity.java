@@ -1,14 +1,12 @@
 package dev.fouriis.karmagate.entity.karmagate;
 
 import dev.fouriis.karmagate.entity.ModBlockEntities;
+import dev.fouriis.karmagate.network.BlockEntitySync;
+import dev.fouriis.karmagate.network.SyncSchema;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.nbt.NbtCompound;
-import net.minecraft.network.listener.ClientPlayPacketListener;
-import net.minecraft.network.packet.Packet;
-import net.minecraft.network.packet.s2c.play.BlockEntityUpdateS2CPacket;
 import net.minecraft.registry.RegistryWrapper;
-import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
@@ -67,9 +65,9 @@ public class WaterfallBlockEntity extends BlockEntity {
         markDirty();
 
         if (world != null) {
-            if (world instanceof ServerWorld sw && !world.isClient) {
-                sw.getChunkManager().markForUpdate(pos);
-            } else if (world.isClient) {
+            if (!world.isClient) {
+                BlockEntitySync.queue(this);
+            } else {
                 // On client, treat local changes as keyframes for propagation
                 long now = world.getTime();
                 FlowKeyframe last = clientKeyframes.peekLast();
@@ -77,8 +75,8 @@ public class WaterfallBlockEntity extends BlockEntity {
                     clientKeyframes.addLast(new FlowKeyframe(now, flow));
                 }
                 clientMaintainKeyframes();
+                world.updateListeners(pos, getCachedState(), getCachedState(), 3);
             }
-            world.updateListeners(pos, getCachedState(), getCachedState(), 3);
         }
     }
 
@@ -143,24 +141,30 @@ public class WaterfallBlockEntity extends BlockEntity {
     @Override
     public void readNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup lookup) {
         super.readNbt(nbt, lookup);
-        if (nbt.contains("flow")) {
-            float newFlow = clamp01(nbt.getFloat("flow"));
+        if (nbt.contains("flow")) receiveFlow(nbt.getFloat("flow"));
+    }
 
-            // If we're on the client, treat incoming changes as keyframes for propagation.
-            if (world != null && world.isClient) {
-                long now = world.getTime();
-                FlowKeyframe last = clientKeyframes.peekLast();
-                if (last == null || Math.abs(last.flow - newFlow) > 1e-4f) {
-                    clientKeyframes.addLast(new FlowKeyframe(now, newFlow));
-                }
-                // Also cap and ensure we always have history.
-                clientMaintainKeyframes();
-            }
+    /** Server value arrived (NBT or delta sync). */
+    private void receiveFlow(float value) {
+        float newFlow = clamp01(value);
 
-            flow = newFlow;
+        // If we're on the client, treat incoming changes as keyframes for propagation.
+        if (world != null && world.isClient) {
+            long now = world.getTime();
+            FlowKeyframe last = clientKeyframes.peekLast();
+            if (last == null || Math.abs(last.flow - newFlow) > 1e-4f) {
+                clientKeyframes.addLast(new FlowKeyframe(now, newFlow));
+            }
+            // Also cap and ensure we always have history.
+            clientMaintainKeyframes();
         }
+
+        flow = newFlow;
     }
 
+    public static final SyncSchema<WaterfallBlockEntity> SYNC = SyncSchema.<WaterfallBlockEntity>of()
+        .unit8(WaterfallBlockEntity::getFlow, WaterfallBlockEntity::receiveFlow);
+
     @Override
     public NbtCompound toInitialChunkDataNbt(RegistryWrapper.WrapperLookup lookup) {
         NbtCompound nbt = super.toInitialChunkDataNbt(lookup);
@@ -168,10 +172,6 @@ public class WaterfallBlockEntity extends BlockEntity {
         return nbt;
     }
 
-    @Override
-    public Packet<ClientPlayPacketListener> toUpdatePacket() {
-        return BlockEntityUpdateS2CPacket.create(this);
-    }
 
     private record FlowKeyframe(long time, float flow) {}
 }
@@ -1,16 +1,13 @@
 package dev.fouriis.karmagate.entity.shelterdoor;
 
 import dev.fouriis.karmagate.entity.ModBlockEntities;
+import dev.fouriis.karmagate.network.BlockEntitySync;
+import dev.fouriis.karmagate.network.SyncSchema;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.nbt.NbtCompound;
-import net.minecraft.network.listener.ClientPlayPacketListener;
-import net.minecraft.network.packet.Packet;
-import net.minecraft.network.packet.s2c.play.BlockEntityUpdateS2CPacket;
 import net.minecraft.registry.RegistryWrapper;
-import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.World;
 import software.bernie.geckolib.animatable.GeoBlockEntity;
 import software.bernie.geckolib.animatable.instance.AnimatableInstanceCache;
 import software.bernie.geckolib.animation.AnimatableManager;
@@ -82,10 +79,12 @@ public class ShelterDoorBlockEntity extends BlockEntity implements GeoBlockEntit
 
     private void markDirtySync() {
         markDirty();
-        if (world instanceof ServerWorld sw) sw.getChunkManager().markForUpdate(pos);
-        if (world != null) world.updateListeners(pos, getCachedState(), getCachedState(), 3);
+        BlockEntitySync.queue(this);
     }
 
+    public static final SyncSchema<ShelterDoorBlockEntity> SYNC = SyncSchema.<ShelterDoorBlockEntity>of()
+        .flag(be -> be.open, (be, v) -> be.open = v);
+
     @Override
     public void writeNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup lookup) {
         super.writeNbt(nbt, lookup);
@@ -103,13 +102,4 @@ public class ShelterDoorBlockEntity extends BlockEntity implements GeoBlockEntit
     public NbtCompound toInitialChunkDataNbt(RegistryWrapper.WrapperLookup lookup) {
         return createNbt(lookup);
     }
-
-    @Override
-    public Packet<ClientPlayPacketListener> toUpdatePacket() {
-        return BlockEntityUpdateS2CPacket.create(this);
-    }
-
-    public void tick(World world1, BlockPos pos, BlockState state1, ShelterDoorBlockEntity be) {
-        // currently no server tick logic required
-    }
 }
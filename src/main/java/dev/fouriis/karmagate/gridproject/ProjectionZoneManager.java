@@ -5,26 +5,38 @@ import net.minecraft.nbt.NbtCompound;
 import net.minecraft.nbt.NbtElement;
 import net.minecraft.nbt.NbtList;
 import net.minecraft.registry.RegistryWrapper;
-import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
 import net.minecraft.world.PersistentState;
 import net.minecraft.world.PersistentStateManager;
-import net.minecraft.world.World;
 
 import java.util.Collection;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
- * Server-side manager for projection zones.
- * Persists zones with the world save data using Minecraft's PersistentState system.
+ * Server-side manager for the projection zones of one dimension.
+ * Persists zones with that world's save data using Minecraft's PersistentState system;
+ * zone names are unique per dimension.
  */
 public class ProjectionZoneManager extends PersistentState {
     private static final String DATA_NAME = KarmaGateMod.MOD_ID + "_projection_zones";
+    /** Default radius in blocks around a player within which zones are sent to them. */
+    public static final int DEFAULT_STREAM_RADIUS = 256;
     
     private final Map<String, ProjectionZoneData> zones = new HashMap<>();
+    private final ZoneGrid<ProjectionZoneData> index = new ZoneGrid<>();
+
+    private int streamRadius = DEFAULT_STREAM_RADIUS;
+
+    // Names edited since the last delta went out (not saved)
+    private final Set<String> pendingChanges = new LinkedHashSet<>();
     
     public ProjectionZoneManager() {
         super();
@@ -35,10 +47,13 @@ public class ProjectionZoneManager extends PersistentState {
      * @return true if this was a new zone, false if it replaced an existing one
      */
     public boolean addZone(ProjectionZoneData zone) {
-        boolean isNew = !zones.containsKey(zone.name());
-        zones.put(zone.name(), zone);
+        if (zone.equals(zones.get(zone.name()))) return false; // Same bounds, nothing to save or sync
+        ProjectionZoneData previous = zones.put(zone.name(), zone);
+        if (previous != null) index.remove(previous);
+        indexZone(zone);
+        pendingChanges.add(zone.name());
         markDirty();
-        return isNew;
+        return previous == null;
     }
     
     /**
@@ -48,6 +63,8 @@ public class ProjectionZoneManager extends PersistentState {
     public Optional<ProjectionZoneData> removeZone(String name) {
         ProjectionZoneData removed = zones.remove(name);
         if (removed != null) {
+            index.remove(removed);
+            pendingChanges.add(name);
             markDirty();
         }
         return Optional.ofNullable(removed);
@@ -88,6 +105,71 @@ public class ProjectionZoneManager extends PersistentState {
         return zones.size();
     }
     
+    /* ===================== Delta sync ===================== */
+
+    /**
+     * Gets the radius in blocks within which players are sent zones (0 = every zone).
+     */
+    public int getStreamRadius() {
+        return streamRadius;
+    }
+
+    public void setStreamRadius(int radius) {
+        if (radius == streamRadius) return;
+        streamRadius = radius;
+        markDirty();
+    }
+
+    public boolean hasPendingChanges() {
+        return !pendingChanges.isEmpty();
+    }
+
+    /**
+     * Takes the edits since the last call.
+     * @return the zones added or updated, and the names removed
+     */
+    public Changes takeChanges() {
+        List<ProjectionZoneData> upserts = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        for (String name : pendingChanges) {
+            ProjectionZoneData zone = zones.get(name);
+            if (zone != null) upserts.add(zone);
+            else removed.add(name);
+        }
+        pendingChanges.clear();
+        return new Changes(upserts, removed);
+    }
+
+    public record Changes(List<ProjectionZoneData> upserts, List<String> removed) {}
+
+    /* ===================== Spatial queries ===================== */
+
+    /**
+     * Gets the zones whose bounds contain a block position.
+     */
+    public List<ProjectionZoneData> zonesContaining(BlockPos pos) {
+        return index.containing(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    /**
+     * Gets the zones whose block volume intersects a box.
+     */
+    public List<ProjectionZoneData> zonesIntersecting(Box box) {
+        return index.intersecting(box);
+    }
+
+    /**
+     * Gets the zone closest to a point (distance 0 when inside).
+     */
+    public Optional<ProjectionZoneData> nearestZone(double x, double y, double z) {
+        return Optional.ofNullable(index.nearest(x, y, z));
+    }
+
+    private void indexZone(ProjectionZoneData zone) {
+        BlockPos a = zone.corner1(), b = zone.corner2();
+        index.put(zone, a.getX(), a.getY(), a.getZ(), b.getX(), b.getY(), b.getZ());
+    }
+
     @Override
     public NbtCompound writeNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup registryLookup) {
         NbtList zoneList = new NbtList();
@@ -103,11 +185,15 @@ public class ProjectionZoneManager extends PersistentState {
             zoneList.add(zoneNbt);
         }
         nbt.put("zones", zoneList);
+        nbt.putInt("streamRadius", streamRadius);
         return nbt;
     }
     
     public static ProjectionZoneManager createFromNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup registryLookup) {
         ProjectionZoneManager manager = new ProjectionZoneManager();
+        if (nbt.contains("streamRadius", NbtElement.INT_TYPE)) {
+            manager.streamRadius = nbt.getInt("streamRadius");
+        }
         NbtList zoneList = nbt.getList("zones", NbtElement.COMPOUND_TYPE);
         for (int i = 0; i < zoneList.size(); i++) {
             NbtCompound zoneNbt = zoneList.getCompound(i);
@@ -118,7 +204,10 @@ public class ProjectionZoneManager extends PersistentState {
             int x2 = zoneNbt.getInt("x2");
             int y2 = zoneNbt.getInt("y2");
             int z2 = zoneNbt.getInt("z2");
-            manager.zones.put(name, ProjectionZoneData.of(name, x1, y1, z1, x2, y2, z2));
+            ProjectionZoneData zone = ProjectionZoneData.of(name, x1, y1, z1, x2, y2, z2);
+            ProjectionZoneData previous = manager.zones.put(name, zone);
+            if (previous != null) manager.index.remove(previous);
+            manager.indexZone(zone);
         }
         return manager;
     }
@@ -130,22 +219,12 @@ public class ProjectionZoneManager extends PersistentState {
     );
     
     /**
-     * Gets the ProjectionZoneManager for a server world.
-     * Uses the Overworld's persistent state to ensure zones are shared across dimensions.
-     */
-    public static ProjectionZoneManager get(MinecraftServer server) {
-        ServerWorld overworld = server.getWorld(World.OVERWORLD);
-        if (overworld == null) {
-            throw new IllegalStateException("Overworld not available");
-        }
-        PersistentStateManager stateManager = overworld.getPersistentStateManager();
-        return stateManager.getOrCreate(TYPE, DATA_NAME);
-    }
-    
-    /**
-     * Gets the ProjectionZoneManager from a ServerWorld.
+     * Gets the ProjectionZoneManager for a dimension.
+     * Each world keeps its own zones; the Overworld's file holds any zones saved before
+     * zones were per dimension.
      */
     public static ProjectionZoneManager get(ServerWorld world) {
-        return get(world.getServer());
+        PersistentStateManager stateManager = world.getPersistentStateManager();
+        return stateManager.getOrCreate(TYPE, DATA_NAME);
     }
 }
@@ -0,0 +1,176 @@
+package dev.fouriis.karmagate.gridproject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.util.math.Box;
+
+/**
+ * Spatial index over axis-aligned zone bounds, used for projection zones on both sides.
+ *
+ * A sparse uniform grid on X/Z: every zone is listed in each 64x64 column cell its bounds
+ * touch, Y is checked per candidate. Point lookups are one hash probe, box queries visit
+ * only the cells the box covers, and nearest-zone searches expand ring by ring from the
+ * query cell until the cells probed would outnumber the zones, then scan the zones
+ * directly, so a far-away query costs O(zones) rather than O(distance squared). Bounds are
+ * inclusive block coordinates, like {@link ProjectionZoneData}. Items are compared by identity.
+ */
+public final class ZoneGrid<T> {
+    private static final int CELL_SHIFT = 6;
+    private static final int CELL = 1 << CELL_SHIFT;
+
+    private final Long2ObjectOpenHashMap<ObjectArrayList<T>> cells = new Long2ObjectOpenHashMap<>();
+    private final Reference2ObjectOpenHashMap<T, int[]> bounds = new Reference2ObjectOpenHashMap<>(); // minX, minY, minZ, maxX, maxY, maxZ
+
+    // Occupied cell range, caps nearest() on sparse maps
+    private int minCellX = Integer.MAX_VALUE, maxCellX = Integer.MIN_VALUE;
+    private int minCellZ = Integer.MAX_VALUE, maxCellZ = Integer.MIN_VALUE;
+
+    /* ===================== Updates ===================== */
+
+    /** Insert or move {@code item}; corners may be given in any order. */
+    public void put(T item, int x1, int y1, int z1, int x2, int y2, int z2) {
+        remove(item);
+        int[] b = { Math.min(x1, x2), Math.min(y1, y2), Math.min(z1, z2), Math.max(x1, x2), Math.max(y1, y2), Math.max(z1, z2) };
+        bounds.put(item, b);
+        int cx0 = b[0] >> CELL_SHIFT, cx1 = b[3] >> CELL_SHIFT;
+        int cz0 = b[2] >> CELL_SHIFT, cz1 = b[5] >> CELL_SHIFT;
+        for (int cx = cx0; cx <= cx1; cx++) {
+            for (int cz = cz0; cz <= cz1; cz++) {
+                cells.computeIfAbsent(key(cx, cz), k -> new ObjectArrayList<>()).add(item);
+            }
+        }
+        minCellX = Math.min(minCellX, cx0);
+        maxCellX = Math.max(maxCellX, cx1);
+        minCellZ = Math.min(minCellZ, cz0);
+        maxCellZ = Math.max(maxCellZ, cz1);
+    }
+
+    /** @return true if {@code item} was indexed */
+    public boolean remove(T item) {
+        int[] b = bounds.remove(item);
+        if (b == null) return false;
+        for (int cx = b[0] >> CELL_SHIFT; cx <= b[3] >> CELL_SHIFT; cx++) {
+            for (int cz = b[2] >> CELL_SHIFT; cz <= b[5] >> CELL_SHIFT; cz++) {
+                long k = key(cx, cz);
+                ObjectArrayList<T> list = cells.get(k);
+                if (list == null) continue;
+                for (int i = 0; i < list.size(); i++) {
+                    if (list.get(i) == item) { list.remove(i); break; }
+                }
+                if (list.isEmpty()) cells.remove(k);
+            }
+        }
+        // The occupied range only grows; clear() resets it
+        return true;
+    }
+
+    public void clear() {
+        cells.clear();
+        bounds.clear();
+        minCellX = minCellZ = Integer.MAX_VALUE;
+        maxCellX = maxCellZ = Integer.MIN_VALUE;
+    }
+
+    public int size() { return bounds.size(); }
+
+    /* ===================== Queries ===================== */
+
+    /** Zones whose bounds contain the block at (x, y, z). */
+    public List<T> containing(int x, int y, int z) {
+        List<T> out = new ArrayList<>();
+        ObjectArrayList<T> list = cells.get(key(x >> CELL_SHIFT, z >> CELL_SHIFT));
+        if (list == null) return out;
+        for (int i = 0; i < list.size(); i++) {
+            T item = list.get(i);
+            int[] b = bounds.get(item);
+            if (x >= b[0] && x <= b[3] && y >= b[1] && y <= b[4] && z >= b[2] && z <= b[5]) out.add(item);
+        }
+        return out;
+    }
+
+    /** Zones whose block volume (max corner + 1) intersects {@code box}. */
+    public List<T> intersecting(Box box) {
+        List<T> out = new ArrayList<>();
+        if (bounds.isEmpty()) return out;
+        int qx0 = Math.max((int) Math.floor(box.minX) >> CELL_SHIFT, minCellX);
+        int qx1 = Math.min((int) Math.floor(box.maxX) >> CELL_SHIFT, maxCellX);
+        int qz0 = Math.max((int) Math.floor(box.minZ) >> CELL_SHIFT, minCellZ);
+        int qz1 = Math.min((int) Math.floor(box.maxZ) >> CELL_SHIFT, maxCellZ);
+        for (int cx = qx0; cx <= qx1; cx++) {
+            for (int cz = qz0; cz <= qz1; cz++) {
+                ObjectArrayList<T> list = cells.get(key(cx, cz));
+                if (list == null) continue;
+                for (int i = 0; i < list.size(); i++) {
+                    T item = list.get(i);
+                    int[] b = bounds.get(item);
+                    // Report a zone spanning several cells only from its first cell inside the query
+                    if (cx != Math.max(b[0] >> CELL_SHIFT, qx0) || cz != Math.max(b[2] >> CELL_SHIFT, qz0)) continue;
+                    if (b[0] < box.maxX && b[3] + 1 > box.minX
+                            && b[1] < box.maxY && b[4] + 1 > box.minY
+                            && b[2] < box.maxZ && b[5] + 1 > box.minZ) out.add(item);
+                }
+            }
+        }
+        return out;
+    }
+
+    /** Zone closest to (x, y, z) (0 when inside), or null when the grid is empty. */
+    public T nearest(double x, double y, double z) {
+        if (bounds.isEmpty()) return null;
+        int qx = (int) Math.floor(x) >> CELL_SHIFT;
+        int qz = (int) Math.floor(z) >> CELL_SHIFT;
+        int maxRing = Math.max(Math.max(Math.abs(qx - minCellX), Math.abs(qx - maxCellX)),
+                               Math.max(Math.abs(qz - minCellZ), Math.abs(qz - maxCellZ)));
+        T best = null;
+        double bestD2 = Double.MAX_VALUE;
+        int probes = 0;
+        for (int r = 0; r <= maxRing; r++) {
+            // Empty rings cost a probe per cell; past size() probes a plain scan is cheaper
+            probes += r == 0 ? 1 : 8 * r;
+            if (probes > bounds.size()) return nearestByScan(x, y, z);
+            for (int cx = qx - r; cx <= qx + r; cx++) {
+                boolean edgeX = cx == qx - r || cx == qx + r;
+                for (int cz = qz - r; cz <= qz + r; cz += edgeX ? 1 : 2 * r) {
+                    ObjectArrayList<T> list = cells.get(key(cx, cz));
+                    if (list != null) {
+                        for (int i = 0; i < list.size(); i++) {
+                            T item = list.get(i);
+                            double d2 = distanceSq(bounds.get(item), x, y, z);
+                            if (d2 < bestD2) { bestD2 = d2; best = item; }
+                        }
+                    }
+                    if (r == 0) break;
+                }
+            }
+            // Cells in ring r + 1 are at least r whole cells away horizontally
+            double reach = (double) r * CELL;
+            if (best != null && bestD2 <= reach * reach) break;
+        }
+        return best;
+    }
+
+    private T nearestByScan(double x, double y, double z) {
+        T best = null;
+        double bestD2 = Double.MAX_VALUE;
+        for (var e : bounds.reference2ObjectEntrySet()) {
+            double d2 = distanceSq(e.getValue(), x, y, z);
+            if (d2 < bestD2) { bestD2 = d2; best = e.getKey(); }
+        }
+        return best;
+    }
+
+    private static double distanceSq(int[] b, double x, double y, double z) {
+        double dx = Math.max(0.0, Math.max(b[0] - x, x - (b[3] + 1)));
+        double dy = Math.max(0.0, Math.max(b[1] - y, y - (b[4] + 1)));
+        double dz = Math.max(0.0, Math.max(b[2] - z, z - (b[5] + 1)));
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static long key(int cx, int cz) {
+        return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+    }
+}
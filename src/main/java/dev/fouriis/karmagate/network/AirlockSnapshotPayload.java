@@ -0,0 +1,128 @@
+package dev.fouriis.karmagate.network;
+
+import dev.fouriis.karmagate.KarmaGateMod;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Server -> client: the whole visual state of one airlock in a single message, sent at most
+ * once per tick and only when something changed. Replaces the per-block BE update packets
+ * the lights, streams, emitters, holograms and gates used to send on every flip.
+ *
+ * Block positions ("layout") are only included for players that have not seen this
+ * airlock's current layout yet; {@code layoutId} lets the client detect a stale cache.
+ * {@code splits} travels with the layout: per group, how many leading entries are on side 1
+ * (for gates: the controller plus gate 1 when bound).
+ *
+ * While {@code timeline} is set the client is playing the airlock's cycle back itself
+ * ({@code CycleTimelinePayload}); water, steam, hologram level / low power and gates are
+ * then left alone, and only lights and hologram karma are applied.
+ *
+ * Value vector, per group in {@link #LIGHTS}..{@link #GATES} order:
+ *   lights  - bitset, lit
+ *   water   - one byte per stream, target flow 0..255
+ *   heat    - no values; coils sync a heat ramp themselves (positions kept for per-side lookups)
+ *   steam   - bitset, emitter enabled
+ *   holo    - two bytes per projector: target level 0..255, flags (bit0 low power, bits 1..3 karma)
+ *   gates   - bitset, open (controller first, then the outer gates)
+ */
+public record AirlockSnapshotPayload(BlockPos controller, int layoutId, boolean timeline, int[] counts, long[] layout,
+                                     int[] splits, byte[] values)
+        implements CustomPayload {
+
+    public static final int LIGHTS = 0, WATER = 1, HEAT = 2, STEAM = 3, HOLO = 4, GATES = 5;
+    public static final int GROUPS = 6;
+
+    public static final CustomPayload.Id<AirlockSnapshotPayload> ID =
+        new CustomPayload.Id<>(Identifier.of(KarmaGateMod.MOD_ID, "airlock_snapshot"));
+
+    public static final PacketCodec<RegistryByteBuf, AirlockSnapshotPayload> CODEC = new PacketCodec<>() {
+        @Override
+        public AirlockSnapshotPayload decode(RegistryByteBuf buf) {
+            BlockPos controller = buf.readBlockPos();
+            int layoutId = buf.readInt();
+            boolean timeline = buf.readBoolean();
+            int[] counts = new int[GROUPS];
+            for (int g = 0; g < GROUPS; g++) counts[g] = buf.readVarInt();
+            int n = buf.readVarInt();
+            long[] layout = new long[n];
+            for (int i = 0; i < n; i++) layout[i] = buf.readLong();
+            int[] splits = new int[GROUPS];
+            if (n > 0) for (int g = 0; g < GROUPS; g++) splits[g] = buf.readVarInt();
+            byte[] values = new byte[valueBytes(counts)];
+            buf.readBytes(values);
+            return new AirlockSnapshotPayload(controller, layoutId, timeline, counts, layout, splits, values);
+        }
+
+        @Override
+        public void encode(RegistryByteBuf buf, AirlockSnapshotPayload payload) {
+            buf.writeBlockPos(payload.controller());
+            buf.writeInt(payload.layoutId());
+            buf.writeBoolean(payload.timeline());
+            for (int g = 0; g < GROUPS; g++) buf.writeVarInt(payload.counts()[g]);
+            buf.writeVarInt(payload.layout().length);
+            for (long p : payload.layout()) buf.writeLong(p);
+            if (payload.hasLayout()) for (int g = 0; g < GROUPS; g++) buf.writeVarInt(payload.splits()[g]);
+            buf.writeBytes(payload.values());
+        }
+    };
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+
+    public boolean hasLayout() { return layout.length > 0; }
+
+    /* ===================== Value vector layout ===================== */
+
+    private static boolean isBitset(int group) {
+        return group == LIGHTS || group == STEAM || group == GATES;
+    }
+
+    private static int groupBytes(int group, int count) {
+        if (isBitset(group)) return (count + 7) >> 3;
+        if (group == HEAT) return 0;
+        return group == HOLO ? count * 2 : count;
+    }
+
+    /** Byte offset of {@code group} inside the value vector. */
+    public static int offset(int[] counts, int group) {
+        int o = 0;
+        for (int g = 0; g < group; g++) o += groupBytes(g, counts[g]);
+        return o;
+    }
+
+    public static int valueBytes(int[] counts) {
+        return offset(counts, GROUPS);
+    }
+
+    public static byte quantize(float v01) {
+        return (byte) Math.round(Math.max(0f, Math.min(1f, v01)) * 255f);
+    }
+
+    public static void setBit(byte[] values, int offset, int i, boolean on) {
+        if (on) values[offset + (i >> 3)] |= (byte) (1 << (i & 7));
+    }
+
+    /* ===================== Client accessors ===================== */
+
+    private boolean bit(int group, int i) {
+        return (values[offset(counts, group) + (i >> 3)] & (1 << (i & 7))) != 0;
+    }
+
+    private float unit(int index) {
+        return (values[index] & 0xFF) / 255f;
+    }
+
+    public boolean lit(int i) { return bit(LIGHTS, i); }
+    public float flow(int i) { return unit(offset(counts, WATER) + i); }
+    public boolean steam(int i) { return bit(STEAM, i); }
+    public float holoLevel(int i) { return unit(offset(counts, HOLO) + i * 2); }
+    public boolean holoLowPower(int i) { return (values[offset(counts, HOLO) + i * 2 + 1] & 1) != 0; }
+    public int holoKarma(int i) { return (values[offset(counts, HOLO) + i * 2 + 1] >> 1) & 7; }
+    public boolean gateOpen(int i) { return bit(GATES, i); }
+}
@@ -0,0 +1,59 @@
+package dev.fouriis.karmagate.network;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import dev.fouriis.karmagate.KarmaGateMod;
+import io.netty.handler.codec.DecoderException;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+/**
+ * Server -> client: changed fields of mod block entities, batched per player per tick.
+ * Each entry is position, block entity type, field mask and the masked fields encoded by
+ * the type's {@link SyncSchema}; typically a dozen bytes instead of an NBT compound. The
+ * type id is the mod-local registration index from {@link BlockEntitySync#register}, not a
+ * {@code Registries.BLOCK_ENTITY_TYPE} raw id; resolve it with {@link BlockEntitySync#type}.
+ */
+public record BlockEntityDeltaPayload(List<Entry> entries) implements CustomPayload {
+
+    public record Entry(long pos, int typeId, int mask, int[] values) {}
+
+    public static final CustomPayload.Id<BlockEntityDeltaPayload> ID =
+        new CustomPayload.Id<>(Identifier.of(KarmaGateMod.MOD_ID, "be_delta"));
+
+    public static final PacketCodec<RegistryByteBuf, BlockEntityDeltaPayload> CODEC = new PacketCodec<>() {
+        @Override
+        public BlockEntityDeltaPayload decode(RegistryByteBuf buf) {
+            int n = buf.readVarInt();
+            List<Entry> entries = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                long pos = buf.readLong();
+                int typeId = buf.readVarInt();
+                int mask = buf.readVarInt();
+                SyncSchema<?> schema = BlockEntitySync.schema(typeId);
+                if (schema == null) throw new DecoderException("No sync schema for block entity type " + typeId);
+                entries.add(new Entry(pos, typeId, mask, schema.read(buf, mask)));
+            }
+            return new BlockEntityDeltaPayload(entries);
+        }
+
+        @Override
+        public void encode(RegistryByteBuf buf, BlockEntityDeltaPayload payload) {
+            buf.writeVarInt(payload.entries().size());
+            for (Entry e : payload.entries()) {
+                buf.writeLong(e.pos());
+                buf.writeVarInt(e.typeId());
+                buf.writeVarInt(e.mask());
+                BlockEntitySync.schema(e.typeId()).write(buf, e.mask(), e.values());
+            }
+        }
+    };
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
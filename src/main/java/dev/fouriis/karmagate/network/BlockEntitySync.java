@@ -0,0 +1,209 @@
+package dev.fouriis.karmagate.network;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.WeakHashMap;
+
+import dev.fouriis.karmagate.entity.ModBlockEntities;
+import dev.fouriis.karmagate.entity.hologram.HologramProjectorBlockEntity;
+import dev.fouriis.karmagate.entity.karmagate.AirlockSnapshot;
+import dev.fouriis.karmagate.entity.karmagate.GateLightBlockEntity;
+import dev.fouriis.karmagate.entity.karmagate.HeatCoilBlockEntity;
+import dev.fouriis.karmagate.entity.karmagate.KarmaGateBlockEntity;
+import dev.fouriis.karmagate.entity.karmagate.SteamEmitterBlockEntity;
+import dev.fouriis.karmagate.entity.karmagate.WaterStreamBlockEntity;
+import dev.fouriis.karmagate.entity.karmagate.WaterfallBlockEntity;
+import dev.fouriis.karmagate.entity.shelterdoor.ShelterDoorBlockEntity;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+
+/**
+ * Delta sync channel for the mod's block entities, replacing NBT update packets.
+ *
+ * Server: block entities call {@link #queue} when something client-visible changed. At the
+ * end of the server tick every queued block entity is encoded with its type's schema,
+ * compared with what was last sent, and only the changed fields go out, batched into one
+ * {@link BlockEntityDeltaPayload} per player. Initial chunk data still uses NBT.
+ *
+ * The baseline is per block entity, together with the players it was sent to. A player who
+ * was not tracking at the last send gets every field, not a delta against values they never
+ * saw. Clients apply the payload in {@code ClientBlockEntitySync}.
+ */
+public final class BlockEntitySync {
+    private static final List<BlockEntityType<?>> TYPES = new ArrayList<>();
+    private static final List<SyncSchema<?>> SCHEMAS = new ArrayList<>();
+    private static final Reference2IntOpenHashMap<BlockEntityType<?>> TYPE_IDS = new Reference2IntOpenHashMap<>();
+
+    private static final ReferenceLinkedOpenHashSet<BlockEntity> pending = new ReferenceLinkedOpenHashSet<>();
+    // Last values sent per block entity; entries go away with the block entity
+    private static final Map<BlockEntity, Baseline> sent = new WeakHashMap<>();
+
+    /** What the viewers of one block entity were last sent. */
+    private static final class Baseline {
+        final int[] values;
+        int unsent;                // fields never sent: always part of the next delta
+        Set<UUID> viewers = Set.of(); // players tracking at the last send
+        Object2IntOpenHashMap<UUID> owed; // per-viewer extra fields (acknowledged without them), or null
+
+        int owed(UUID player) {
+            return owed == null ? 0 : owed.getInt(player);
+        }
+
+        void owe(UUID player, int mask) {
+            if (owed == null) owed = new Object2IntOpenHashMap<>();
+            owed.put(player, owed.getInt(player) | mask);
+        }
+
+        Baseline(int[] values, int unsent) {
+            this.values = values;
+            this.unsent = unsent;
+        }
+    }
+
+    static {
+        TYPE_IDS.defaultReturnValue(-1);
+    }
+
+    private BlockEntitySync() {}
+
+    /**
+     * Registers the payload and all schemas. Ids are the registration order here, so the
+     * list must be identical on both sides (it is: same mod jar).
+     */
+    public static void register() {
+        PayloadTypeRegistry.playS2C().register(BlockEntityDeltaPayload.ID, BlockEntityDeltaPayload.CODEC);
+        NetworkStats.track(BlockEntityDeltaPayload.ID, BlockEntityDeltaPayload.CODEC);
+
+        add(ModBlockEntities.KARMA_GATE_BLOCK_ENTITY, KarmaGateBlockEntity.SYNC);
+        add(ModBlockEntities.SHELTER_DOOR_BLOCK_ENTITY, ShelterDoorBlockEntity.SYNC);
+        add(ModBlockEntities.GATE_LIGHT_BLOCK_ENTITY, GateLightBlockEntity.SYNC);
+        add(ModBlockEntities.HEAT_COIL_BLOCK_ENTITY, HeatCoilBlockEntity.SYNC);
+        add(ModBlockEntities.WATER_STREAM_BLOCK_ENTITY, WaterStreamBlockEntity.SYNC);
+        add(ModBlockEntities.WATERFALL_BLOCK_ENTITY, WaterfallBlockEntity.SYNC);
+        add(ModBlockEntities.STEAM_EMITTER_BLOCK_ENTITY, SteamEmitterBlockEntity.SYNC);
+        add(ModBlockEntities.HOLOGRAM_PROJECTOR, HologramProjectorBlockEntity.SYNC);
+
+        ServerTickEvents.END_SERVER_TICK.register(server -> flush());
+    }
+
+    private static void add(BlockEntityType<?> type, SyncSchema<?> schema) {
+        TYPE_IDS.put(type, TYPES.size());
+        TYPES.add(type);
+        SCHEMAS.add(schema);
+    }
+
+    public static SyncSchema<?> schema(int typeId) {
+        return typeId >= 0 && typeId < SCHEMAS.size() ? SCHEMAS.get(typeId) : null;
+    }
+
+    public static BlockEntityType<?> type(int typeId) {
+        return typeId >= 0 && typeId < TYPES.size() ? TYPES.get(typeId) : null;
+    }
+
+    /* ===================== Server ===================== */
+
+    /** Server: send this block entity's changed fields at the end of the tick. */
+    public static void queue(BlockEntity be) {
+        if (!(be.getWorld() instanceof ServerWorld sw) || !TYPE_IDS.containsKey(be.getType())) return;
+        pending.add(be);
+        AirlockSnapshot.touch(sw, be.getPos());
+    }
+
+    /**
+     * Server: the fields in {@code mask} reached {@code recipients} through another channel
+     * (the airlock snapshot); take their current values as sent to them so the delta does not
+     * repeat them. Other players tracking the block entity still get those fields as a delta.
+     */
+    public static void acknowledge(BlockEntity be, int mask, Set<UUID> recipients) {
+        int typeId = TYPE_IDS.getInt(be.getType());
+        if (typeId < 0 || !(be.getWorld() instanceof ServerWorld sw)) return;
+        int[] now = SCHEMAS.get(typeId).capture(be);
+        Baseline last = sent.get(be);
+        boolean owing = false;
+        if (last == null) {
+            // Nothing sent yet: everything but the acknowledged fields is still owed to the
+            // recipients; anyone else gets every field
+            last = new Baseline(now, allFields(now.length) & ~mask);
+            Set<UUID> viewers = new ObjectOpenHashSet<>();
+            for (ServerPlayerEntity player : PlayerLookup.tracking(sw, be.getPos())) {
+                if (recipients.contains(player.getUuid())) viewers.add(player.getUuid());
+                else owing = true;
+            }
+            last.viewers = viewers;
+            sent.put(be, last);
+        } else {
+            int missed = (SyncSchema.diff(last.values, now) | last.unsent) & mask;
+            if (missed != 0) {
+                for (ServerPlayerEntity player : PlayerLookup.tracking(sw, be.getPos())) {
+                    UUID id = player.getUuid();
+                    if (last.viewers.contains(id) && !recipients.contains(id)) {
+                        last.owe(id, missed);
+                        owing = true;
+                    }
+                }
+            }
+            for (int i = 0; i < now.length; i++) if ((mask & (1 << i)) != 0) last.values[i] = now[i];
+            last.unsent &= ~mask;
+        }
+        // Players the other channel missed are served by the next flush
+        if (owing) pending.add(be);
+    }
+
+    private static void flush() {
+        if (pending.isEmpty()) return;
+        Map<ServerPlayerEntity, List<BlockEntityDeltaPayload.Entry>> perPlayer = new Reference2ObjectOpenHashMap<>();
+        for (BlockEntity be : pending) {
+            if (be.isRemoved() || !(be.getWorld() instanceof ServerWorld sw)) continue;
+            int typeId = TYPE_IDS.getInt(be.getType());
+            int[] now = SCHEMAS.get(typeId).capture(be);
+            Baseline last = sent.get(be);
+            int all = allFields(now.length);
+            int mask = last == null ? all : SyncSchema.diff(last.values, now) | last.unsent;
+
+            BlockEntityDeltaPayload.Entry delta = null;
+            BlockEntityDeltaPayload.Entry full = null;
+            Set<UUID> viewers = new ObjectOpenHashSet<>();
+            for (ServerPlayerEntity player : PlayerLookup.tracking(sw, be.getPos())) {
+                UUID id = player.getUuid();
+                viewers.add(id);
+                boolean hasBaseline = last != null && last.viewers.contains(id);
+                int m = hasBaseline ? mask | last.owed(id) : all;
+                if (m == 0) continue;
+                BlockEntityDeltaPayload.Entry entry;
+                if (m == all) {
+                    if (full == null) full = new BlockEntityDeltaPayload.Entry(be.getPos().asLong(), typeId, all, now);
+                    entry = full;
+                } else if (m == mask) {
+                    if (delta == null) delta = new BlockEntityDeltaPayload.Entry(be.getPos().asLong(), typeId, mask, now);
+                    entry = delta;
+                } else {
+                    entry = new BlockEntityDeltaPayload.Entry(be.getPos().asLong(), typeId, m, now);
+                }
+                perPlayer.computeIfAbsent(player, p -> new ArrayList<>()).add(entry);
+            }
+
+            Baseline next = new Baseline(now, 0);
+            next.viewers = viewers;
+            sent.put(be, next);
+        }
+        pending.clear();
+        perPlayer.forEach((player, entries) -> ModNetworking.send(player, new BlockEntityDeltaPayload(entries)));
+    }
+
+    private static int allFields(int count) {
+        return (1 << count) - 1;
+    }
+}
@@ -0,0 +1,54 @@
+package dev.fouriis.karmagate.network;
+
+import dev.fouriis.karmagate.KarmaGateMod;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Server -> client: steam intensity per heat coil for one airlock, computed on the server
+ * from water contact and coil heat. Only coils whose value changed are included.
+ * Intensity is quantized to one unsigned byte (0 = no steam, 255 = full).
+ */
+public record CoilSteamPayload(BlockPos controller, long[] coils, byte[] intensity) implements CustomPayload {
+
+    public static final CustomPayload.Id<CoilSteamPayload> ID =
+        new CustomPayload.Id<>(Identifier.of(KarmaGateMod.MOD_ID, "coil_steam"));
+
+    public static final PacketCodec<RegistryByteBuf, CoilSteamPayload> CODEC = new PacketCodec<>() {
+        @Override
+        public CoilSteamPayload decode(RegistryByteBuf buf) {
+            BlockPos controller = buf.readBlockPos();
+            int n = buf.readVarInt();
+            long[] coils = new long[n];
+            byte[] intensity = new byte[n];
+            for (int i = 0; i < n; i++) {
+                coils[i] = buf.readLong();
+                intensity[i] = buf.readByte();
+            }
+            return new CoilSteamPayload(controller, coils, intensity);
+        }
+
+        @Override
+        public void encode(RegistryByteBuf buf, CoilSteamPayload payload) {
+            buf.writeBlockPos(payload.controller());
+            buf.writeVarInt(payload.coils().length);
+            for (int i = 0; i < payload.coils().length; i++) {
+                buf.writeLong(payload.coils()[i]);
+                buf.writeByte(payload.intensity()[i]);
+            }
+        }
+    };
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+
+    /** Dequantize entry {@code i} to 0..1. */
+    public float intensityAt(int i) {
+        return (intensity[i] & 0xFF) / 255f;
+    }
+}
@@ -0,0 +1,45 @@
+package dev.fouriis.karmagate.network;
+
+import dev.fouriis.karmagate.KarmaGateMod;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Server -> client: anchor for one airlock's cycle timeline. Phase {@code mode} (ordinal of
+ * {@code KarmaGateController.Mode}) of cycle {@code cycleId} started at world tick
+ * {@code phaseStart}; the client plays the rest of the cycle back locally.
+ *
+ * Sent once when a cycle starts, again only when the server leaves the schedule (early
+ * exit, abort), and to players that start tracking the airlock mid-cycle.
+ * An idle mode ({@code MiddleClosed}) stops playback; a snapshot with the real state follows.
+ */
+public record CycleTimelinePayload(BlockPos controller, Identifier cycleId, byte entrySide, byte mode, long phaseStart)
+        implements CustomPayload {
+
+    public static final CustomPayload.Id<CycleTimelinePayload> ID =
+        new CustomPayload.Id<>(Identifier.of(KarmaGateMod.MOD_ID, "cycle_timeline"));
+
+    public static final PacketCodec<RegistryByteBuf, CycleTimelinePayload> CODEC = new PacketCodec<>() {
+        @Override
+        public CycleTimelinePayload decode(RegistryByteBuf buf) {
+            return new CycleTimelinePayload(buf.readBlockPos(), buf.readIdentifier(), buf.readByte(), buf.readByte(), buf.readVarLong());
+        }
+
+        @Override
+        public void encode(RegistryByteBuf buf, CycleTimelinePayload payload) {
+            buf.writeBlockPos(payload.controller());
+            buf.writeIdentifier(payload.cycleId());
+            buf.writeByte(payload.entrySide());
+            buf.writeByte(payload.mode());
+            buf.writeVarLong(payload.phaseStart());
+        }
+    };
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
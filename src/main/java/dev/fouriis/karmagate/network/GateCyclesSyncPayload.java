@@ -0,0 +1,45 @@
+package dev.fouriis.karmagate.network;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import dev.fouriis.karmagate.KarmaGateMod;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+/**
+ * Server -> client: source JSON of every datapack cycle definition. Sent on join and after
+ * a datapack reload so clients can play cycles back from the same tables as the server.
+ */
+public record GateCyclesSyncPayload(Map<Identifier, String> definitions) implements CustomPayload {
+    private static final int MAX_JSON = 1 << 18;
+
+    public static final CustomPayload.Id<GateCyclesSyncPayload> ID =
+        new CustomPayload.Id<>(Identifier.of(KarmaGateMod.MOD_ID, "gate_cycles"));
+
+    public static final PacketCodec<RegistryByteBuf, GateCyclesSyncPayload> CODEC = new PacketCodec<>() {
+        @Override
+        public GateCyclesSyncPayload decode(RegistryByteBuf buf) {
+            int n = buf.readVarInt();
+            Map<Identifier, String> definitions = new HashMap<>();
+            for (int i = 0; i < n; i++) definitions.put(buf.readIdentifier(), buf.readString(MAX_JSON));
+            return new GateCyclesSyncPayload(definitions);
+        }
+
+        @Override
+        public void encode(RegistryByteBuf buf, GateCyclesSyncPayload payload) {
+            buf.writeVarInt(payload.definitions().size());
+            payload.definitions().forEach((id, json) -> {
+                buf.writeIdentifier(id);
+                buf.writeString(json, MAX_JSON);
+            });
+        }
+    };
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
@@ -1,51 +1,176 @@
 package dev.fouriis.karmagate.network;
 
+import dev.fouriis.karmagate.entity.karmagate.GateCycles;
 import dev.fouriis.karmagate.gridproject.ProjectionZoneManager;
+import net.fabricmc.fabric.api.entity.event.v1.ServerEntityWorldChangeEvents;
+import net.fabricmc.fabric.api.entity.event.v1.ServerPlayerEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.World;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
 
 /**
- * Handles server-side networking for projection zones.
+ * Handles server-side networking for projection zones and airlock effects.
  */
 public class ModNetworking {
+
+    // Dimensions whose zones changed this tick; each gets one delta at the end of the tick
+    private static final Set<RegistryKey<World>> PENDING_ZONE_SYNCS = new LinkedHashSet<>();
+
+    // Client-requested zone resyncs: at most one snapshot per player per cooldown; requests
+    // inside the cooldown are answered once it ends, however many arrive
+    private static final int RESYNC_COOLDOWN_TICKS = 20;
+    private static final Object2IntOpenHashMap<UUID> LAST_RESYNC = new Object2IntOpenHashMap<>();
+    private static final Set<UUID> DEFERRED_RESYNCS = new LinkedHashSet<>();
     
     /**
      * Registers all network payloads and handlers.
      * Call this during mod initialization.
      */
     public static void register() {
-        // Register the sync payload type (server -> client)
-        PayloadTypeRegistry.playS2C().register(
-            ProjectionZoneSyncPayload.ID, 
-            ProjectionZoneSyncPayload.CODEC
-        );
+        // Register the payload types (server -> client)
+        registerS2C(ProjectionZoneSyncPayload.ID, ProjectionZoneSyncPayload.CODEC);
+        registerS2C(CoilSteamPayload.ID, CoilSteamPayload.CODEC);
+        registerS2C(AirlockSnapshotPayload.ID, AirlockSnapshotPayload.CODEC);
+        registerS2C(GateCyclesSyncPayload.ID, GateCyclesSyncPayload.CODEC);
+        registerS2C(CycleTimelinePayload.ID, CycleTimelinePayload.CODEC);
+        registerS2C(ProjectionZoneDeltaPayload.ID, ProjectionZoneDeltaPayload.CODEC);
+        BlockEntitySync.register();
+
+        // Client missed a zone delta: answer with a snapshot of the zones around it
+        PayloadTypeRegistry.playC2S().register(ProjectionZoneResyncPayload.ID, ProjectionZoneResyncPayload.CODEC);
+        ServerPlayNetworking.registerGlobalReceiver(ProjectionZoneResyncPayload.ID, (payload, context) -> {
+            ServerPlayerEntity player = context.player();
+            if (player.getServerWorld().getRegistryKey() == payload.dimension()) requestResync(player);
+        });
+        ServerTickEvents.END_SERVER_TICK.register(ModNetworking::flushDeferredResyncs);
+
+        // Byte accounting (off until /netstats enables it)
+        ServerTickEvents.END_SERVER_TICK.register(server -> NetworkStats.SERVER.tick());
+
+        // Batched zone deltas: any number of edits in a tick cost at most one payload per player
+        ServerTickEvents.END_SERVER_TICK.register(ModNetworking::flushZoneSyncs);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            PENDING_ZONE_SYNCS.clear();
+            LAST_RESYNC.clear();
+            DEFERRED_RESYNCS.clear();
+            ProjectionZoneStreaming.clear();
+        });
+
+        // Zones stream in and out around each player as they move
+        ServerTickEvents.END_SERVER_TICK.register(ProjectionZoneStreaming::tick);
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            ProjectionZoneStreaming.forget(handler.getPlayer());
+            LAST_RESYNC.removeInt(handler.getPlayer().getUuid());
+            DEFERRED_RESYNCS.remove(handler.getPlayer().getUuid());
+        });
         
-        // Sync zones to players when they join
+        // Sync zones and cycle definitions to players when they join
         ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
             syncToPlayer(handler.getPlayer());
+            send(handler.getPlayer(), new GateCyclesSyncPayload(GateCycles.sources()));
+        });
+
+        // Zones are per dimension: replace the client's set when the player moves to another world
+        ServerEntityWorldChangeEvents.AFTER_PLAYER_CHANGE_WORLD.register((player, origin, destination) -> syncToPlayer(player));
+        ServerPlayerEvents.AFTER_RESPAWN.register((oldPlayer, newPlayer, alive) -> {
+            if (oldPlayer.getServerWorld() != newPlayer.getServerWorld()) syncToPlayer(newPlayer);
+        });
+
+        // Cycle definitions changed on /reload
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> {
+            if (!success) return;
+            GateCyclesSyncPayload payload = new GateCyclesSyncPayload(GateCycles.sources());
+            for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+                send(player, payload);
+            }
         });
     }
     
+    private static <T extends CustomPayload> void registerS2C(CustomPayload.Id<T> id, PacketCodec<RegistryByteBuf, T> codec) {
+        PayloadTypeRegistry.playS2C().register(id, codec);
+        NetworkStats.track(id, codec);
+    }
+
     /**
-     * Syncs all projection zones to a specific player.
+     * Sends a mod payload to one player, counting it in {@link NetworkStats#SERVER}.
+     * All of the mod's server -> client traffic goes through here.
      */
-    public static void syncToPlayer(ServerPlayerEntity player) {
-        ProjectionZoneManager manager = ProjectionZoneManager.get(player.getServer());
-        ProjectionZoneSyncPayload payload = ProjectionZoneSyncPayload.fromZones(manager.getAllZones());
+    public static void send(ServerPlayerEntity player, CustomPayload payload) {
+        NetworkStats.SERVER.record(payload, player.getRegistryManager());
         ServerPlayNetworking.send(player, payload);
     }
+
+    /**
+     * Sends a snapshot of the projection zones around the player, in their current dimension.
+     */
+    public static void syncToPlayer(ServerPlayerEntity player) {
+        ProjectionZoneStreaming.sendSnapshot(player);
+    }
     
+    /** Answers a client resync request now, or once the player's cooldown has passed. */
+    private static void requestResync(ServerPlayerEntity player) {
+        UUID id = player.getUuid();
+        int now = player.getServer().getTicks();
+        if (LAST_RESYNC.containsKey(id) && now - LAST_RESYNC.getInt(id) < RESYNC_COOLDOWN_TICKS) {
+            DEFERRED_RESYNCS.add(id);
+            return;
+        }
+        LAST_RESYNC.put(id, now);
+        syncToPlayer(player);
+    }
+
+    private static void flushDeferredResyncs(MinecraftServer server) {
+        if (DEFERRED_RESYNCS.isEmpty()) return;
+        int now = server.getTicks();
+        Iterator<UUID> it = DEFERRED_RESYNCS.iterator();
+        while (it.hasNext()) {
+            UUID id = it.next();
+            if (now - LAST_RESYNC.getInt(id) < RESYNC_COOLDOWN_TICKS) continue;
+            it.remove();
+            ServerPlayerEntity player = server.getPlayerManager().getPlayer(id);
+            if (player == null) continue;
+            LAST_RESYNC.put(id, now);
+            syncToPlayer(player);
+        }
+    }
+
     /**
-     * Syncs all projection zones to all players on the server.
+     * Queues a delta of a dimension's projection zone edits for the end of the tick.
+     * Call after every zone edit; repeated edits in the same tick are sent together.
      */
-    public static void syncToAll(net.minecraft.server.MinecraftServer server) {
-        ProjectionZoneManager manager = ProjectionZoneManager.get(server);
-        ProjectionZoneSyncPayload payload = ProjectionZoneSyncPayload.fromZones(manager.getAllZones());
-        
-        for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
-            ServerPlayNetworking.send(player, payload);
+    public static void queueZoneSync(ServerWorld world) {
+        PENDING_ZONE_SYNCS.add(world.getRegistryKey());
+    }
+
+    private static void flushZoneSyncs(MinecraftServer server) {
+        if (PENDING_ZONE_SYNCS.isEmpty()) return;
+        for (RegistryKey<World> key : PENDING_ZONE_SYNCS) {
+            ServerWorld world = server.getWorld(key);
+            if (world != null) sendZoneDelta(world);
         }
+        PENDING_ZONE_SYNCS.clear();
+    }
+
+    private static void sendZoneDelta(ServerWorld world) {
+        ProjectionZoneManager manager = ProjectionZoneManager.get(world);
+        if (!manager.hasPendingChanges()) return;
+        ProjectionZoneStreaming.sendChanges(world, manager.takeChanges());
     }
 }
@@ -0,0 +1,268 @@
+package dev.fouriis.karmagate.network;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import dev.fouriis.karmagate.KarmaGateMod;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.registry.DynamicRegistryManager;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+
+/**
+ * Byte and packet accounting for the mod's own payloads, one instance per side.
+ *
+ * Counting is off until enabled (command, or the client's debug HUD); while on, every
+ * payload is re-encoded once to learn its size, and {@link BlockEntityDeltaPayload}s are
+ * split into one channel per block entity type. Sizes are payload bodies without the
+ * custom-payload header. Totals roll over once per second into a rate snapshot that the
+ * command, the HUD and the optional CSV log read.
+ *
+ * Block entity NBT sent with chunk data goes through vanilla chunk packets, not through the
+ * mod's payloads, so it is not counted (see {@link #SCOPE_NOTE}). CSV rows are appended on
+ * a background thread so file IO never stalls a tick.
+ */
+public final class NetworkStats {
+    public static final NetworkStats SERVER = new NetworkStats("server");
+    public static final NetworkStats CLIENT = new NetworkStats("client");
+
+    private static final int WINDOW_TICKS = 20;
+    private static final String BE_PREFIX = "be_delta/";
+
+    /** Shown with the rates: what the numbers do not include. */
+    public static final String SCOPE_NOTE = "Mod payloads only; block entity NBT in chunk data is not counted.";
+
+    // One writer for both sides keeps appends ordered; daemon so it never holds the game open
+    private static final ExecutorService CSV_WRITER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "KarmaGate NetworkStats CSV");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Codecs of the tracked payloads, filled at registration (same on both sides)
+    private static final Map<CustomPayload.Id<?>, PacketCodec<RegistryByteBuf, ?>> CODECS = new Reference2ObjectOpenHashMap<>();
+
+    /** Packets and bytes of one channel: the running window and the last full second. */
+    private static final class Counter {
+        long packets, bytes;
+        long lastPackets, lastBytes;
+        long totalPackets, totalBytes;
+    }
+
+    /** One channel's rates over the last second. */
+    public record Rate(String channel, long packets, long bytes, long totalPackets, long totalBytes) {}
+
+    private final String side;
+    private boolean enabled = false;
+    private final Object2ObjectLinkedOpenHashMap<String, Counter> counters = new Object2ObjectLinkedOpenHashMap<>();
+    private int windowTicks = 0;
+    private long seconds = 0;
+    private volatile Path csv = null; // cleared by the writer thread if the file cannot be written
+
+    // Published once per second; read from other threads (HUD on the integrated server)
+    private volatile List<Rate> snapshot = List.of();
+
+    // Payloads are shared across the players they go to: measure each object once
+    private CustomPayload lastPayload = null;
+    private int lastSize = 0;
+
+    private NetworkStats(String side) {
+        this.side = side;
+    }
+
+    /** Call where a payload type is registered so its size can be measured. */
+    public static <T extends CustomPayload> void track(CustomPayload.Id<T> id, PacketCodec<RegistryByteBuf, T> codec) {
+        CODECS.put(id, codec);
+    }
+
+    /* ===================== Control ===================== */
+
+    public String side() { return side; }
+
+    public boolean isEnabled() { return enabled; }
+
+    public void setEnabled(boolean on) {
+        if (enabled == on) return;
+        enabled = on;
+        if (!on) {
+            stopCsv();
+            reset();
+        }
+    }
+
+    /** Forget all counters. */
+    public void reset() {
+        counters.clear();
+        windowTicks = 0;
+        seconds = 0;
+        snapshot = List.of();
+        lastPayload = null;
+    }
+
+    /** Append one row per channel and second to {@code file}; enables counting. */
+    public void startCsv(Path file) {
+        setEnabled(true);
+        csv = file;
+        CSV_WRITER.execute(() -> {
+            if (!Files.exists(file)) write(file, "second,side,channel,packets,bytes\n");
+        });
+    }
+
+    public void stopCsv() {
+        csv = null;
+    }
+
+    public Path csvFile() { return csv; }
+
+    /* ===================== Counting ===================== */
+
+    /** One payload sent (server) or received (client). */
+    public void record(CustomPayload payload, DynamicRegistryManager registries) {
+        if (!enabled || payload == null) return;
+        if (payload instanceof BlockEntityDeltaPayload delta) {
+            recordDelta(delta);
+            return;
+        }
+        if (payload != lastPayload) {
+            lastPayload = payload;
+            lastSize = sizeOf(payload, registries);
+        }
+        addEntry(payload.getId().id().toString(), lastSize, true);
+    }
+
+    /** Delta entries are charged to their block entity type; the list header to the first. */
+    private void recordDelta(BlockEntityDeltaPayload delta) {
+        if (delta.entries().isEmpty()) return;
+        PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+        try {
+            boolean first = true;
+            for (BlockEntityDeltaPayload.Entry e : delta.entries()) {
+                buf.clear();
+                if (first) buf.writeVarInt(delta.entries().size());
+                buf.writeLong(e.pos());
+                buf.writeVarInt(e.typeId());
+                buf.writeVarInt(e.mask());
+                SyncSchema<?> schema = BlockEntitySync.schema(e.typeId());
+                if (schema != null) schema.write(buf, e.mask(), e.values());
+                addEntry(BE_PREFIX + typeName(e.typeId()), buf.readableBytes(), first);
+                first = false;
+            }
+        } finally {
+            buf.release();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int sizeOf(CustomPayload payload, DynamicRegistryManager registries) {
+        PacketCodec<RegistryByteBuf, CustomPayload> codec = (PacketCodec<RegistryByteBuf, CustomPayload>) CODECS.get(payload.getId());
+        if (codec == null) return 0;
+        ByteBuf raw = Unpooled.buffer();
+        try {
+            RegistryByteBuf buf = new RegistryByteBuf(raw, registries);
+            codec.encode(buf, payload);
+            return buf.readableBytes();
+        } catch (RuntimeException e) {
+            return 0;
+        } finally {
+            raw.release();
+        }
+    }
+
+    private static String typeName(int typeId) {
+        BlockEntityType<?> type = BlockEntitySync.type(typeId);
+        Identifier id = type != null ? Registries.BLOCK_ENTITY_TYPE.getId(type) : null;
+        return id != null ? id.getPath() : String.valueOf(typeId);
+    }
+
+    private void addEntry(String channel, int bytes, boolean packet) {
+        Counter c = counters.computeIfAbsent(channel, k -> new Counter());
+        if (packet) c.packets++;
+        c.bytes += bytes;
+    }
+
+    /* ===================== Rollover ===================== */
+
+    /** Once per tick on the owning side. */
+    public void tick() {
+        if (!enabled || ++windowTicks < WINDOW_TICKS) return;
+        windowTicks = 0;
+        seconds++;
+
+        List<Rate> rates = new ArrayList<>(counters.size());
+        StringBuilder rows = csv != null ? new StringBuilder() : null;
+        for (Map.Entry<String, Counter> e : counters.entrySet()) {
+            Counter c = e.getValue();
+            c.lastPackets = c.packets;
+            c.lastBytes = c.bytes;
+            c.totalPackets += c.packets;
+            c.totalBytes += c.bytes;
+            c.packets = 0;
+            c.bytes = 0;
+            rates.add(new Rate(e.getKey(), c.lastPackets, c.lastBytes, c.totalPackets, c.totalBytes));
+            if (rows != null) {
+                rows.append(seconds).append(',').append(side).append(',').append(e.getKey()).append(',')
+                    .append(c.lastPackets).append(',').append(c.lastBytes).append('\n');
+            }
+        }
+        rates.sort((a, b) -> Long.compare(b.bytes(), a.bytes()));
+        snapshot = List.copyOf(rates);
+        if (rows != null && rows.length() > 0) appendCsv(rows.toString());
+    }
+
+    /** Rates over the last full second, largest first. */
+    public List<Rate> rates() { return snapshot; }
+
+    /** Sum of all channels over the last second as {packets, bytes}. */
+    public long[] total() {
+        long p = 0, b = 0;
+        for (Rate r : snapshot) {
+            p += r.packets();
+            b += r.bytes();
+        }
+        return new long[] { p, b };
+    }
+
+    /** "channel  12 pkt/s  1.4 KB/s  (total 310.2 KB)" */
+    public static String format(Rate r) {
+        return r.channel() + "  " + r.packets() + " pkt/s  " + formatBytes(r.bytes()) + "/s  (total " + formatBytes(r.totalBytes()) + ")";
+    }
+
+    public static String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return String.format("%.1f KB", bytes / 1024.0);
+        return String.format("%.2f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    private void appendCsv(String text) {
+        Path file = csv;
+        if (file == null) return;
+        CSV_WRITER.execute(() -> write(file, text));
+    }
+
+    /** Writer thread. */
+    private void write(Path file, String text) {
+        if (csv != file) return; // stopped or moved while queued
+        try {
+            Files.writeString(file, text, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            KarmaGateMod.LOGGER.warn("Network stats: cannot write {}, CSV export stopped: {}", file, e.toString());
+            if (csv == file) csv = null;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package dev.fouriis.karmagate.network;
+
+import dev.fouriis.karmagate.KarmaGateMod;
+import dev.fouriis.karmagate.gridproject.ProjectionZoneData;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.util.Identifier;
+import net.minecraft.world.World;
+
+import java.util.List;
+
+/**
+ * Network payload for changes to the projection zones a player holds: one tick's worth of
+ * edits, or zones streaming in and out of range as they move.
+ * Zones in {@code upserts} are new to the client or got new bounds; names in {@code removed}
+ * were deleted or left range.
+ * It moves the client from {@code baseVersion} to {@code version}; a client on any other
+ * version has missed an update and asks for a {@link ProjectionZoneSyncPayload} instead.
+ */
+public record ProjectionZoneDeltaPayload(
+    RegistryKey<World> dimension,
+    int baseVersion,
+    int version,
+    List<ProjectionZoneSyncPayload.ZoneEntry> upserts,
+    List<String> removed
+) implements CustomPayload {
+    
+    public static final CustomPayload.Id<ProjectionZoneDeltaPayload> ID = 
+        new CustomPayload.Id<>(Identifier.of(KarmaGateMod.MOD_ID, "projection_zone_delta"));
+    
+    public static final PacketCodec<RegistryByteBuf, ProjectionZoneDeltaPayload> CODEC = PacketCodec.tuple(
+        ProjectionZoneSyncPayload.DIMENSION_CODEC, ProjectionZoneDeltaPayload::dimension,
+        PacketCodecs.VAR_INT, ProjectionZoneDeltaPayload::baseVersion,
+        PacketCodecs.VAR_INT, ProjectionZoneDeltaPayload::version,
+        ProjectionZoneSyncPayload.ZoneEntry.LIST_CODEC, ProjectionZoneDeltaPayload::upserts,
+        PacketCodecs.STRING.collect(PacketCodecs.toList()), ProjectionZoneDeltaPayload::removed,
+        ProjectionZoneDeltaPayload::new
+    );
+    
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+    
+    /**
+     * Creates a delta from the zones that changed; names without a zone are removals.
+     */
+    public static ProjectionZoneDeltaPayload of(RegistryKey<World> dimension, int baseVersion, int version,
+                                                List<ProjectionZoneData> upserts, List<String> removed) {
+        return new ProjectionZoneDeltaPayload(
+            dimension, baseVersion, version,
+            upserts.stream().map(ProjectionZoneSyncPayload.ZoneEntry::of).toList(),
+            List.copyOf(removed)
+        );
+    }
+}
@@ -0,0 +1,29 @@
+package dev.fouriis.karmagate.network;
+
+import dev.fouriis.karmagate.KarmaGateMod;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.util.Identifier;
+import net.minecraft.world.World;
+
+/**
+ * Client -> server request for a full zone snapshot of a dimension, sent when a
+ * {@link ProjectionZoneDeltaPayload} does not continue from the client's version.
+ */
+public record ProjectionZoneResyncPayload(RegistryKey<World> dimension) implements CustomPayload {
+    
+    public static final CustomPayload.Id<ProjectionZoneResyncPayload> ID = 
+        new CustomPayload.Id<>(Identifier.of(KarmaGateMod.MOD_ID, "projection_zone_resync"));
+    
+    public static final PacketCodec<RegistryByteBuf, ProjectionZoneResyncPayload> CODEC = PacketCodec.tuple(
+        ProjectionZoneSyncPayload.DIMENSION_CODEC, ProjectionZoneResyncPayload::dimension,
+        ProjectionZoneResyncPayload::new
+    );
+    
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
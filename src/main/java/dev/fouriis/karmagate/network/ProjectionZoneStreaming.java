@@ -0,0 +1,194 @@
+package dev.fouriis.karmagate.network;
+
+import dev.fouriis.karmagate.gridproject.ProjectionZoneData;
+import dev.fouriis.karmagate.gridproject.ProjectionZoneManager;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Interest management for projection zones: a player is only sent the zones within their
+ * dimension's stream radius (measured horizontally), and zones stream in and out as they
+ * move, much like chunk tracking.
+ *
+ * Each player has a view: the zone names their client holds and the version of the last
+ * zone payload sent to them, which is what the client checks deltas against. Edits are
+ * filtered per view; movement is checked every few ticks, once the player has moved far
+ * enough. A zone leaves a view only past the radius plus a margin, so walking along the
+ * edge does not flap.
+ */
+public final class ProjectionZoneStreaming {
+    private static final int CHECK_INTERVAL_TICKS = 10;
+    private static final double RECHECK_DISTANCE = 8.0;
+    private static final double LEAVE_MARGIN = 16.0;
+
+    /** What one player's client holds. */
+    private static final class View {
+        RegistryKey<World> dimension;
+        final Set<String> tracked = new HashSet<>();
+        int version = 0;
+        double lastX, lastZ; // where interest was last evaluated
+    }
+
+    private static final Map<UUID, View> VIEWS = new HashMap<>();
+    private static int ticksUntilCheck = CHECK_INTERVAL_TICKS;
+
+    private ProjectionZoneStreaming() {}
+
+    /* ===================== Entry points ===================== */
+
+    /**
+     * Sends a player a fresh snapshot of the zones around them and resets their view
+     * (join, dimension change, or a resync request after a missed delta).
+     */
+    public static void sendSnapshot(ServerPlayerEntity player) {
+        ServerWorld world = player.getServerWorld();
+        ProjectionZoneManager manager = ProjectionZoneManager.get(world);
+        View view = VIEWS.computeIfAbsent(player.getUuid(), k -> new View());
+        view.dimension = world.getRegistryKey();
+        view.lastX = player.getX();
+        view.lastZ = player.getZ();
+        view.tracked.clear();
+
+        List<ProjectionZoneData> zones = inRange(manager, view.lastX, view.lastZ, manager.getStreamRadius());
+        for (ProjectionZoneData zone : zones) {
+            view.tracked.add(zone.name());
+        }
+        view.version++;
+        ModNetworking.send(player, ProjectionZoneSyncPayload.fromZones(view.dimension, view.version, zones));
+    }
+
+    /**
+     * Forwards one tick of zone edits in a world to the players whose view they touch.
+     */
+    public static void sendChanges(ServerWorld world, ProjectionZoneManager.Changes changes) {
+        int radius = ProjectionZoneManager.get(world).getStreamRadius();
+        for (ServerPlayerEntity player : world.getPlayers()) {
+            View view = VIEWS.get(player.getUuid());
+            if (view == null || view.dimension != world.getRegistryKey()) continue; // Snapshot on its way
+
+            List<ProjectionZoneData> upserts = new ArrayList<>();
+            List<String> removed = new ArrayList<>();
+            for (ProjectionZoneData zone : changes.upserts()) {
+                boolean tracked = view.tracked.contains(zone.name());
+                if (isInRange(zone, view.lastX, view.lastZ, radius, tracked ? LEAVE_MARGIN : 0.0)) {
+                    view.tracked.add(zone.name());
+                    upserts.add(zone);
+                } else if (tracked) {
+                    // Moved out of range
+                    view.tracked.remove(zone.name());
+                    removed.add(zone.name());
+                }
+            }
+            for (String name : changes.removed()) {
+                if (view.tracked.remove(name)) removed.add(name);
+            }
+            sendDelta(player, view, upserts, removed);
+        }
+    }
+
+    /** Once per server tick: streams zones in and out around players that moved. */
+    public static void tick(MinecraftServer server) {
+        if (--ticksUntilCheck > 0) return;
+        ticksUntilCheck = CHECK_INTERVAL_TICKS;
+
+        for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+            View view = VIEWS.get(player.getUuid());
+            if (view == null || view.dimension != player.getServerWorld().getRegistryKey()) continue;
+            double dx = player.getX() - view.lastX;
+            double dz = player.getZ() - view.lastZ;
+            if (dx * dx + dz * dz < RECHECK_DISTANCE * RECHECK_DISTANCE) continue;
+            update(player, view);
+        }
+    }
+
+    /** Re-evaluates every view in a world now, e.g. after its stream radius changed. */
+    public static void refresh(ServerWorld world) {
+        for (ServerPlayerEntity player : world.getPlayers()) {
+            View view = VIEWS.get(player.getUuid());
+            if (view != null && view.dimension == world.getRegistryKey()) update(player, view);
+        }
+    }
+
+    /** Number of zones a player's client currently holds, or -1 without a view. */
+    public static int trackedCount(ServerPlayerEntity player) {
+        View view = VIEWS.get(player.getUuid());
+        return view != null ? view.tracked.size() : -1;
+    }
+
+    public static void forget(ServerPlayerEntity player) {
+        VIEWS.remove(player.getUuid());
+    }
+
+    public static void clear() {
+        VIEWS.clear();
+        ticksUntilCheck = CHECK_INTERVAL_TICKS;
+    }
+
+    /* ===================== Internals ===================== */
+
+    private static void update(ServerPlayerEntity player, View view) {
+        ProjectionZoneManager manager = ProjectionZoneManager.get(player.getServerWorld());
+        int radius = manager.getStreamRadius();
+        view.lastX = player.getX();
+        view.lastZ = player.getZ();
+
+        // Tracked zones stay until past the margin; new ones enter at the radius
+        Set<String> keep = new HashSet<>();
+        List<ProjectionZoneData> upserts = new ArrayList<>();
+        for (ProjectionZoneData zone : inRange(manager, view.lastX, view.lastZ, radius == 0 ? 0 : radius + (int) LEAVE_MARGIN)) {
+            if (view.tracked.contains(zone.name())) {
+                keep.add(zone.name());
+            } else if (isInRange(zone, view.lastX, view.lastZ, radius, 0.0)) {
+                upserts.add(zone);
+            }
+        }
+        List<String> removed = new ArrayList<>();
+        for (String name : view.tracked) {
+            if (!keep.contains(name)) removed.add(name);
+        }
+        view.tracked.removeAll(removed);
+        for (ProjectionZoneData zone : upserts) {
+            view.tracked.add(zone.name());
+        }
+        sendDelta(player, view, upserts, removed);
+    }
+
+    private static void sendDelta(ServerPlayerEntity player, View view, List<ProjectionZoneData> upserts, List<String> removed) {
+        if (upserts.isEmpty() && removed.isEmpty()) return;
+        int baseVersion = view.version++;
+        ModNetworking.send(player, ProjectionZoneDeltaPayload.of(view.dimension, baseVersion, view.version, upserts, removed));
+    }
+
+    /** Zones within {@code radius} blocks horizontally of (x, z); radius 0 means all of them. */
+    private static List<ProjectionZoneData> inRange(ProjectionZoneManager manager, double x, double z, int radius) {
+        if (radius <= 0) return new ArrayList<>(manager.getAllZones());
+        Box box = new Box(x - radius, -Double.MAX_VALUE, z - radius, x + radius, Double.MAX_VALUE, z + radius);
+        List<ProjectionZoneData> out = new ArrayList<>();
+        for (ProjectionZoneData zone : manager.zonesIntersecting(box)) {
+            if (isInRange(zone, x, z, radius, 0.0)) out.add(zone);
+        }
+        return out;
+    }
+
+    private static boolean isInRange(ProjectionZoneData zone, double x, double z, int radius, double margin) {
+        if (radius <= 0) return true;
+        BlockPos min = zone.getMin(), max = zone.getMax();
+        double dx = Math.max(0.0, Math.max(min.getX() - x, x - (max.getX() + 1)));
+        double dz = Math.max(0.0, Math.max(min.getZ() - z, z - (max.getZ() + 1)));
+        double reach = radius + margin;
+        return dx * dx + dz * dz <= reach * reach;
+    }
+}
@@ -6,21 +6,31 @@ import net.minecraft.network.RegistryByteBuf;
 import net.minecraft.network.codec.PacketCodec;
 import net.minecraft.network.codec.PacketCodecs;
 import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
 import net.minecraft.util.Identifier;
+import net.minecraft.world.World;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Network payload for syncing all projection zones to clients.
- * Sent when a player joins or when zones are modified.
+ * Network payload carrying a full snapshot of the projection zones around a player in one
+ * dimension (see {@link ProjectionZoneStreaming}).
+ * Sent when a player joins or changes dimension, or asks for a resync after missing a
+ * {@link ProjectionZoneDeltaPayload}; edits themselves travel as deltas.
  */
-public record ProjectionZoneSyncPayload(List<ZoneEntry> zones) implements CustomPayload {
+public record ProjectionZoneSyncPayload(RegistryKey<World> dimension, int version, List<ZoneEntry> zones) implements CustomPayload {
     
     public static final CustomPayload.Id<ProjectionZoneSyncPayload> ID = 
         new CustomPayload.Id<>(Identifier.of(KarmaGateMod.MOD_ID, "projection_zone_sync"));
     
+    public static final PacketCodec<RegistryByteBuf, RegistryKey<World>> DIMENSION_CODEC =
+        RegistryKey.createPacketCodec(RegistryKeys.WORLD).cast();
+    
     public static final PacketCodec<RegistryByteBuf, ProjectionZoneSyncPayload> CODEC = PacketCodec.tuple(
+        DIMENSION_CODEC, ProjectionZoneSyncPayload::dimension,
+        PacketCodecs.VAR_INT, ProjectionZoneSyncPayload::version,
         ZoneEntry.LIST_CODEC, ProjectionZoneSyncPayload::zones,
         ProjectionZoneSyncPayload::new
     );
@@ -31,18 +41,14 @@ public record ProjectionZoneSyncPayload(List<ZoneEntry> zones) implements Custom
     }
     
     /**
-     * Creates a sync payload from a collection of zone data.
+     * Creates a sync payload from a dimension's zone data.
      */
-    public static ProjectionZoneSyncPayload fromZones(Iterable<ProjectionZoneData> zoneData) {
+    public static ProjectionZoneSyncPayload fromZones(RegistryKey<World> dimension, int version, Iterable<ProjectionZoneData> zoneData) {
         List<ZoneEntry> entries = new ArrayList<>();
         for (ProjectionZoneData zone : zoneData) {
-            entries.add(new ZoneEntry(
-                zone.name(),
-                zone.corner1().getX(), zone.corner1().getY(), zone.corner1().getZ(),
-                zone.corner2().getX(), zone.corner2().getY(), zone.corner2().getZ()
-            ));
+            entries.add(ZoneEntry.of(zone));
         }
-        return new ProjectionZoneSyncPayload(entries);
+        return new ProjectionZoneSyncPayload(dimension, version, entries);
     }
     
     /**
@@ -50,6 +56,14 @@ public record ProjectionZoneSyncPayload(List<ZoneEntry> zones) implements Custom
      */
     public record ZoneEntry(String name, int x1, int y1, int z1, int x2, int y2, int z2) {
         
+        public static ZoneEntry of(ProjectionZoneData zone) {
+            return new ZoneEntry(
+                zone.name(),
+                zone.corner1().getX(), zone.corner1().getY(), zone.corner1().getZ(),
+                zone.corner2().getX(), zone.corner2().getY(), zone.corner2().getZ()
+            );
+        }
+        
         // Custom codec for ZoneEntry since tuple() only supports up to 6 fields
         public static final PacketCodec<RegistryByteBuf, ZoneEntry> CODEC = new PacketCodec<>() {
             @Override
@@ -0,0 +1,143 @@
+package dev.fouriis.karmagate.network;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.network.PacketByteBuf;
+
+/**
+ * Compact field list for one block entity type, used by {@link BlockEntitySync}.
+ *
+ * Every field is carried as an int: flags as 0/1, unit floats quantized to 8 or 16 bits,
+ * small integers as varints. A delta only contains the fields set in its mask; flags are
+ * packed into a single varint, everything else follows in declaration order.
+ * At most 31 fields per schema.
+ */
+public final class SyncSchema<T extends BlockEntity> {
+    enum Kind { FLAG, UNIT8, UNIT16, VARINT }
+
+    @FunctionalInterface public interface BoolGetter<T>  { boolean get(T be); }
+    @FunctionalInterface public interface BoolSetter<T>  { void set(T be, boolean v); }
+    @FunctionalInterface public interface FloatGetter<T> { float get(T be); }
+    @FunctionalInterface public interface FloatSetter<T> { void set(T be, float v); }
+
+    private record Field<T>(Kind kind, ToIntFunction<T> encode, ObjIntConsumer<T> decode) {}
+
+    private final List<Field<T>> fields = new ArrayList<>();
+    private Consumer<T> onApplied = be -> { };
+
+    public static <T extends BlockEntity> SyncSchema<T> of() {
+        return new SyncSchema<>();
+    }
+
+    private SyncSchema() {}
+
+    private SyncSchema<T> add(Kind kind, ToIntFunction<T> encode, ObjIntConsumer<T> decode) {
+        if (fields.size() >= 31) throw new IllegalStateException("Too many sync fields");
+        fields.add(new Field<>(kind, encode, decode));
+        return this;
+    }
+
+    /* ===================== Declaration ===================== */
+
+    public SyncSchema<T> flag(BoolGetter<T> get, BoolSetter<T> set) {
+        return add(Kind.FLAG, be -> get.get(be) ? 1 : 0, (be, v) -> set.set(be, v != 0));
+    }
+
+    /** Float in [0,1], one byte. */
+    public SyncSchema<T> unit8(FloatGetter<T> get, FloatSetter<T> set) {
+        return add(Kind.UNIT8, be -> quantize(get.get(be), 255), (be, v) -> set.set(be, v / 255f));
+    }
+
+    /** Float in [0,1], two bytes. */
+    public SyncSchema<T> unit16(FloatGetter<T> get, FloatSetter<T> set) {
+        return add(Kind.UNIT16, be -> quantize(get.get(be), 65535), (be, v) -> set.set(be, v / 65535f));
+    }
+
+    public SyncSchema<T> varInt(ToIntFunction<T> get, ObjIntConsumer<T> set) {
+        return add(Kind.VARINT, get, set);
+    }
+
+    /**
+     * Runs once after a delta's fields are decoded, so setters can just assign and state
+     * derived from several fields is rebuilt from a complete update.
+     */
+    public SyncSchema<T> onApplied(Consumer<T> hook) {
+        this.onApplied = hook;
+        return this;
+    }
+
+    private static int quantize(float v01, int max) {
+        return Math.round(Math.max(0f, Math.min(1f, v01)) * max);
+    }
+
+    /* ===================== Server ===================== */
+
+    @SuppressWarnings("unchecked")
+    int[] capture(BlockEntity be) {
+        int[] out = new int[fields.size()];
+        for (int i = 0; i < out.length; i++) out[i] = fields.get(i).encode().applyAsInt((T) be);
+        return out;
+    }
+
+    static int diff(int[] sent, int[] now) {
+        int mask = 0;
+        for (int i = 0; i < now.length; i++) if (sent[i] != now[i]) mask |= 1 << i;
+        return mask;
+    }
+
+    void write(PacketByteBuf buf, int mask, int[] values) {
+        int flags = 0;
+        for (int i = 0; i < fields.size(); i++) {
+            if ((mask & (1 << i)) != 0 && fields.get(i).kind() == Kind.FLAG && values[i] != 0) flags |= 1 << i;
+        }
+        if (hasFlags(mask)) buf.writeVarInt(flags);
+        for (int i = 0; i < fields.size(); i++) {
+            if ((mask & (1 << i)) == 0) continue;
+            switch (fields.get(i).kind()) {
+                case FLAG -> { }
+                case UNIT8 -> buf.writeByte(values[i]);
+                case UNIT16 -> buf.writeShort(values[i]);
+                case VARINT -> buf.writeVarInt(values[i]);
+            }
+        }
+    }
+
+    /* ===================== Client ===================== */
+
+    /** Reads the fields in {@code mask}; the rest stay 0. */
+    int[] read(PacketByteBuf buf, int mask) {
+        int[] out = new int[fields.size()];
+        int flags = hasFlags(mask) ? buf.readVarInt() : 0;
+        for (int i = 0; i < fields.size(); i++) {
+            if ((mask & (1 << i)) == 0) continue;
+            out[i] = switch (fields.get(i).kind()) {
+                case FLAG -> (flags >> i) & 1;
+                case UNIT8 -> buf.readUnsignedByte();
+                case UNIT16 -> buf.readUnsignedShort();
+                case VARINT -> buf.readVarInt();
+            };
+        }
+        return out;
+    }
+
+    /** Decodes the fields in {@code mask} into {@code be}, then runs the {@link #onApplied} hook. */
+    @SuppressWarnings("unchecked")
+    public void apply(BlockEntity be, int mask, int[] values) {
+        for (int i = 0; i < fields.size(); i++) {
+            if ((mask & (1 << i)) != 0) fields.get(i).decode().accept((T) be, values[i]);
+        }
+        if (mask != 0) onApplied.accept((T) be);
+    }
+
+    private boolean hasFlags(int mask) {
+        for (int i = 0; i < fields.size(); i++) {
+            if ((mask & (1 << i)) != 0 && fields.get(i).kind() == Kind.FLAG) return true;
+        }
+        return false;
+    }
+}